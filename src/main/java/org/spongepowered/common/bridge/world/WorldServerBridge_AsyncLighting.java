@@ -38,4 +38,22 @@ public interface WorldServerBridge_AsyncLighting {
     boolean asyncLightingBridge$checkLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors);
 
     ExecutorService asyncLightingBridge$getLightingExecutor();
+
+    long asyncLightingBridge$getQueuedLightUpdates();
+
+    long asyncLightingBridge$getProcessedLightUpdates();
+
+    long asyncLightingBridge$getDroppedLightUpdates();
+
+    int asyncLightingBridge$getPendingLightBatches();
+
+    long asyncLightingBridge$getProcessedLightBatches();
+
+    /**
+     * Gets the mean time, in milliseconds, a batch of light updates waited
+     * from being scheduled until it was fully processed.
+     *
+     * @return The mean latency
+     */
+    double asyncLightingBridge$getMeanLightBatchLatency();
 }
@@ -34,4 +34,14 @@ public interface AnvilChunkLoaderBridge {
     boolean bridge$chunkExists(World world, int x, int z);
 
     Path bridge$getWorldDir();
+
+    int bridge$getPendingChunkSaves();
+
+    /**
+     * Gets the mean time in milliseconds between a chunk being queued to be
+     * saved and being written to its region file.
+     *
+     * @return The mean save latency
+     */
+    double bridge$getMeanChunkSaveLatency();
 }
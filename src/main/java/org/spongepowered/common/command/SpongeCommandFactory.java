@@ -45,6 +45,7 @@
 import org.spongepowered.common.command.args.FilteredPluginsCommandElement;
 import org.spongepowered.common.relocate.co.aikar.timings.SpongeTimingsFactory;
 import co.aikar.timings.Timings;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
@@ -54,6 +55,7 @@
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
@@ -94,9 +96,13 @@
 import org.spongepowered.common.bridge.server.MinecraftServerBridge;
 import org.spongepowered.common.bridge.world.DimensionTypeBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
+import org.spongepowered.common.bridge.world.WorldServerBridge_Activation;
+import org.spongepowered.common.bridge.world.WorldServerBridge_AsyncLighting;
+import org.spongepowered.common.bridge.world.WorldServerBridge_TileEntityActivation;
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.category.MetricsCategory;
 import org.spongepowered.common.config.type.ConfigBase;
@@ -104,10 +110,15 @@
 import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.config.type.TrackerConfig;
 import org.spongepowered.common.config.type.WorldConfig;
+import org.spongepowered.common.data.ImmutableDataCachingUtil;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.mixin.core.world.WorldAccessor;
+import org.spongepowered.common.mixin.core.world.chunk.ChunkProviderServerAccessor;
+import org.spongepowered.common.mixin.plugin.entityactivation.ActivationMetrics;
+import org.spongepowered.common.scheduler.AsyncTaskPool;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.BlockOwnershipTable;
 
 import java.io.File;
 import java.net.MalformedURLException;
@@ -224,6 +235,8 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
         nonFlagChildren.register(createSpongeMetricsCommand(), "metrics");
+        nonFlagChildren.register(createSpongeSchedulerCommand(), "scheduler");
+        nonFlagChildren.register(createSpongeCachesCommand(), "caches");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeTPSCommand(), "tps");
         trackerFlagChildren.register(createSpongeConfigCommand(), "config");
@@ -246,6 +259,8 @@ INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
                 INDENT, title("which"), LONG_INDENT, "List plugins that own a specific command\n",
                 INDENT, title("tps"), LONG_INDENT, "Provides TPS (ticks per second) data for loaded worlds\n",
                 INDENT, title("metrics"), LONG_INDENT, "Gets or sets permission for metric plugins to operate\n",
+                INDENT, title("scheduler"), LONG_INDENT, "Provides asynchronous task execution data for plugins\n",
+                INDENT, title("caches"), LONG_INDENT, "Provides hit rate and eviction data for internal caches\n",
                 SpongeImplHooks.getAdditionalCommandDescriptions()))
             .arguments(firstParsing(nonFlagChildren,
                 flags().flag("-global", "g")
@@ -410,9 +425,68 @@ protected Text getChunksInfo(final WorldServer worldserver) {
                         key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                         key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                         key("Removed Entities:"), value(((WorldAccessor) worldserver).accessor$getUnloadedEntityList().size()), NEWLINE_TEXT,
-                        key("Removed Tile Entities: "), value(((WorldAccessor) worldserver).accessor$getTileEntitiesToBeRemoved()), NEWLINE_TEXT
+                        key("Removed Tile Entities: "), value(((WorldAccessor) worldserver).accessor$getTileEntitiesToBeRemoved()), NEWLINE_TEXT,
+                        getChunkSaveInfo(worldserver),
+                        getAsyncLightingInfo(worldserver),
+                        getActivationInfo(worldserver),
+                        getBlockTrackingInfo(worldserver)
                     );
                 }
+
+                protected Text getBlockTrackingInfo(final WorldServer worldserver) {
+                    int trackedPositions = 0;
+                    long trackedBytes = 0;
+                    for (final Chunk chunk : worldserver.getChunkProvider().getLoadedChunks()) {
+                        final BlockOwnershipTable ownershipTable = ((ChunkBridge) chunk).bridge$getBlockOwnershipTable();
+                        if (ownershipTable != null) {
+                            trackedPositions += ownershipTable.size();
+                            trackedBytes += ownershipTable.estimateHeapUsage();
+                        }
+                    }
+                    return Text.of(key("Tracked block positions: "), value(trackedPositions), NEWLINE_TEXT,
+                        key("Tracked block memory: "), value(THREE_DECIMAL_DIGITS_FORMATTER.format(trackedBytes / 1024.0) + "KB"), NEWLINE_TEXT);
+                }
+
+                protected Text getActivationInfo(final WorldServer worldserver) {
+                    final Text.Builder builder = Text.builder();
+                    if (worldserver instanceof WorldServerBridge_Activation) {
+                        final ActivationMetrics metrics = ((WorldServerBridge_Activation) worldserver).activationBridge$getEntityActivationMetrics();
+                        builder.append(key("Active entities: "), value(metrics.getActive()), NEWLINE_TEXT,
+                            key("Inactive entities: "), value(metrics.getInactive()), NEWLINE_TEXT,
+                            key("Immune entities: "), value(metrics.getImmune()), NEWLINE_TEXT);
+                    }
+                    if (worldserver instanceof WorldServerBridge_TileEntityActivation) {
+                        final ActivationMetrics metrics = ((WorldServerBridge_TileEntityActivation) worldserver).tileActivationBridge$getTileEntityActivationMetrics();
+                        builder.append(key("Active tile entities: "), value(metrics.getActive()), NEWLINE_TEXT,
+                            key("Inactive tile entities: "), value(metrics.getInactive()), NEWLINE_TEXT);
+                    }
+                    return builder.build();
+                }
+
+                protected Text getAsyncLightingInfo(final WorldServer worldserver) {
+                    if (!(worldserver instanceof WorldServerBridge_AsyncLighting)) {
+                        return Text.EMPTY;
+                    }
+                    final WorldServerBridge_AsyncLighting lighting = (WorldServerBridge_AsyncLighting) worldserver;
+                    return Text.of(key("Queued light updates: "), value(lighting.asyncLightingBridge$getQueuedLightUpdates()), NEWLINE_TEXT,
+                        key("Processed light updates: "), value(lighting.asyncLightingBridge$getProcessedLightUpdates()), NEWLINE_TEXT,
+                        key("Dropped light updates: "), value(lighting.asyncLightingBridge$getDroppedLightUpdates()), NEWLINE_TEXT,
+                        key("Pending light batches: "), value(lighting.asyncLightingBridge$getPendingLightBatches()), NEWLINE_TEXT,
+                        key("Processed light batches: "), value(lighting.asyncLightingBridge$getProcessedLightBatches()), NEWLINE_TEXT,
+                        key("Mean light batch latency: "),
+                        value(THREE_DECIMAL_DIGITS_FORMATTER.format(lighting.asyncLightingBridge$getMeanLightBatchLatency()) + "ms"), NEWLINE_TEXT);
+                }
+
+                protected Text getChunkSaveInfo(final WorldServer worldserver) {
+                    final IChunkLoader chunkLoader = ((ChunkProviderServerAccessor) worldserver.getChunkProvider()).accessor$getChunkLoader();
+                    if (!(chunkLoader instanceof AnvilChunkLoaderBridge)) {
+                        return Text.EMPTY;
+                    }
+                    final AnvilChunkLoaderBridge anvilChunkLoader = (AnvilChunkLoaderBridge) chunkLoader;
+                    return Text.of(key("Pending chunk saves: "), value(anvilChunkLoader.bridge$getPendingChunkSaves()), NEWLINE_TEXT,
+                        key("Mean chunk save latency: "), value(THREE_DECIMAL_DIGITS_FORMATTER.format(anvilChunkLoader.bridge$getMeanChunkSaveLatency()) + "ms"),
+                        NEWLINE_TEXT);
+                }
             })
             .build();
     }
@@ -856,6 +930,48 @@ private static CommandSpec createSpongeTPSCommand() {
             .build();
     }
 
+    private static CommandSpec createSpongeSchedulerCommand() {
+        return CommandSpec.builder()
+            .permission("sponge.command.scheduler")
+            .description(Text.of("Provides asynchronous task execution data for plugins."))
+            .executor((src, args) -> {
+                final AsyncTaskPool pool = SpongeImpl.getScheduler().getAsyncExecutor();
+                src.sendMessage(Text.of("Async executor: ", TextColors.DARK_GREEN, pool.usesVirtualThreads() ? "virtual threads" : "thread pool",
+                    TextColors.RESET, ", Active threads: ", TextColors.LIGHT_PURPLE, pool.getActiveThreadCount(),
+                    TextColors.RESET, ", Queued: ", TextColors.LIGHT_PURPLE, pool.getExecutorQueueDepth()));
+                for (final AsyncTaskPool.PluginTasks tasks : pool.getPluginTasks()) {
+                    src.sendMessage(Text.of("Plugin [", TextColors.DARK_GREEN, tasks.getPluginId(), TextColors.RESET,
+                        "] Running: ", TextColors.LIGHT_PURPLE, tasks.getRunning(),
+                        TextColors.RESET, ", Queued: ", TextColors.LIGHT_PURPLE, tasks.getQueued(),
+                        TextColors.RESET, ", Completed: ", TextColors.LIGHT_PURPLE, tasks.getCompleted(),
+                        TextColors.RESET, ", Mean wait: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(tasks.getAverageWaitMillis()), "ms",
+                        TextColors.RESET, ", Max wait: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(tasks.getMaxWaitMillis()), "ms",
+                        TextColors.RESET, ", Mean run: ", TextColors.RED, THREE_DECIMAL_DIGITS_FORMATTER.format(tasks.getAverageRunMillis()), "ms"));
+                }
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static CommandSpec createSpongeCachesCommand() {
+        return CommandSpec.builder()
+            .permission("sponge.command.caches")
+            .description(Text.of("Provides hit rate and eviction data for internal caches."))
+            .executor((src, args) -> {
+                src.sendMessage(getCacheStats("Immutable manipulators", ImmutableDataCachingUtil.getManipulatorStats()));
+                src.sendMessage(getCacheStats("Immutable values", ImmutableDataCachingUtil.getValueStats()));
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static Text getCacheStats(final String name, final CacheStats stats) {
+        return Text.of(name, ": Hit rate: ", TextColors.LIGHT_PURPLE, THREE_DECIMAL_DIGITS_FORMATTER.format(stats.hitRate() * 100), "%",
+            TextColors.RESET, ", Hits: ", TextColors.LIGHT_PURPLE, stats.hitCount(),
+            TextColors.RESET, ", Misses: ", TextColors.LIGHT_PURPLE, stats.missCount(),
+            TextColors.RESET, ", Evictions: ", TextColors.RED, stats.evictionCount());
+    }
+
     private static void printWorldTickTime(final CommandSource src, final World world) {
         final long[] worldTickTimes = ((MinecraftServerBridge) SpongeImpl.getServer()).bridge$getWorldTickTimes(((WorldServerBridge) world).bridge$getDimensionId());
         final double worldMeanTickTime = mean(worldTickTimes) * 1.0e-6d;
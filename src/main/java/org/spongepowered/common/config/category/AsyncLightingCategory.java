@@ -36,6 +36,14 @@ public class AsyncLightingCategory extends ConfigCategory {
     @Setting(value = "num-threads", comment = "The amount of threads to dedicate for asynchronous lighting updates. (Default: 2)")
     private int numAsyncThreads = 2;
 
+    @Setting(value = "prioritize-near-players", comment = "If 'true', pending light updates of chunk sections closer to a player are processed first.\n"
+            + "Sections further away are only delayed, see 'distance-delay', so they are still processed eventually.")
+    private boolean prioritizeNearPlayers = true;
+
+    @Setting(value = "distance-delay", comment = "The delay, in milliseconds, added to the light updates of a chunk section for each chunk\n"
+            + "of distance to the closest player. Only used if 'prioritize-near-players' is enabled. (Default: 50)")
+    private int distanceDelay = 50;
+
     public boolean isEnabled() {
         return this.enabled;
     }
@@ -43,4 +51,12 @@ public boolean isEnabled() {
     public int getNumThreads() {
         return this.numAsyncThreads;
     }
+
+    public boolean prioritizeNearPlayers() {
+        return this.prioritizeNearPlayers;
+    }
+
+    public int getDistanceDelay() {
+        return this.distanceDelay;
+    }
 }
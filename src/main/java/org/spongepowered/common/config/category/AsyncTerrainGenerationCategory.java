@@ -0,0 +1,77 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigSerializable
+public class AsyncTerrainGenerationCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If 'true', the terrain of chunks players are moving towards is generated ahead of time on\n"
+                                         + "separate threads. Only the base generator and generation populators, which write to a chunk\n"
+                                         + "buffer, are run there; biomes and populators still run on the main thread. Worlds using vanilla\n"
+                                         + "or mod provided chunk or biome generators are not affected, as those are not safe to run\n"
+                                         + "concurrently. Note: Plugin provided terrain generators must not access the world.")
+    private boolean enabled = false;
+
+    @Setting(value = "num-threads", comment = "The amount of threads to dedicate for generating terrain. (Default: 2)")
+    private int numThreads = 2;
+
+    @Setting(value = "look-ahead-ticks", comment = "How many ticks ahead of a player's current movement to generate terrain for. (Default: 40)")
+    private int lookAheadTicks = 40;
+
+    @Setting(value = "max-pending-chunks", comment = "The maximum number of chunks per world whose terrain is generated ahead of time\n"
+                                                    + "and not yet used. (Default: 128)")
+    private int maxPendingChunks = 128;
+
+    @Setting(value = "thread-safe-populators", comment = "The class names of base generators and generation populators that are safe to run on several\n"
+                                                         + "threads at once. Any other one is run by a single thread at a time, so additional threads only\n"
+                                                         + "help when the generators of a world are listed here.")
+    private List<String> threadSafePopulators = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getNumThreads() {
+        return this.numThreads;
+    }
+
+    public int getLookAheadTicks() {
+        return this.lookAheadTicks;
+    }
+
+    public int getMaxPendingChunks() {
+        return this.maxPendingChunks;
+    }
+
+    public List<String> getThreadSafePopulators() {
+        return this.threadSafePopulators;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ChunkPreGenerationCategory extends ConfigCategory {
+
+    @Setting(value = "throughput-mode", comment = "If 'true', chunk pre-generation favors throughput over keeping the server responsive.\n"
+                                                 + "The area is processed in bands, and chunks are saved and unloaded as soon as all\n"
+                                                 + "their neighbors exist, rather than staying loaded until the world unloads them.\n"
+                                                 + "If the world generator supports it, terrain is generated on the threads of\n"
+                                                 + "'async-terrain-generation' ahead of the chunks being loaded.\n"
+                                                 + "Intended for maintenance, when no players are online.")
+    private boolean throughputMode = false;
+
+    @Setting(value = "max-loaded-chunks", comment = "The maximum number of chunks a pre-generation task in throughput mode keeps loaded.\n"
+                                                   + "This determines the width of the bands the area is processed in. (Default: 1024)")
+    private int maxLoadedChunks = 1024;
+
+    public ChunkPreGenerationCategory() {
+    }
+
+    public boolean isThroughputMode() {
+        return this.throughputMode;
+    }
+
+    public int getMaxLoadedChunks() {
+        return this.maxLoadedChunks;
+    }
+}
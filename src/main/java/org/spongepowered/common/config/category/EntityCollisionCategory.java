@@ -39,6 +39,12 @@ public class EntityCollisionCategory extends ConfigCategory {
                                                          + "performance when there are more than 8 entities on top of each other such as a 1x1 \n"
                                                          + "spawn pen. Set to 0 to disable.")
     private int maxEntitiesWithinAABB = 8;
+    @Setting(value = "spatial-index", comment = "If 'true', the entities of each chunk section are kept in a grid so that bounding box lookups, \n"
+                                              + "such as those for collisions, only check entities near the box instead of the whole section.\n"
+                                              + "This helps with sections holding many entities such as mob farms.")
+    private boolean spatialIndex = false;
+    @Setting(value = "spatial-index-threshold", comment = "The amount of entities a chunk section must hold before lookups use the spatial index.")
+    private int spatialIndexThreshold = 32;
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, CollisionModCategory> modList = new HashMap<>();
 
@@ -62,4 +68,12 @@ public int getMaxEntitiesWithinAABB() {
     public void setMaxEntitiesWithinAABB(int maxEntities) {
         this.maxEntitiesWithinAABB = maxEntities;
     }
+
+    public boolean useSpatialIndex() {
+        return this.spatialIndex;
+    }
+
+    public int getSpatialIndexThreshold() {
+        return this.spatialIndexThreshold;
+    }
 }
@@ -33,6 +33,15 @@ public class GlobalGeneralCategory extends GeneralCategory {
     @Setting(value = "file-io-thread-sleep", comment = "If 'true', sleeping between chunk saves will be enabled, beware of memory issues.")
     private boolean fileIOThreadSleep = false;
 
+    @Setting(value = "chunk-save-threads", comment = "The amount of threads used to serialize and compress chunks before they are written \n"
+                                                     + "to their region file. If '0', chunks are compressed on the file IO thread. (Default: 2)")
+    private int chunkSaveThreads = 2;
+
+    @Setting(value = "max-pending-chunk-saves", comment = "The maximum amount of chunks per world that may wait to be written to disk. \n"
+                                                          + "Once reached, the server waits for pending chunks to be written before \n"
+                                                          + "queueing more. If '0', the amount of pending chunks is unlimited. (Default: 0)")
+    private int maxPendingChunkSaves = 0;
+
     public GlobalGeneralCategory() {
         
     }
@@ -40,4 +49,12 @@ public GlobalGeneralCategory() {
     public boolean getFileIOThreadSleep() {
         return this.fileIOThreadSleep;
     }
+
+    public int getChunkSaveThreads() {
+        return this.chunkSaveThreads;
+    }
+
+    public int getMaxPendingChunkSaves() {
+        return this.maxPendingChunkSaves;
+    }
 }
@@ -119,6 +119,25 @@ public class OptimizationCategory extends ConfigCategory {
             "suppress the exceptions printing out in the log.")
     private boolean disableFailingAdvancementDeserialization = true;
 
+    @Setting(value = "schematic-paste", comment = "Pastes large schematics directly into chunk sections rather than block by block.")
+    private SchematicPasteCategory schematicPasteCategory = new SchematicPasteCategory();
+
+    @Setting(value = "volume-workers", comment = "Processes large block and biome volumes in parallel when using volume workers.")
+    private VolumeWorkerCategory volumeWorkerCategory = new VolumeWorkerCategory();
+
+    @Setting(value = "async-terrain-generation", comment = "Generates the terrain of chunks ahead of players on separate threads.")
+    private AsyncTerrainGenerationCategory asyncTerrainGenerationCategory = new AsyncTerrainGenerationCategory();
+
+    @Setting(value = "chunk-pregeneration", comment = "Controls how chunk pre-generation tasks trade server responsiveness for speed.")
+    private ChunkPreGenerationCategory chunkPreGenerationCategory = new ChunkPreGenerationCategory();
+
+    @Setting(value = "batch-tab-list-updates", comment = "If 'true', changes made to a player's tab list are collected during a tick\n"
+                                                         + "and sent once at the end of it, with one packet per kind of change.\n"
+                                                         + "Repeated changes to the same entry within a tick are only sent once.\n"
+                                                         + "Queued changes are sent before any other packet to the same player,\n"
+                                                         + "so they still arrive before packets relying on them.")
+    private boolean batchTabListUpdates = false;
+
     public OptimizationCategory() {
         try {
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.
@@ -199,6 +218,26 @@ public boolean isUseActiveChunkForCollisions() {
         return this.useActiveChunkForCollisions;
     }
 
+    public SchematicPasteCategory getSchematicPasteCategory() {
+        return this.schematicPasteCategory;
+    }
+
+    public VolumeWorkerCategory getVolumeWorkerCategory() {
+        return this.volumeWorkerCategory;
+    }
+
+    public AsyncTerrainGenerationCategory getAsyncTerrainGenerationCategory() {
+        return this.asyncTerrainGenerationCategory;
+    }
+
+    public ChunkPreGenerationCategory getChunkPreGenerationCategory() {
+        return this.chunkPreGenerationCategory;
+    }
+
+    public boolean useTabListBatching() {
+        return this.batchTabListUpdates;
+    }
+
     public boolean disableFailingAdvancementDeserialization() {
         return this.disableFailingAdvancementDeserialization;
     }
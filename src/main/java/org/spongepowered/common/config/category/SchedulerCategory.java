@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-threads", comment = "The maximum amount of threads used to run asynchronous plugin tasks. \n"
+                                                + "If '0', twice the amount of available processors is used, with a minimum of 8 threads. (Default: 0)")
+    private int asyncThreads = 0;
+
+    @Setting(value = "virtual-threads", comment = "If 'true' and the JVM supports virtual threads, every asynchronous plugin task runs on \n"
+                                                  + "its own virtual thread instead of the async thread pool. 'async-threads' is ignored \n"
+                                                  + "in this mode.")
+    private boolean virtualThreads = false;
+
+    @Setting(value = "plugin-concurrency-limit", comment = "The maximum amount of asynchronous tasks a single plugin may run at the same time. \n"
+                                                           + "Tasks over this limit are queued until one of the plugin's running tasks completes. \n"
+                                                           + "If '0', a plugin may use the whole async thread pool. (Default: 0)")
+    private int pluginConcurrencyLimit = 0;
+
+    public int getAsyncThreads() {
+        if (this.asyncThreads <= 0) {
+            return Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+        }
+        return this.asyncThreads;
+    }
+
+    public boolean useVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    public int getPluginConcurrencyLimit() {
+        return this.pluginConcurrencyLimit;
+    }
+}
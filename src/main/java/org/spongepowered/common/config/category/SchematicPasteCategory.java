@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class SchematicPasteCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = "If 'true', large schematics and archetype volumes are pasted by writing\n"
+                                         + "their blocks directly into chunk sections, instead of placing them one by one.\n"
+                                         + "A change block event is fired for each affected chunk right before it is\n"
+                                         + "written, and cancelling it skips only that chunk. Each chunk is relit and\n"
+                                         + "resent to players once. Neighbor updates, block physics and observer updates\n"
+                                         + "are performed for pasted blocks as requested by the paste's block change flag.")
+    private boolean isEnabled = false;
+
+    @Setting(value = "minimum-volume", comment = "The minimum number of blocks a volume must contain to be bulk pasted.\n"
+                                                + "Smaller volumes are placed block by block as usual.")
+    private int minimumVolume = 32768;
+
+    @Setting(value = "tick-budget", comment = "The maximum number of milliseconds per tick to spend pasting blocks.\n"
+                                             + "If greater than 0, large pastes are spread over several ticks and tile\n"
+                                             + "entities and entities are applied once all blocks have been placed.\n"
+                                             + "If 0, the paste completes immediately.")
+    private int tickBudget = 0;
+
+    public SchematicPasteCategory() {
+    }
+
+    public boolean isEnabled() {
+        return this.isEnabled;
+    }
+
+    public int getMinimumVolume() {
+        return this.minimumVolume;
+    }
+
+    public int getTickBudget() {
+        return this.tickBudget;
+    }
+}
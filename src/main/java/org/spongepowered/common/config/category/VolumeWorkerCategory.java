@@ -0,0 +1,53 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class VolumeWorkerCategory extends ConfigCategory {
+
+    @Setting(value = "parallel", comment = "If 'true', block and biome volume workers split large detached volumes, such as\n"
+                                          + "schematics and generation buffers, into 16x16x16 sections and map, merge and reduce\n"
+                                          + "them in parallel. Volumes backed by a world are always processed on the calling thread.\n"
+                                          + "Note: Plugins using volume workers with this enabled must provide mappers, mergers and\n"
+                                          + "reducers that are thread safe, and reducers whose merge function combines partial results.")
+    private boolean isParallel = false;
+
+    @Setting(value = "minimum-volume", comment = "The minimum number of blocks or biomes a volume must contain to be processed in parallel.")
+    private int minimumVolume = 65536;
+
+    public VolumeWorkerCategory() {
+    }
+
+    public boolean isParallel() {
+        return this.isParallel;
+    }
+
+    public int getMinimumVolume() {
+        return this.minimumVolume;
+    }
+}
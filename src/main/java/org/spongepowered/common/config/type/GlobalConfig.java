@@ -43,13 +43,18 @@
 import org.spongepowered.common.config.category.PermissionCategory;
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.config.category.MetricsCategory;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.config.category.TeleportHelperCategory;
+import org.spongepowered.common.util.CidrTrie;
 import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpSetIndex;
 
 import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -70,6 +75,16 @@ public class GlobalConfig extends GeneralConfigBase {
     @Setting("ip-sets")
     private Map<String, List<IpSet>> ipSets = new HashMap<>();
 
+    @Setting(value = "ip-ban-ranges", comment = "A list of IP ranges in CIDR notation, such as '10.42.0.0/16'.\n"
+                                                + "Connections from any address within these ranges are refused as if the address was banned.")
+    private List<IpSet> ipBanRanges = new ArrayList<>();
+
+    // Rebuilt whenever the config is loaded again, which replaces the lists
+    @Nullable private IpSetIndex ipSetIndex;
+    @Nullable private Map<String, List<IpSet>> ipSetIndexSource;
+    @Nullable private CidrTrie<IpSet> ipBanRangeTrie;
+    @Nullable private List<IpSet> ipBanRangeTrieSource;
+
     @Setting(value = "bungeecord")
     private BungeeCordCategory bungeeCord = new BungeeCordCategory();
 
@@ -100,6 +115,9 @@ public class GlobalConfig extends GeneralConfigBase {
     @Setting(value = "metrics")
     private MetricsCategory metricsCategory = new MetricsCategory();
 
+    @Setting(value = "scheduler", comment = "Configuration options related to the execution of plugin tasks")
+    private SchedulerCategory scheduler = new SchedulerCategory();
+
     public GlobalConfig() {
         super();
     }
@@ -139,6 +157,44 @@ public Predicate<InetAddress> apply(List<IpSet> input) {
     }
 
 
+    /**
+     * Gets the names of all ip sets containing the given address.
+     *
+     * @param address The address
+     * @return The names of the matching ip sets
+     */
+    public synchronized Set<String> getIpSetsContaining(InetAddress address) {
+        final Map<String, List<IpSet>> ipSets = this.ipSets;
+        IpSetIndex index = this.ipSetIndex;
+        if (index == null || this.ipSetIndexSource != ipSets) {
+            index = new IpSetIndex(ipSets);
+            this.ipSetIndex = index;
+            this.ipSetIndexSource = ipSets;
+        }
+        return index.getNamesContaining(address);
+    }
+
+    /**
+     * Gets the most specific banned range containing the given address.
+     *
+     * @param address The address
+     * @return The banned range, or null if the address is not within one
+     */
+    @Nullable
+    public synchronized IpSet getBannedIpRange(InetAddress address) {
+        final List<IpSet> ranges = this.ipBanRanges;
+        CidrTrie<IpSet> trie = this.ipBanRangeTrie;
+        if (trie == null || this.ipBanRangeTrieSource != ranges) {
+            trie = new CidrTrie<>();
+            for (IpSet range : ranges) {
+                trie.put(range, range);
+            }
+            this.ipBanRangeTrie = trie;
+            this.ipBanRangeTrieSource = ranges;
+        }
+        return trie.getLongestMatch(address);
+    }
+
     public ExploitCategory getExploits() {
         return this.exploits;
     }
@@ -176,4 +232,8 @@ public MovementChecksCategory getMovementChecks() {
     public MetricsCategory getMetricsCategory() {
         return this.metricsCategory;
     }
+
+    public SchedulerCategory getScheduler() {
+        return this.scheduler;
+    }
 }
@@ -55,6 +55,19 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Gets whether this processor may support {@link DataHolder}s of the
+     * given class. If {@code false}, {@link #supports(DataHolder)} is false for
+     * every instance of the class, otherwise each instance still has to be
+     * checked.
+     *
+     * @param holderClass The class of the data holder
+     * @return True if instances of the class may be supported
+     */
+    default boolean mightSupport(Class<?> holderClass) {
+        return true;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
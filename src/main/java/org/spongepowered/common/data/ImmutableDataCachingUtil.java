@@ -28,7 +28,7 @@
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
+import com.google.common.cache.CacheStats;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
@@ -37,8 +37,9 @@
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
 
 public final class ImmutableDataCachingUtil {
 
@@ -48,16 +49,46 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
-        .maximumSize(MANIPULATOR_CACHE_LIMIT)
+    // Shared by all classes so the limits bound the total amount of cached data
+    private static final Cache<CacheKey, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
         .concurrencyLevel(4)
+        .maximumSize(MANIPULATOR_CACHE_LIMIT)
+        .recordStats()
         .build();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
+    private static final Cache<CacheKey, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
         .concurrencyLevel(4)
         .maximumSize(VALUE_CACHE_LIMIT)
+        .recordStats()
         .build();
 
+    // Reused to look up keys without allocating, a new key is only created when inserting
+    private static final ThreadLocal<CacheKey> probe = ThreadLocal.withInitial(CacheKey::new);
+
+    /**
+     * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
+     * does not have the desired {@link ImmutableDataManipulator} with relative
+     * values, a new one is created and submitted to the cache for future
+     * retrieval.
+     *
+     * <p>Note that two instances of an {@link ImmutableDataManipulator} may be
+     * equal to each other, but they may not be the same instance, this is due
+     * to caching and outside instantiation.</p>
+     *
+     * @param immutableClass The immutable manipulator class to get an instance of
+     * @param arg The argument to pass to the constructor
+     * @param <T> The type of immutable data manipulator
+     * @return The newly created immutable data manipulators
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object arg) {
+        final ImmutableDataManipulator<?, ?> manipulator = manipulatorCache.getIfPresent(probe.get().set(immutableClass, null, arg, false));
+        if (manipulator != null) {
+            return (T) manipulator;
+        }
+        return createManipulator(new CacheKey().set(immutableClass, null, arg, false), immutableClass, arg);
+    }
+
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
      * does not have the desired {@link ImmutableDataManipulator} with relative
@@ -75,55 +106,123 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
+        final ImmutableDataManipulator<?, ?> manipulator = manipulatorCache.getIfPresent(probe.get().set(immutableClass, null, args, true));
+        if (manipulator != null) {
+            return (T) manipulator;
+        }
+        return createManipulator(new CacheKey().set(immutableClass, null, args.clone(), true), immutableClass, args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends ImmutableDataManipulator<?, ?>> T createManipulator(final CacheKey key, final Class<T> immutableClass,
+            final Object... args) {
+        final ImmutableDataManipulator<?, ?> manipulator;
         try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
-        } catch (Throwable e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
+            manipulator = createUnsafeInstance(immutableClass, args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                         + Arrays.toString(args), e);
+            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
+                                                    + Arrays.toString(args), e);
+        }
+        manipulatorCache.put(key, manipulator);
+        return (T) manipulator;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
+            final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg) {
+        final ImmutableValue<?> value = valueCache.getIfPresent(probe.get().set(valueClass, usedKey, arg, false));
+        if (value != null) {
+            return (T) value;
         }
+        return createValue(valueClass, usedKey, defaultArg, arg);
     }
 
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        final ImmutableValue<?> value = valueCache.getIfPresent(probe.get().set(valueClass, usedKey, arg, false));
+        if (value != null) {
+            return (T) value;
+        }
+        return createValue(valueClass, usedKey, defaultArg, arg, extraArgs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T createValue(final Class<V> valueClass,
+            final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
+        final ImmutableValue<?> value;
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        }
-                        return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
+            if (extraArgs == null || extraArgs.length == 0) {
+                value = createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
+            } else {
+                value = createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
+            }
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
             throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
         }
+        valueCache.put(new CacheKey().set(valueClass, usedKey, arg, false), value);
+        return (T) value;
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
+    /**
+     * Gets the statistics of the manipulator cache.
+     *
+     * @return The manipulator cache statistics
+     */
+    public static CacheStats getManipulatorStats() {
+        return manipulatorCache.stats();
+    }
+
+    /**
+     * Gets the statistics of the value cache.
+     *
+     * @return The value cache statistics
+     */
+    public static CacheStats getValueStats() {
+        return valueCache.stats();
+    }
+
+    /**
+     * The key of a cached manipulator or value. Keys used to look up an
+     * entry are reused, those inserted into a cache are never changed.
+     */
+    private static final class CacheKey {
+
+        private Class<?> type;
+        @Nullable private Key<?> key;
+        private Object arg;
+        // Whether arg is the array of arguments of a manipulator constructed from several
+        private boolean arguments;
+        private int hashCode;
+
+        CacheKey set(final Class<?> type, @Nullable final Key<?> key, final Object arg, final boolean arguments) {
+            this.type = type;
+            this.key = key;
+            this.arg = arg;
+            this.arguments = arguments;
+            final int argHash = arguments ? Arrays.hashCode((Object[]) arg) : arg.hashCode();
+            this.hashCode = (31 * type.hashCode() + (key == null ? 0 : key.hashCode())) * 31 + argHash;
+            return this;
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object obj) {
+            if (!(obj instanceof CacheKey)) {
+                return false;
             }
+            final CacheKey other = (CacheKey) obj;
+            if (this.type != other.type || this.arguments != other.arguments || !Objects.equals(this.key, other.key)) {
+                return false;
+            }
+            return this.arguments ? Arrays.equals((Object[]) this.arg, (Object[]) other.arg) : this.arg.equals(other.arg);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
         }
-        return builder.toString();
     }
 }
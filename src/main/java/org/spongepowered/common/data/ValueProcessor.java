@@ -139,6 +139,19 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Gets whether this processor may support {@link ValueContainer}s of the
+     * given class. If {@code false}, {@link #supports(ValueContainer)} is false
+     * for every instance of the class, otherwise each instance still has to be
+     * checked.
+     *
+     * @param containerClass The class of the value container
+     * @return True if instances of the class may be supported
+     */
+    default boolean mightSupport(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
@@ -0,0 +1,316 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagLongArray;
+import net.minecraft.nbt.NBTTagShort;
+import net.minecraft.nbt.NBTTagString;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.api.world.schematic.Schematic;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.schematic.SpongeArchetypeVolume;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and writes Sponge schematics as gzip compressed NBT streams without
+ * materializing the block data in memory.
+ *
+ * <p>Everything but the block data is small, so it is still read into, or
+ * written from, an NBT compound and handed to {@link SchematicTranslator}.
+ * The block data on the other hand is decoded straight from the stream into
+ * the packed storage of the resulting volume, and encoded straight from the
+ * volume to the stream, instead of passing through a varint byte array that
+ * is often larger than the volume itself.</p>
+ */
+final class SchematicStreamCodec {
+
+    private static final byte TAG_END = 0;
+    private static final byte TAG_BYTE = 1;
+    private static final byte TAG_SHORT = 2;
+    private static final byte TAG_INT = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_FLOAT = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_BYTE_ARRAY = 7;
+    private static final byte TAG_STRING = 8;
+    private static final byte TAG_LIST = 9;
+    private static final byte TAG_COMPOUND = 10;
+    private static final byte TAG_INT_ARRAY = 11;
+    private static final byte TAG_LONG_ARRAY = 12;
+    private static final int TAG_ANY_NUMERIC = 99;
+    private static final int MAX_DEPTH = 512;
+
+    private static final String ROOT_NAME = "Schematic";
+    private static final String WIDTH = Constants.Sponge.Schematic.WIDTH.asString('.');
+    private static final String HEIGHT = Constants.Sponge.Schematic.HEIGHT.asString('.');
+    private static final String LENGTH = Constants.Sponge.Schematic.LENGTH.asString('.');
+    private static final String PALETTE_MAX = Constants.Sponge.Schematic.PALETTE_MAX.asString('.');
+    private static final String BLOCK_DATA = Constants.Sponge.Schematic.BLOCK_DATA.asString('.');
+
+    /** The highest id to prepare for when the palette size isn't known before the block data. */
+    private static final int DEFAULT_HIGHEST_ID = 15;
+    private static final int BUFFER_SIZE = 8192;
+
+    static Schematic read(final InputStream input) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(input)));
+        if (in.readByte() != TAG_COMPOUND) {
+            throw new InvalidDataException("Schematic root tag is not a compound");
+        }
+        in.readUTF();
+
+        final NBTTagCompound skeleton = new NBTTagCompound();
+        ArrayMutableBlockBuffer.IdCollector blockIds = null;
+        byte type;
+        while ((type = in.readByte()) != TAG_END) {
+            final String name = in.readUTF();
+            if (type == TAG_BYTE_ARRAY && BLOCK_DATA.equals(name)
+                && skeleton.hasKey(WIDTH, TAG_ANY_NUMERIC) && skeleton.hasKey(HEIGHT, TAG_ANY_NUMERIC) && skeleton.hasKey(LENGTH, TAG_ANY_NUMERIC)) {
+                // The dimensions are known, so the blocks can be decoded as they are read. Otherwise
+                // the data is kept as a byte array and decoded by the translator like any other.
+                final Vector3i size = new Vector3i(skeleton.getShort(WIDTH) & 0xFFFF, skeleton.getShort(HEIGHT) & 0xFFFF, skeleton.getShort(LENGTH) & 0xFFFF);
+                final int highestId = skeleton.hasKey(PALETTE_MAX, TAG_ANY_NUMERIC) ? skeleton.getInteger(PALETTE_MAX) : DEFAULT_HIGHEST_ID;
+                blockIds = readBlockData(in, size, highestId);
+            } else {
+                skeleton.setTag(name, readTag(in, type, 0));
+            }
+        }
+        return SchematicTranslator.get().translate(NbtTranslator.getInstance().translate(skeleton), blockIds);
+    }
+
+    private static ArrayMutableBlockBuffer.IdCollector readBlockData(final DataInput in, final Vector3i size, final int highestId) throws IOException {
+        final ArrayMutableBlockBuffer.IdCollector ids = new ArrayMutableBlockBuffer.IdCollector(size, highestId);
+        final byte[] chunk = new byte[BUFFER_SIZE];
+        int remaining = in.readInt();
+        int value = 0;
+        int shift = 0;
+        while (remaining > 0) {
+            final int read = Math.min(remaining, chunk.length);
+            in.readFully(chunk, 0, read);
+            remaining -= read;
+            for (int i = 0; i < read; i++) {
+                final byte b = chunk[i];
+                value |= (b & 127) << shift;
+                if ((b & 128) == 0) {
+                    try {
+                        ids.add(value);
+                    } catch (IllegalStateException e) {
+                        throw new InvalidDataException("BlockData is larger than the schematic", e);
+                    }
+                    value = 0;
+                    shift = 0;
+                } else {
+                    shift += 7;
+                    if (shift >= 35) {
+                        throw new InvalidDataException("VarInt too big (probably corrupted data)");
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static NBTBase readTag(final DataInput in, final byte type, final int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new InvalidDataException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+        switch (type) {
+            case TAG_BYTE:
+                return new NBTTagByte(in.readByte());
+            case TAG_SHORT:
+                return new NBTTagShort(in.readShort());
+            case TAG_INT:
+                return new NBTTagInt(in.readInt());
+            case TAG_LONG:
+                return new NBTTagLong(in.readLong());
+            case TAG_FLOAT:
+                return new NBTTagFloat(in.readFloat());
+            case TAG_DOUBLE:
+                return new NBTTagDouble(in.readDouble());
+            case TAG_BYTE_ARRAY: {
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new NBTTagByteArray(bytes);
+            }
+            case TAG_STRING:
+                return new NBTTagString(in.readUTF());
+            case TAG_LIST: {
+                final byte elementType = in.readByte();
+                final int count = in.readInt();
+                if (elementType == TAG_END && count > 0) {
+                    throw new InvalidDataException("Missing type on a non empty NBT list");
+                }
+                final NBTTagList list = new NBTTagList();
+                for (int i = 0; i < count; i++) {
+                    list.appendTag(readTag(in, elementType, depth + 1));
+                }
+                return list;
+            }
+            case TAG_COMPOUND: {
+                final NBTTagCompound compound = new NBTTagCompound();
+                byte entryType;
+                while ((entryType = in.readByte()) != TAG_END) {
+                    final String name = in.readUTF();
+                    compound.setTag(name, readTag(in, entryType, depth + 1));
+                }
+                return compound;
+            }
+            case TAG_INT_ARRAY: {
+                final int[] ints = new int[in.readInt()];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = in.readInt();
+                }
+                return new NBTTagIntArray(ints);
+            }
+            case TAG_LONG_ARRAY: {
+                final long[] longs = new long[in.readInt()];
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = in.readLong();
+                }
+                return new NBTTagLongArray(longs);
+            }
+            default:
+                throw new InvalidDataException("Unknown NBT tag type " + type);
+        }
+    }
+
+    static void write(final Schematic schematic, final OutputStream output) throws IOException {
+        final int xMin = schematic.getBlockMin().getX();
+        final int yMin = schematic.getBlockMin().getY();
+        final int zMin = schematic.getBlockMin().getZ();
+        final int width = schematic.getBlockSize().getX();
+        final int height = schematic.getBlockSize().getY();
+        final int length = schematic.getBlockSize().getZ();
+        final Palette<BlockState> palette = schematic.getPalette();
+
+        // When the schematic is backed by a buffer using the same palette, its ids can be
+        // copied as they are instead of resolving every block to a state and back.
+        ArrayMutableBlockBuffer buffer = null;
+        if (schematic instanceof SpongeArchetypeVolume) {
+            final MutableBlockVolume backing = ((SpongeArchetypeVolume) schematic).getBacking();
+            if (backing instanceof ArrayMutableBlockBuffer && ((ArrayMutableBlockBuffer) backing).getPalette() == palette) {
+                buffer = (ArrayMutableBlockBuffer) backing;
+            }
+        }
+
+        // The array length has to be written first, so the encoded size is counted in a first
+        // pass. This also assigns every block an id before the palette is written.
+        int blockDataLength = 0;
+        for (int y = yMin; y < yMin + height; y++) {
+            for (int z = zMin; z < zMin + length; z++) {
+                for (int x = xMin; x < xMin + width; x++) {
+                    blockDataLength += varIntSize(getBlockId(schematic, buffer, palette, x, y, z));
+                }
+            }
+        }
+
+        final DataContainer skeleton = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        SchematicTranslator.get().addTo(schematic, skeleton, false);
+        final ByteArrayOutputStream skeletonBytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(NbtTranslator.getInstance().translateData(skeleton), new DataOutputStream(skeletonBytes));
+        final byte[] entries = skeletonBytes.toByteArray();
+
+        final GZIPOutputStream gzip = new GZIPOutputStream(output);
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip));
+        out.writeByte(TAG_COMPOUND);
+        out.writeUTF(ROOT_NAME);
+        // Skip the unnamed compound header (type and empty name) and the trailing end tag, so
+        // the skeleton's entries become entries of the root compound next to the block data.
+        out.write(entries, 3, entries.length - 4);
+
+        out.writeByte(TAG_BYTE_ARRAY);
+        out.writeUTF(BLOCK_DATA);
+        out.writeInt(blockDataLength);
+        final byte[] chunk = new byte[BUFFER_SIZE];
+        int position = 0;
+        for (int y = yMin; y < yMin + height; y++) {
+            for (int z = zMin; z < zMin + length; z++) {
+                for (int x = xMin; x < xMin + width; x++) {
+                    if (position > chunk.length - 5) {
+                        out.write(chunk, 0, position);
+                        position = 0;
+                    }
+                    int id = getBlockId(schematic, buffer, palette, x, y, z);
+                    while ((id & -128) != 0) {
+                        chunk[position++] = (byte) (id & 127 | 128);
+                        id >>>= 7;
+                    }
+                    chunk[position++] = (byte) id;
+                }
+            }
+        }
+        out.write(chunk, 0, position);
+
+        out.writeByte(TAG_END);
+        out.flush();
+        gzip.finish();
+    }
+
+    private static int getBlockId(final Schematic schematic, @Nullable final ArrayMutableBlockBuffer buffer, final Palette<BlockState> palette,
+        final int x, final int y, final int z) {
+        return buffer != null ? buffer.getBlockId(x, y, z) : palette.getOrAssign(schematic.getBlock(x, y, z));
+    }
+
+    private static int varIntSize(final int value) {
+        int size = 1;
+        for (int remaining = value >>> 7; remaining != 0; remaining >>>= 7) {
+            size++;
+        }
+        return size;
+    }
+
+    private SchematicStreamCodec() {
+    }
+}
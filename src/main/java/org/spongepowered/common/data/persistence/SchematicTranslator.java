@@ -69,6 +69,8 @@
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -115,8 +117,47 @@ public TypeToken<Schematic> getToken() {
         return TYPE_TOKEN;
     }
 
+    /**
+     * Reads a schematic directly from a gzip compressed NBT stream. Block data
+     * is decoded straight into packed storage as it is read, rather than being
+     * loaded into a {@link DataContainer} first.
+     *
+     * @param input The compressed input stream, which is not closed
+     * @return The schematic
+     * @throws IOException If the stream could not be read
+     * @throws InvalidDataException If the schematic is invalid
+     */
+    public Schematic readFrom(final InputStream input) throws IOException, InvalidDataException {
+        return SchematicStreamCodec.read(input);
+    }
+
+    /**
+     * Writes a schematic directly to a gzip compressed NBT stream. Block data
+     * is encoded straight from the schematic as it is written, rather than
+     * being built up in a {@link DataContainer} first.
+     *
+     * @param schematic The schematic
+     * @param output The output stream, which is not closed
+     * @throws IOException If the stream could not be written to
+     */
+    public void writeTo(final Schematic schematic, final OutputStream output) throws IOException {
+        SchematicStreamCodec.write(schematic, output);
+    }
+
     @Override
-    public Schematic translate(DataView unprocessed) throws InvalidDataException {
+    public Schematic translate(final DataView unprocessed) throws InvalidDataException {
+        return this.translate(unprocessed, null);
+    }
+
+    /**
+     * Translates a schematic, optionally with its block data already decoded.
+     *
+     * @param unprocessed The schematic data
+     * @param blockIds The decoded block data, or null to decode it from the
+     *     data's {@link Constants.Sponge.Schematic#BLOCK_DATA}
+     * @return The schematic
+     */
+    Schematic translate(DataView unprocessed, @Nullable final ArrayMutableBlockBuffer.IdCollector blockIds) throws InvalidDataException {
         if (VANILLA_FIXER == null) {
             VANILLA_FIXER = ((MinecraftServerAccessor) SpongeImpl.getServer()).accessor$getDataFixer();
         }
@@ -217,37 +258,14 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
         final SpongeSchematicBuilder builder = new SpongeSchematicBuilder();
         builder.blockPalette(palette);
 
-        final MutableBlockVolume buffer =
-                new ArrayMutableBlockBuffer(palette, new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, height, length));
-
-        final byte[] blockdata = (byte[]) updatedView.get(Constants.Sponge.Schematic.BLOCK_DATA).orElseThrow(() -> new InvalidDataException("Missing BlockData for Schematic"));
-        int index = 0;
-        int i = 0;
-        int value = 0;
-        int varint_length = 0;
-        while (i < blockdata.length) {
-            value = 0;
-            varint_length = 0;
-
-            while (true) {
-                value |= (blockdata[i] & 127) << (varint_length++ * 7);
-                if (varint_length > 5) {
-                    throw new RuntimeException("VarInt too big (probably corrupted data)");
-                }
-                if ((blockdata[i] & 128) != 128) {
-                    i++;
-                    break;
-                }
-                i++;
+        final MutableBlockVolume buffer;
+        if (blockIds != null) {
+            if (blockIds.getHighestId() > palette.getHighestId()) {
+                throw new InvalidDataException(String.format("BlockData refers to id %d which is not in the palette", blockIds.getHighestId()));
             }
-            // index = (y * length + z) * width + x
-            final int y = index / (width * length);
-            final int z = (index % (width * length)) / width;
-            final int x = (index % (width * length)) % width;
-            final BlockState state = palette.get(value).get();
-            buffer.setBlock(x - offset[0], y - offset[1], z - offset[2], state);
-
-            index++;
+            buffer = blockIds.build(palette, new Vector3i(-offset[0], -offset[1], -offset[2]));
+        } else {
+            buffer = this.readBlockData(updatedView, palette, offset, width, height, length);
         }
         builder.blocks(buffer);
 
@@ -357,6 +375,43 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
         return builder.build();
     }
 
+    private MutableBlockVolume readBlockData(final DataView updatedView, final Palette<BlockState> palette, final int[] offset, final int width,
+        final int height, final int length) {
+        final MutableBlockVolume buffer =
+                new ArrayMutableBlockBuffer(palette, new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, height, length));
+
+        final byte[] blockdata = (byte[]) updatedView.get(Constants.Sponge.Schematic.BLOCK_DATA).orElseThrow(() -> new InvalidDataException("Missing BlockData for Schematic"));
+        int index = 0;
+        int i = 0;
+        int value = 0;
+        int varint_length = 0;
+        while (i < blockdata.length) {
+            value = 0;
+            varint_length = 0;
+
+            while (true) {
+                value |= (blockdata[i] & 127) << (varint_length++ * 7);
+                if (varint_length > 5) {
+                    throw new RuntimeException("VarInt too big (probably corrupted data)");
+                }
+                if ((blockdata[i] & 128) != 128) {
+                    i++;
+                    break;
+                }
+                i++;
+            }
+            // index = (y * length + z) * width + x
+            final int y = index / (width * length);
+            final int z = (index % (width * length)) / width;
+            final int x = (index % (width * length)) % width;
+            final BlockState state = palette.get(value).get();
+            buffer.setBlock(x - offset[0], y - offset[1], z - offset[2], state);
+
+            index++;
+        }
+        return buffer;
+    }
+
     @Override
     public DataContainer translate(final Schematic schematic) throws InvalidDataException {
         final DataContainer data = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
@@ -366,6 +421,19 @@ public DataContainer translate(final Schematic schematic) throws InvalidDataExce
 
     @Override
     public DataView addTo(final Schematic schematic, final DataView data) {
+        return this.addTo(schematic, data, true);
+    }
+
+    /**
+     * Writes a schematic, optionally leaving out its block data so that it can
+     * be encoded separately.
+     *
+     * @param schematic The schematic
+     * @param data The view to write to
+     * @param includeBlockData Whether to write {@link Constants.Sponge.Schematic#BLOCK_DATA}
+     * @return The view
+     */
+    DataView addTo(final Schematic schematic, final DataView data, final boolean includeBlockData) {
         final int xMin = schematic.getBlockMin().getX();
         final int yMin = schematic.getBlockMin().getY();
         final int zMin = schematic.getBlockMin().getZ();
@@ -391,22 +459,24 @@ public DataView addTo(final Schematic schematic, final DataView data) {
         data.set(Constants.Sponge.Schematic.OFFSET, offset);
 
         final Palette<BlockState> palette = schematic.getPalette();
-        try (final ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length)) {
-            for (int y = 0; y < height; y++) {
-                final int y0 = yMin + y;
-                for (int z = 0; z < length; z++) {
-                    final int z0 = zMin + z;
-                    for (int x = 0; x < width; x++) {
-                        final int x0 = xMin + x;
-                        final BlockState state = schematic.getBlock(x0, y0, z0);
-                        writeIdToBuffer(buffer, palette.getOrAssign(state));
+        if (includeBlockData) {
+            try (final ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length)) {
+                for (int y = 0; y < height; y++) {
+                    final int y0 = yMin + y;
+                    for (int z = 0; z < length; z++) {
+                        final int z0 = zMin + z;
+                        for (int x = 0; x < width; x++) {
+                            final int x0 = xMin + x;
+                            final BlockState state = schematic.getBlock(x0, y0, z0);
+                            writeIdToBuffer(buffer, palette.getOrAssign(state));
+                        }
                     }
                 }
-            }
 
-            data.set(Constants.Sponge.Schematic.BLOCK_DATA, buffer.toByteArray());
-        } catch (IOException e) {
-            // should never reach here
+                data.set(Constants.Sponge.Schematic.BLOCK_DATA, buffer.toByteArray());
+            } catch (IOException e) {
+                // should never reach here
+            }
         }
 
         final Palette<BiomeType> biomePalette = schematic.getBiomePalette();
@@ -422,7 +492,7 @@ public DataView addTo(final Schematic schematic, final DataView data) {
 
                 }
 
-                data.set(Constants.Sponge.Schematic.BLOCK_DATA, buffer.toByteArray());
+                data.set(Constants.Sponge.Schematic.BIOME_DATA, buffer.toByteArray());
             } catch (IOException e) {
                 // Should never reach here.
             }
@@ -59,6 +59,7 @@
 import org.spongepowered.common.data.util.DataUtil;
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
 import org.spongepowered.common.mixin.core.world.storage.SaveHandlerAccessor;
+import org.spongepowered.common.service.user.ProfileIndex;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.WorldManager;
 
@@ -604,6 +605,7 @@ public void save() {
         writeToNbt(tag);
         try (final FileOutputStream out = new FileOutputStream(dataFile)) {
             CompressedStreamTools.writeCompressed(tag, out);
+            ProfileIndex.add(getUniqueId(), this.profile.getName());
             dirtyUsers.remove(this);
             invalidate();
         } catch (IOException e) {
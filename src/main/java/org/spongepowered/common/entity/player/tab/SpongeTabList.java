@@ -42,12 +42,14 @@
 import org.spongepowered.api.entity.living.player.tab.TabList;
 import org.spongepowered.api.entity.living.player.tab.TabListEntry;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.mixin.core.network.play.server.SPacketPlayerListHeaderFooterAccessor;
 import org.spongepowered.common.mixin.core.network.play.server.SPacketPlayerListItemAccessor;
 import org.spongepowered.common.text.SpongeTexts;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -57,10 +59,20 @@
 public final class SpongeTabList implements TabList {
 
     private static final ITextComponent EMPTY_COMPONENT = new TextComponentString("");
+    // The order in which batched actions are flushed, a re-added entry has to be removed first
+    private static final SPacketPlayerListItem.Action[] FLUSH_ORDER = {
+            SPacketPlayerListItem.Action.REMOVE_PLAYER,
+            SPacketPlayerListItem.Action.ADD_PLAYER,
+            SPacketPlayerListItem.Action.UPDATE_DISPLAY_NAME,
+            SPacketPlayerListItem.Action.UPDATE_LATENCY,
+            SPacketPlayerListItem.Action.UPDATE_GAME_MODE
+    };
     private final EntityPlayerMP player;
     @Nullable private Text header;
     @Nullable private Text footer;
     private final Map<UUID, TabListEntry> entries = Maps.newHashMap();
+    private final Map<UUID, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+    private boolean flushing;
 
     public SpongeTabList(final EntityPlayerMP player) {
         this.player = player;
@@ -142,13 +154,15 @@ public TabList addEntry(final TabListEntry entry) throws IllegalArgumentExceptio
 
     private void addEntry(final SPacketPlayerListItem.AddPlayerData entry) {
         if (!this.entries.containsKey(entry.getProfile().getId())) {
-            this.addEntry(new SpongeTabListEntry(
+            // The client receives this entry with the packet being sent, so there is nothing left to send
+            this.pendingUpdates.remove(entry.getProfile().getId());
+            this.entries.put(entry.getProfile().getId(), new SpongeTabListEntry(
                     this,
                     (org.spongepowered.api.profile.GameProfile) entry.getProfile(),
                     entry.getDisplayName() == null ? null : SpongeTexts.toText(entry.getDisplayName()),
                     entry.getPing(),
                     (GameMode) (Object) entry.getGameMode()
-            ), false);
+            ));
         }
     }
 
@@ -162,10 +176,8 @@ private void addEntry(final TabListEntry entry, final boolean exceptionOnDuplica
         if (!this.entries.containsKey(uniqueId)) {
             this.entries.put(uniqueId, entry);
 
+            // The add action already carries the display name, latency and game mode of the entry
             this.sendUpdate(entry, SPacketPlayerListItem.Action.ADD_PLAYER);
-            entry.getDisplayName().ifPresent(text -> this.sendUpdate(entry, SPacketPlayerListItem.Action.UPDATE_DISPLAY_NAME));
-            this.sendUpdate(entry, SPacketPlayerListItem.Action.UPDATE_LATENCY);
-            this.sendUpdate(entry, SPacketPlayerListItem.Action.UPDATE_GAME_MODE);
         }
     }
 
@@ -184,18 +196,108 @@ public Optional<TabListEntry> removeEntry(final UUID uniqueId) {
     /**
      * Send an entry update.
      *
+     * <p>Unless tab list batching is disabled, the update is queued and sent
+     * with all other updates of this tick by {@link #flushUpdates()}.</p>
+     *
      * @param entry The entry to update
      * @param action The update action to perform
      */
-    @SuppressWarnings("ConstantConditions")
     void sendUpdate(final TabListEntry entry, final SPacketPlayerListItem.Action action) {
+        if (!SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().useTabListBatching()) {
+            this.flushUpdates();
+            final SPacketPlayerListItem packet = this.createPacket(action);
+            this.addData(packet, entry);
+            this.sendOwnPacket(packet);
+            return;
+        }
+
+        final UUID uniqueId = entry.getProfile().getUniqueId();
+        PendingUpdate pending = this.pendingUpdates.get(uniqueId);
+        if (action == SPacketPlayerListItem.Action.REMOVE_PLAYER) {
+            if (pending != null && pending.has(SPacketPlayerListItem.Action.ADD_PLAYER)) {
+                // The client still has to receive the entry, adding and removing it right away is used to load skins
+                this.flushUpdates();
+                pending = null;
+            }
+            if (pending == null) {
+                pending = new PendingUpdate(entry);
+                this.pendingUpdates.put(uniqueId, pending);
+            }
+            pending.actions = PendingUpdate.bit(SPacketPlayerListItem.Action.REMOVE_PLAYER);
+            return;
+        }
+
+        if (pending == null) {
+            pending = new PendingUpdate(entry);
+            this.pendingUpdates.put(uniqueId, pending);
+        }
+        pending.entry = entry;
+        if (action == SPacketPlayerListItem.Action.ADD_PLAYER) {
+            // Any queued update is part of the add
+            pending.actions = (pending.actions & PendingUpdate.bit(SPacketPlayerListItem.Action.REMOVE_PLAYER))
+                    | PendingUpdate.bit(SPacketPlayerListItem.Action.ADD_PLAYER);
+        } else if (!pending.has(SPacketPlayerListItem.Action.ADD_PLAYER)) {
+            // The values are read when flushing, so repeated updates collapse into one
+            pending.actions |= PendingUpdate.bit(action);
+        }
+    }
+
+    /**
+     * Sends all queued entry updates, one packet per action.
+     *
+     * <p>This method should not be called manually, it is automatically
+     * called by the player's network connection at the end of each tick and
+     * before any other packet is sent to the player, so that packets relying
+     * on an entry, such as spawning a player, arrive after it.</p>
+     */
+    public void flushUpdates() {
+        if (this.pendingUpdates.isEmpty() || this.flushing) {
+            return;
+        }
+        this.flushing = true;
+        try {
+            for (final SPacketPlayerListItem.Action action : FLUSH_ORDER) {
+                SPacketPlayerListItem packet = null;
+                for (final PendingUpdate pending : this.pendingUpdates.values()) {
+                    if (pending.has(action)) {
+                        if (packet == null) {
+                            packet = this.createPacket(action);
+                        }
+                        this.addData(packet, pending.entry);
+                    }
+                }
+                if (packet != null) {
+                    this.player.connection.sendPacket(packet);
+                }
+            }
+            this.pendingUpdates.clear();
+        } finally {
+            this.flushing = false;
+        }
+    }
+
+    private SPacketPlayerListItem createPacket(final SPacketPlayerListItem.Action action) {
         final SPacketPlayerListItem packet = new SPacketPlayerListItem();
         ((SPacketPlayerListItemAccessor) packet).accessor$setAction(action);
+        return packet;
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    private void addData(final SPacketPlayerListItem packet, final TabListEntry entry) {
         final SPacketPlayerListItem.AddPlayerData data = packet.new AddPlayerData((GameProfile) entry.getProfile(),
             entry.getLatency(), (GameType) (Object) entry.getGameMode(),
             entry.getDisplayName().isPresent() ? SpongeTexts.toComponent(entry.getDisplayName().get()) : null);
         ((SPacketPlayerListItemAccessor) packet).accessor$getPlayerDatas().add(data);
-        this.player.connection.sendPacket(packet);
+    }
+
+    private void sendOwnPacket(final SPacketPlayerListItem packet) {
+        // Our own packets already match the entries of this list, and must not flush the queued ones
+        this.flushing = true;
+        try {
+            this.player.connection.sendPacket(packet);
+        } finally {
+            this.flushing = false;
+        }
     }
 
     /**
@@ -208,13 +310,18 @@ void sendUpdate(final TabListEntry entry, final SPacketPlayerListItem.Action act
      */
     @SuppressWarnings("ConstantConditions")
     public void updateEntriesOnSend(final SPacketPlayerListItem packet) {
+        if (this.flushing) {
+            return;
+        }
         for (final SPacketPlayerListItem.AddPlayerData data : ((SPacketPlayerListItemAccessor) packet).accessor$getPlayerDatas()) {
             final SPacketPlayerListItem.Action action = ((SPacketPlayerListItemAccessor) packet).accessor$getAction();
             if (action == SPacketPlayerListItem.Action.ADD_PLAYER) {
                 // If an entry with the same id exists nothing will be done
                 this.addEntry(data);
             } else if (action == SPacketPlayerListItem.Action.REMOVE_PLAYER) {
-                this.removeEntry(data.getProfile().getId());
+                // The client removes this entry with the packet being sent, queued updates are obsolete
+                this.entries.remove(data.getProfile().getId());
+                this.pendingUpdates.remove(data.getProfile().getId());
             } else {
                 this.getEntry(data.getProfile().getId()).ifPresent(entry -> {
                     if (action == SPacketPlayerListItem.Action.UPDATE_DISPLAY_NAME) {
@@ -244,4 +351,23 @@ public String toString() {
                 .toString();
     }
 
+    private static final class PendingUpdate {
+
+        TabListEntry entry;
+        int actions;
+
+        PendingUpdate(final TabListEntry entry) {
+            this.entry = entry;
+        }
+
+        static int bit(final SPacketPlayerListItem.Action action) {
+            return 1 << action.ordinal();
+        }
+
+        boolean has(final SPacketPlayerListItem.Action action) {
+            return (this.actions & bit(action)) != 0;
+        }
+
+    }
+
 }
@@ -49,6 +49,7 @@
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -87,7 +88,14 @@ public final class SpongeCauseStackManager implements CauseStackManager {
         INITIAL_POOL_SIZE = Math.max(0, Math.min(MAX_POOL_SIZE, initialPoolSize));
     }
 
-    private final Deque<Object> cause = Queues.newArrayDeque();
+    /**
+     * The top of the cause stack. Entries are never modified once pushed, so
+     * the entries below the top are shared by every stack that was built on
+     * them, and each entry can keep the {@link Cause} created for it.
+     */
+    @Nullable private CauseEntry top;
+    // The cause used while the stack is empty
+    @Nullable private Cause emptyCause;
 
     // Frames in use
     private final Deque<CauseStackFrameImpl> frames = Queues.newArrayDeque();
@@ -98,7 +106,6 @@ public final class SpongeCauseStackManager implements CauseStackManager {
     private Map<EventContextKey<?>, Object> ctx = Maps.newHashMap();
     private int min_depth = 0;
     private int[] duplicateCauses = new int[100];
-    @Nullable private Cause cached_cause;
     @Nullable private EventContext cached_ctx;
     private AtomicBoolean pendingProviders = new AtomicBoolean(false);
     /**
@@ -131,17 +138,28 @@ private static boolean isPermittedThread() {
         return SpongeImplHooks.isMainThread() || Thread.currentThread().getName().equals("Server Shutdown Thread");
     }
 
+    private int causeSize() {
+        return this.top == null ? 0 : this.top.depth;
+    }
+
     @Override
     public Cause getCurrentCause() {
         enforceMainThread();
-        if (this.cached_cause == null || this.cached_ctx == null) {
-            if (this.cause.isEmpty()) {
-                this.cached_cause = Cause.of(getCurrentContext(), SpongeImpl.getGame());
-            } else {
-                this.cached_cause = Cause.of(getCurrentContext(), this.cause);
+        final EventContext context = getCurrentContext();
+        if (this.top == null) {
+            if (this.emptyCause == null || this.emptyCause.getContext() != context) {
+                this.emptyCause = Cause.of(context, SpongeImpl.getGame());
             }
+            return this.emptyCause;
+        }
+        // The cause of an entry stays valid for as long as the context does,
+        // which is usually the case again once the frames above it are popped.
+        Cause cause = this.top.cause;
+        if (cause == null || cause.getContext() != context) {
+            cause = Cause.of(context, this.top);
+            this.top.cause = cause;
         }
-        return this.cached_cause;
+        return cause;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -179,15 +197,14 @@ public EventContext getCurrentContext() {
     public CauseStackManager pushCause(final Object obj) {
         enforceMainThread();
         checkNotNull(obj, "obj");
-        this.cached_cause = null;
-        if (this.cause.peek() == obj) {
+        if (this.top != null && this.top.value == obj) {
             // We don't want to be pushing duplicate objects
             // to the root and secondary entry of the cause.
             // This avoids some odd corner cases of the phase tracking system pushing
             // objects without being able to definitively say if the object is already pushed
             // without generating cause frames forcibly.
             // BUT, we do want to at least mark the index of the duplicated object for later popping (if some consumer is doing manual push and pops)
-            final int dupedIndex = this.cause.size();
+            final int dupedIndex = this.top.depth;
             if (this.duplicateCauses.length <= dupedIndex) {
                 // Make sure that we have enough space. If not, increase by 50%
                 this.duplicateCauses = Arrays.copyOf(this.duplicateCauses, (int) (dupedIndex * 1.5));
@@ -197,28 +214,29 @@ public CauseStackManager pushCause(final Object obj) {
             this.duplicateCauses[dupedIndex] = this.duplicateCauses[dupedIndex] + 1;
             return this;
         }
-        this.cause.push(obj);
+        this.top = new CauseEntry(obj, this.top);
         return this;
     }
 
     @Override
     public Object popCause() {
         enforceMainThread();
-        final int size = this.cause.size();
+        final int size = causeSize();
         // First, check for duplicate causes. If there are duplicates,
         // we can artificially "pop" by just peeking.
         final int dupeCause = this.duplicateCauses[size];
         if (dupeCause > 0) {
             // Make sure to just decrement the duplicate causes.
             this.duplicateCauses[size] = dupeCause - 1;
-            return checkNotNull(this.cause.peek());
+            return checkNotNull(this.top).value;
         }
         if (size <= this.min_depth) {
             throw new IllegalStateException("Cause stack corruption, tried to pop more objects off than were pushed since last frame (Size was "
                                             + size + " but mid depth is " + this.min_depth + ")");
         }
-        this.cached_cause = null;
-        return this.cause.pop();
+        final Object value = this.top.value;
+        this.top = this.top.parent;
+        return value;
     }
 
     @Override
@@ -232,14 +250,14 @@ public void popCauses(final int n) {
     @Override
     public Object peekCause() {
         enforceMainThread();
-        return this.cause.peek();
+        return this.top == null ? null : this.top.value;
     }
 
     @Override
     public StackFrame pushCauseFrame() {
         enforceMainThread();
         // Ensure duplicate causes will be correctly sized.
-        final int size = this.cause.size();
+        final int size = causeSize();
         if (this.duplicateCauses.length <= size) {
             this.duplicateCauses = Arrays.copyOf(this.duplicateCauses, (int) (size * 1.5));
         }
@@ -257,6 +275,9 @@ public StackFrame pushCauseFrame() {
             frame.lastCauseSize = this.duplicateCauses[size];
         }
 
+        // Everything changed while this frame is on top is reverted when it is
+        // popped, at which point this context is the current one again
+        frame.previousContext = this.cached_ctx;
         this.frames.push(frame);
         this.min_depth = size;
         if (DEBUG_CAUSE_FRAMES) {
@@ -339,10 +360,13 @@ public void popCauseFrame(final StackFrame oldFrame) {
                 this.ctx.put(entry.getKey(), entry.getValue());
             }
         }
+        if (frame.previousContext != null) {
+            this.cached_ctx = frame.previousContext;
+        }
 
         // If there were any objects left on the stack then we pop them off
-        while (this.cause.size() > this.min_depth) {
-            final int index = this.cause.size();
+        while (causeSize() > this.min_depth) {
+            final int index = this.top.depth;
 
             // Then, only pop the potential duplicate causes (if any) if and only if
             // there was a duplicate cause pushed prior to the frame being popped.
@@ -352,13 +376,10 @@ public void popCauseFrame(final StackFrame oldFrame) {
                 // And of course, reset the number of duplicates in the entry.
                 this.duplicateCauses[index] = 0;
             }
-            this.cause.pop();
-
-            // and clear the cached causes
-            this.cached_cause = null;
+            this.top = this.top.parent;
         }
         this.min_depth = frame.old_min_depth;
-        final int size = this.cause.size();
+        final int size = causeSize();
         if (this.duplicateCauses.length > size) {
             // Then set the last cause index to whatever the size of the entry was at the time.
             this.duplicateCauses[size] = frame.lastCauseSize;
@@ -411,7 +432,6 @@ public int registerPhaseContextProvider(final PhaseContext<?> context) {
         checkNotNull(context.state.getFrameModifier(), "Consumer");
         // Reset our cached objects
         this.pendingProviders.compareAndSet(false, true); //I Reset the cache
-        this.cached_cause = null; // Reset the cache
         this.cached_ctx = null; // Reset the cache
         // Since we cannot rely on the PhaseStack being tied to this stack of providers,
         // we have to make the tuple to tie the phase context to provide the consumer.
@@ -437,11 +457,49 @@ public void popFrameMutator(final PhaseContext<?> context) {
 
     }
 
+    private static final class CauseEntry implements Iterable<Object> {
+
+        final Object value;
+        @Nullable final CauseEntry parent;
+        final int depth;
+        @Nullable Cause cause;
+
+        CauseEntry(Object value, @Nullable CauseEntry parent) {
+            this.value = value;
+            this.parent = parent;
+            this.depth = parent == null ? 1 : parent.depth + 1;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return new Iterator<Object>() {
+
+                @Nullable private CauseEntry next = CauseEntry.this;
+
+                @Override
+                public boolean hasNext() {
+                    return this.next != null;
+                }
+
+                @Override
+                public Object next() {
+                    final CauseEntry entry = this.next;
+                    if (entry == null) {
+                        throw new NoSuchElementException();
+                    }
+                    this.next = entry.parent;
+                    return entry.value;
+                }
+            };
+        }
+    }
+
     public static class CauseStackFrameImpl implements StackFrame {
 
         private final Map<EventContextKey<?>, Object> stored_ctx_values = new HashMap<>();
         int old_min_depth;
         int lastCauseSize;
+        @Nullable EventContext previousContext;
         private final Map<EventContextKey<?>, Object> storedContext = new HashMap<>();
 
         @Nullable Exception stack_debug = null;
@@ -454,6 +512,7 @@ public void clear() {
             this.storedContext.clear();
             this.lastCauseSize = -1;
             this.old_min_depth = -1;
+            this.previousContext = null;
             this.stack_debug = null;
         }
 
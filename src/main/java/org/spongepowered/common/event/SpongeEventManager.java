@@ -79,7 +79,6 @@
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -107,6 +106,13 @@ public class SpongeEventManager implements EventManager {
     protected final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
             Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
 
+    /**
+     * The {@link EventType} keys of non generic events, so posting them
+     * doesn't create a new key for every lookup in {@link #handlersCache}.
+     * The keys never change, so this doesn't have to be invalidated.
+     */
+    private final Map<Class<?>, EventType<?>> nonGenericEventTypes = new ConcurrentHashMap<>(150, 0.75f, 1);
+
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
@@ -388,21 +394,28 @@ public void unregisterPluginListeners(Object pluginObj) {
     protected RegisteredListener.Cache getHandlerCache(Event event) {
         checkNotNull(event, "event");
         final Class<? extends Event> eventClass = event.getClass();
-        final EventType<? extends Event> eventType;
         if (event instanceof GenericEvent) {
-            eventType = new EventType(eventClass, checkNotNull(((GenericEvent) event).getGenericType()));
-        } else {
+            return this.handlersCache.get(new EventType(eventClass, checkNotNull(((GenericEvent) event).getGenericType())));
+        }
+        EventType<?> eventType = this.nonGenericEventTypes.get(eventClass);
+        if (eventType == null) {
             eventType = new EventType(eventClass, null);
+            this.nonGenericEventTypes.put(eventClass, eventType);
         }
         return this.handlersCache.get(eventType);
     }
 
     @SuppressWarnings("unchecked")
-    private boolean post(Event event, List<RegisteredListener<?>> handlers) {
+    private boolean post(Event event, RegisteredListener<?>[] handlers) {
+        if (handlers.length == 0) {
+            // Nothing to time or to push causes for
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        }
         if (!Sponge.getServer().isMainThread()) {
             // If this event is being posted asynchronously then we don't want
             // to do any timing or cause stack changes
-            for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
+            for (int i = 0; i < handlers.length; i++) {
+                @SuppressWarnings("rawtypes") final RegisteredListener handler = handlers[i];
                 try {
                     if (event instanceof AbstractEvent) {
                         ((AbstractEvent) event).currentOrder = handler.getOrder();
@@ -418,7 +431,8 @@ private boolean post(Event event, List<RegisteredListener<?>> handlers) {
             return event instanceof Cancellable && ((Cancellable) event).isCancelled();
         }
         TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
-        for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
+        for (int i = 0; i < handlers.length; i++) {
+            @SuppressWarnings("rawtypes") final RegisteredListener handler = handlers[i];
             try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
                  final PhaseContext<?> context = createPluginContext(handler);
                  final Timing timings = handler.getTimingsHandler()) {
@@ -475,12 +489,12 @@ public boolean postServer(Event event) {
     }
 
     public boolean post(Event event, boolean allowClientThread) {
-        return post(event, getHandlerCache(event).getListeners());
+        return post(event, getHandlerCache(event).getListenerArray());
     }
 
     public boolean post(Event event, PluginContainer plugin) {
         return post(event, getHandlerCache(event).getListeners().stream()
                 .filter(l -> l.getPlugin().equals(plugin))
-                .collect(Collectors.toList()));
+                .toArray(RegisteredListener<?>[]::new));
     }
 }
@@ -30,6 +30,7 @@
 import org.spongepowered.api.text.translation.Translation;
 import org.spongepowered.common.item.inventory.adapter.InventoryAdapter;
 import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
+import org.spongepowered.common.item.inventory.query.QueryPlans;
 
 import java.util.List;
 
@@ -149,4 +150,11 @@ public interface Lens extends LensCollection {
     
     SlotLens getSlotLens(int ordinal);
 
+    /**
+     * Gets the plans of the queries run with this lens as their root.
+     * 
+     * @return the query plans of this lens
+     */
+    QueryPlans getQueryPlans();
+
 }
@@ -43,6 +43,7 @@
 import org.spongepowered.common.item.inventory.lens.impl.collections.MutableLensCollectionImpl;
 import org.spongepowered.common.item.inventory.lens.impl.struct.LensHandle;
 import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
+import org.spongepowered.common.item.inventory.query.QueryPlans;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -51,6 +52,8 @@
 import java.util.List;
 import java.util.NoSuchElementException;
 
+import javax.annotation.Nullable;
+
 public abstract class AbstractLens implements Lens {
 
     protected final Class<? extends Inventory> adapterType;
@@ -69,6 +72,8 @@ public abstract class AbstractLens implements Lens {
     
     private int maxOrdinal = 0;
 
+    @Nullable private QueryPlans queryPlans;
+
     public AbstractLens(final int base, final int size, final Class<? extends Inventory> adapterType) {
         checkArgument(base >= 0, "Invalid offset: %s", base);
         checkArgument(size > 0, "Invalid size: %s", size);
@@ -166,6 +171,15 @@ public SlotLens getSlotLens(final int ordinal) {
         return handle.lens.getSlotLens(ordinal - handle.ordinal);
     }
     
+    @Override
+    public QueryPlans getQueryPlans() {
+        // Created on demand, most lenses are never the root of a query
+        if (this.queryPlans == null) {
+            this.queryPlans = new QueryPlans();
+        }
+        return this.queryPlans;
+    }
+
     @Override
     public List<Lens> getChildren() {
         return Collections.unmodifiableList(this.children);
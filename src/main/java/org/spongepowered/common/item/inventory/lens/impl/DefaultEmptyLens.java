@@ -34,17 +34,22 @@
 import org.spongepowered.common.item.inventory.lens.Fabric;
 import org.spongepowered.common.item.inventory.lens.Lens;
 import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
+import org.spongepowered.common.item.inventory.query.QueryPlans;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public class DefaultEmptyLens implements Lens {
 
     private static final IntSet EMPTY_SLOT_SET = IntSets.EMPTY_SET;
     
     protected final InventoryAdapter adapter;
+
+    @Nullable private QueryPlans queryPlans;
     
     public DefaultEmptyLens(final InventoryAdapter adapter) {
         this.adapter = adapter;
@@ -151,4 +156,12 @@ public SlotLens getSlotLens(final int ordinal) {
         return null;
     }
 
+    @Override
+    public QueryPlans getQueryPlans() {
+        if (this.queryPlans == null) {
+            this.queryPlans = new QueryPlans();
+        }
+        return this.queryPlans;
+    }
+
 }
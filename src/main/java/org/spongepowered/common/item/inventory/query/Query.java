@@ -38,7 +38,11 @@
 import org.spongepowered.common.item.inventory.query.result.MinecraftResultAdapterProvider;
 import org.spongepowered.common.item.inventory.query.result.QueryResult;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nullable;
 
 public class Query {
 
@@ -58,11 +62,29 @@ public interface ResultAdapterProvider {
 
     private final QueryOperation<?>[] queries;
 
+    private final List<SpongeQueryOperation<?>> structural = new ArrayList<>();
+
+    private final List<SpongeQueryOperation<?>> dynamic = new ArrayList<>();
+
+    private final QueryPlan.Candidates candidates;
+
     private Query(final InventoryAdapter adapter, final QueryOperation<?>[] queries) {
         this.adapter = adapter;
         this.inventory = adapter.bridge$getFabric();
         this.lens = adapter.bridge$getRootLens();
         this.queries = queries;
+
+        boolean slotsOnly = true;
+        for (final QueryOperation<?> query : queries) {
+            final SpongeQueryOperation<?> operation = (SpongeQueryOperation<?>) query;
+            if (operation.isStructural()) {
+                this.structural.add(operation);
+            } else {
+                this.dynamic.add(operation);
+                slotsOnly &= operation.matchesSlotsOnly();
+            }
+        }
+        this.candidates = this.dynamic.isEmpty() ? QueryPlan.Candidates.NONE : slotsOnly ? QueryPlan.Candidates.SLOTS : QueryPlan.Candidates.ALL;
     }
 
     @SuppressWarnings("unchecked")
@@ -71,11 +93,35 @@ public Inventory execute() {
     }
 
     public Inventory execute(final ResultAdapterProvider resultProvider) {
-        if (this.matches(this.lens, null, this.inventory)) {
-            return (Inventory) this.lens.getAdapter(this.inventory, (Inventory) this.adapter);
+        return this.toResult(resultProvider, Query.match(this.lens, this.inventory, this.structural, this.dynamic, this.candidates));
+    }
+
+    /**
+     * Finds the reduced set of lenses below the given root that match a
+     * query, or only the root if it matches the query itself.
+     */
+    static MutableLensSet match(final Lens root, @Nullable final Fabric inventory, final List<SpongeQueryOperation<?>> structural,
+            final List<SpongeQueryOperation<?>> dynamic, final QueryPlan.Candidates candidates) {
+        final QueryPlan plan = QueryPlan.get(root, structural, candidates);
+        if (plan.rootMatches() || candidates.includes(root) && Query.matchesDynamic(dynamic, root, null, inventory)) {
+            final MutableLensSet matches = new MutableLensSetImpl(true);
+            matches.add(root);
+            return matches;
+        }
+
+        final MutableLensSet result = plan.copyResult(root);
+        if (result != null) {
+            return result;
         }
 
-        return this.toResult(resultProvider, this.reduce(this.lens, this.depthFirstSearch(this.lens)));
+        final MutableLensSet matches = new MutableLensSetImpl(true);
+        for (int i = 0; i < plan.size(); i++) {
+            final Lens lens = plan.getLens(i);
+            if (plan.isMatched(i) || Query.matchesDynamic(dynamic, lens, plan.getParent(root, i), inventory)) {
+                matches.add(lens);
+            }
+        }
+        return Query.reduce(root, matches);
     }
 
     @SuppressWarnings("unchecked")
@@ -94,45 +140,23 @@ private Inventory toResult(final ResultAdapterProvider resultProvider, final Mut
         return (Inventory) Query.defaultResultProvider.getResultAdapter(this.inventory, matches, (Inventory) this.adapter);
     }
 
-    private MutableLensSet depthFirstSearch(final Lens lens) {
-        final MutableLensSet matches = new MutableLensSetImpl(true);
-
-        for (final Lens child : lens.getChildren()) {
-            if (child == null) {
-                continue;
-            }
-            if (!child.getChildren().isEmpty()) {
-                matches.addAll(this.depthFirstSearch(child));
-            }
-            if (this.matches(child, lens, this.inventory)) {
-                matches.add(child);
-            }
-        }
-
-        // Only a single match or no matches
-        if (matches.size() < 2) {
-            return matches;
-        }
-
-        return matches;
-    }
-
-    @SuppressWarnings({"rawtypes"})
-    private boolean matches(final Lens lens, final Lens parent, final Fabric inventory) {
-        for (final QueryOperation<?> operation : this.queries) {
-            if (((SpongeQueryOperation) operation).matches(lens, parent, inventory)) {
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static boolean matchesDynamic(final List<SpongeQueryOperation<?>> dynamic, final Lens lens, @Nullable final Lens parent,
+            @Nullable final Fabric inventory) {
+        for (final SpongeQueryOperation operation : dynamic) {
+            if (operation.matches(lens, parent, inventory)) {
                 return true;
             }
         }
         return false;
     }
 
-    private MutableLensSet reduce(final Lens lens, final MutableLensSet matches) {
+    static MutableLensSet reduce(final Lens lens, final MutableLensSet matches) {
         if (matches.isEmpty()) {
             return matches;
         }
 
-        if (lens.getSlots().equals(this.getSlots(matches)) && this.allLensesAreSlots(matches)) {
+        if (lens.getSlots().equals(Query.getSlots(matches)) && Query.allLensesAreSlots(matches)) {
             matches.clear();
             matches.add(lens);
             return matches;
@@ -149,7 +173,7 @@ private MutableLensSet reduce(final Lens lens, final MutableLensSet matches) {
         return matches;
     }
 
-    private boolean allLensesAreSlots(final MutableLensSet lenses) {
+    private static boolean allLensesAreSlots(final MutableLensSet lenses) {
         for (final Lens lens : lenses) {
             if (!(lens instanceof SlotLens)) {
                 return false;
@@ -158,7 +182,7 @@ private boolean allLensesAreSlots(final MutableLensSet lenses) {
         return true;
     }
 
-    private IntSet getSlots(final Collection<Lens> lenses) {
+    private static IntSet getSlots(final Collection<Lens> lenses) {
         final IntSet slots = new IntOpenHashSet();
         for (final Lens lens : lenses) {
             slots.addAll(lens.getSlots());
@@ -0,0 +1,247 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory.query;
+
+import org.spongepowered.common.item.inventory.lens.Lens;
+import org.spongepowered.common.item.inventory.lens.MutableLensSet;
+import org.spongepowered.common.item.inventory.lens.impl.collections.MutableLensSetImpl;
+import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+/**
+ * A query resolved against a lens tree.
+ *
+ * <p>The lens tree is walked once when the plan is compiled. Structural
+ * operations are evaluated right away, and every lens which the remaining
+ * operations could match is recorded in search order. Executing the plan
+ * then only has to test those lenses. A plan made only of structural
+ * operations has a fixed result, which is reduced once as well.</p>
+ *
+ * <p>Plans are cached in the {@link QueryPlans} of their root lens, so they
+ * are released together with it. Lenses do not change once they are built,
+ * so a cached plan stays valid for as long as its root lens is in use. A
+ * plan never refers to its root lens itself, which is passed in again when
+ * it is executed.</p>
+ */
+final class QueryPlan {
+
+    /**
+     * Which lenses the non structural operations of a query can match.
+     */
+    enum Candidates {
+        NONE,
+        SLOTS,
+        ALL;
+
+        boolean includes(final Lens lens) {
+            return this == ALL || this == SLOTS && lens instanceof SlotLens;
+        }
+    }
+
+    private static final int ROOT = -1;
+
+    private final boolean rootMatches;
+    /** The recorded lenses in search order, followed by any other lens that is the parent of one. */
+    private final Lens[] lenses;
+    private final int size;
+    /** The index of the parent of each recorded lens, or {@link #ROOT}. */
+    private final int[] parents;
+    private final boolean[] matched;
+    private final boolean resultIsRoot;
+    @Nullable private final Lens[] result;
+
+    private QueryPlan(final Lens root, final List<SpongeQueryOperation<?>> structural, final Candidates candidates) {
+        this.rootMatches = matches(structural, root, null);
+        final List<Lens> lenses = new ArrayList<>();
+        final List<Lens> parents = new ArrayList<>();
+        final List<Boolean> matched = new ArrayList<>();
+        final Map<Lens, Boolean> alwaysAdded = new IdentityHashMap<>();
+        this.search(root, structural, candidates, lenses, parents, matched, alwaysAdded);
+
+        this.size = lenses.size();
+        final Map<Lens, Integer> indices = new IdentityHashMap<>();
+        for (int i = 0; i < this.size; i++) {
+            indices.putIfAbsent(lenses.get(i), i);
+        }
+        this.parents = new int[this.size];
+        this.matched = new boolean[this.size];
+        for (int i = 0; i < this.size; i++) {
+            final Lens parent = parents.get(i);
+            if (parent == root) {
+                this.parents[i] = ROOT;
+            } else {
+                Integer index = indices.get(parent);
+                if (index == null) {
+                    index = lenses.size();
+                    lenses.add(parent);
+                    indices.put(parent, index);
+                }
+                this.parents[i] = index;
+            }
+            this.matched[i] = matched.get(i);
+        }
+        this.lenses = lenses.toArray(new Lens[0]);
+
+        if (candidates == Candidates.NONE) {
+            final MutableLensSet matches = new MutableLensSetImpl(true);
+            for (int i = 0; i < this.size; i++) {
+                matches.add(this.lenses[i]);
+            }
+            final MutableLensSet reduced = Query.reduce(root, matches);
+            this.resultIsRoot = reduced.size() == 1 && reduced.getLens(0) == root;
+            this.result = this.resultIsRoot ? new Lens[0] : reduced.toArray(new Lens[0]);
+        } else {
+            this.resultIsRoot = false;
+            this.result = null;
+        }
+    }
+
+    /**
+     * Records the lenses below the given lens in the order
+     * {@link Query} visits them, children before their parent.
+     */
+    private void search(final Lens lens, final List<SpongeQueryOperation<?>> structural, final Candidates candidates,
+            final List<Lens> lenses, final List<Lens> parents, final List<Boolean> matched, final Map<Lens, Boolean> alwaysAdded) {
+        for (final Lens child : lens.getChildren()) {
+            if (child == null) {
+                continue;
+            }
+            if (!child.getChildren().isEmpty()) {
+                this.search(child, structural, candidates, lenses, parents, matched, alwaysAdded);
+            }
+            if (alwaysAdded.containsKey(child)) {
+                // Already part of every result at an earlier position
+                continue;
+            }
+            final boolean matches = matches(structural, child, lens);
+            if (matches || candidates.includes(child)) {
+                lenses.add(child);
+                parents.add(lens);
+                matched.add(matches);
+                if (matches) {
+                    alwaysAdded.put(child, Boolean.TRUE);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static boolean matches(final List<SpongeQueryOperation<?>> operations, final Lens lens, @Nullable final Lens parent) {
+        for (final SpongeQueryOperation operation : operations) {
+            if (operation.matches(lens, parent, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean rootMatches() {
+        return this.rootMatches;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    Lens getLens(final int index) {
+        return this.lenses[index];
+    }
+
+    Lens getParent(final Lens root, final int index) {
+        final int parent = this.parents[index];
+        return parent == ROOT ? root : this.lenses[parent];
+    }
+
+    boolean isMatched(final int index) {
+        return this.matched[index];
+    }
+
+    /**
+     * Gets a copy of the reduced result of this plan, if it does not depend
+     * on the inventory.
+     *
+     * @param root The root lens the plan was compiled for
+     * @return The result, or null if the plan has to be executed
+     */
+    @Nullable
+    MutableLensSet copyResult(final Lens root) {
+        if (this.result == null) {
+            return null;
+        }
+        final MutableLensSet matches = new MutableLensSetImpl(true);
+        if (this.resultIsRoot) {
+            matches.add(root);
+        }
+        for (final Lens lens : this.result) {
+            matches.add(lens);
+        }
+        return matches;
+    }
+
+    static QueryPlan get(final Lens root, final List<SpongeQueryOperation<?>> structural, final Candidates candidates) {
+        return root.getQueryPlans().get(root, new Key(structural, candidates));
+    }
+
+    static QueryPlan compile(final Lens root, final Key key) {
+        return new QueryPlan(root, key.structural, key.candidates);
+    }
+
+    static final class Key {
+
+        private final List<SpongeQueryOperation<?>> structural;
+        private final Candidates candidates;
+
+        Key(final List<SpongeQueryOperation<?>> structural, final Candidates candidates) {
+            this.structural = structural;
+            this.candidates = candidates;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || this.getClass() != o.getClass()) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return this.candidates == key.candidates && this.structural.equals(key.structural);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.structural, this.candidates);
+        }
+
+    }
+
+}
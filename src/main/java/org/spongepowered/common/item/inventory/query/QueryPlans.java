@@ -0,0 +1,55 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory.query;
+
+import org.spongepowered.common.item.inventory.lens.Lens;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The query plans compiled against a lens as the root of a query. Every lens
+ * keeps its own plans, so they are reused for as long as the lens is, and
+ * released together with it.
+ */
+public final class QueryPlans {
+
+    private static final int MAX_PLANS = 256;
+
+    private final Map<QueryPlan.Key, QueryPlan> plans = new ConcurrentHashMap<>();
+
+    QueryPlan get(final Lens root, final QueryPlan.Key key) {
+        QueryPlan plan = this.plans.get(key);
+        if (plan == null) {
+            if (this.plans.size() >= MAX_PLANS) {
+                this.plans.clear();
+            }
+            plan = QueryPlan.compile(root, key);
+            this.plans.put(key, plan);
+        }
+        return plan;
+    }
+
+}
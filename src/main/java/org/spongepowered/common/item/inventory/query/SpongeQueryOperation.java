@@ -28,6 +28,7 @@
 import org.spongepowered.api.item.inventory.query.QueryOperationType;
 import org.spongepowered.common.item.inventory.lens.Fabric;
 import org.spongepowered.common.item.inventory.lens.Lens;
+import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
 
 public abstract class SpongeQueryOperation<T> implements QueryOperation<T> {
 
@@ -45,4 +46,26 @@ public final QueryOperationType<T> getType() {
     public abstract boolean matches(Lens lens, Lens parent,
             Fabric inventory);
 
+    /**
+     * Gets whether the result of {@link #matches} only depends on the lens
+     * and its parent, and never on the inventory or its contents. Structural
+     * operations are evaluated once per lens tree and must implement
+     * {@link Object#equals} and {@link Object#hashCode} so compiled queries
+     * can be reused.
+     *
+     * @return True if this operation only depends on the lens structure
+     */
+    public boolean isStructural() {
+        return false;
+    }
+
+    /**
+     * Gets whether this operation can only ever match {@link SlotLens}es.
+     *
+     * @return True if this operation only matches slots
+     */
+    public boolean matchesSlotsOnly() {
+        return false;
+    }
+
 }
@@ -190,6 +190,11 @@ public abstract class NetHandlerPlayServerMixin implements NetHandlerPlayServerB
         }
     }
 
+    @Inject(method = "update", at = @At("RETURN"))
+    private void impl$flushTabListUpdates(final CallbackInfo ci) {
+        ((SpongeTabList) ((Player) this.player).getTabList()).flushUpdates();
+    }
+
     /**
      * @param manager The player network connection
      * @param packet The original packet to be sent
@@ -198,9 +203,14 @@ public abstract class NetHandlerPlayServerMixin implements NetHandlerPlayServerB
     @Redirect(method = "sendPacket(Lnet/minecraft/network/Packet;)V",
         at = @At(value = "INVOKE", target = "Lnet/minecraft/network/NetworkManager;sendPacket(Lnet/minecraft/network/Packet;)V"))
     private void impl$onSendPacket(final NetworkManager manager, Packet<?> packet) {
+        final SpongeTabList tabList = (SpongeTabList) ((Player) this.player).getTabList();
+        // Queued tab list changes were made first, and packets such as player spawns rely on them
+        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            tabList.flushUpdates();
+        }
         // Update the tab list data
         if (packet instanceof SPacketPlayerListItem) {
-            ((SpongeTabList) ((Player) this.player).getTabList()).updateEntriesOnSend((SPacketPlayerListItem) packet);
+            tabList.updateEntriesOnSend((SPacketPlayerListItem) packet);
         } else if (packet instanceof SPacketResourcePackSend) {
             // Send a custom keep-alive packet that doesn't match vanilla.
             long now = this.currentTimeMillis() - 1;
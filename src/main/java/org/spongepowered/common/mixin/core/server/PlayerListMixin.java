@@ -49,6 +49,7 @@
 import net.minecraft.server.management.PlayerList;
 import net.minecraft.server.management.UserListBans;
 import net.minecraft.server.management.UserListIPBans;
+import net.minecraft.server.management.UserListOps;
 import net.minecraft.server.management.UserListWhitelist;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.ITextComponent;
@@ -94,6 +95,7 @@
 import org.spongepowered.common.bridge.packet.SPacketWorldBorderBridge;
 import org.spongepowered.common.bridge.scoreboard.ServerScoreboardBridge;
 import org.spongepowered.common.bridge.server.management.PlayerListBridge;
+import org.spongepowered.common.bridge.server.management.UserListBridge;
 import org.spongepowered.common.bridge.world.ForgeITeleporterBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.entity.EntityUtil;
@@ -137,6 +139,10 @@ public abstract class PlayerListMixin implements PlayerListBridge {
     @Shadow public abstract void updateTimeAndWeatherForPlayer(EntityPlayerMP playerIn, WorldServer worldIn);
     @Shadow public abstract void updatePermissionLevel(EntityPlayerMP p_187243_1_);
     @Shadow public abstract void syncPlayerInventory(EntityPlayerMP playerIn);
+    @Shadow public abstract UserListBans getBannedPlayers();
+    @Shadow public abstract UserListIPBans getBannedIPs();
+    @Shadow public abstract UserListOps getOppedPlayers();
+    @Shadow public abstract UserListWhitelist getWhitelistedPlayers();
     @Nullable @Shadow public abstract String allowUserToConnect(SocketAddress address, GameProfile profile);
     @Shadow private void setPlayerGameTypeBasedOnOther(final EntityPlayerMP playerIn, @Nullable final EntityPlayerMP other, final net.minecraft.world.World worldIn) {
         // Shadowed
@@ -450,6 +456,11 @@ private void onSaveAllPlayerData(final CallbackInfo ci) {
         for (final SpongeUser user : SpongeUser.dirtyUsers) {
             user.save();
         }
+        // Write user list changes that were not written yet, this is also called when the server stops
+        ((UserListBridge<?, ?>) this.getBannedPlayers()).bridge$saveChanges();
+        ((UserListBridge<?, ?>) this.getBannedIPs()).bridge$saveChanges();
+        ((UserListBridge<?, ?>) this.getOppedPlayers()).bridge$saveChanges();
+        ((UserListBridge<?, ?>) this.getWhitelistedPlayers()).bridge$saveChanges();
     }
 
     @Inject(method = "playerLoggedIn", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/PlayerList;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V", shift = At.Shift.BEFORE), cancellable = true)
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.server.management;
 
 import net.minecraft.server.management.UserList;
+import net.minecraft.server.management.UserListEntry;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -33,20 +34,42 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.bridge.server.management.UserListBridge;
+import org.spongepowered.common.util.UserListStore;
 
 import java.io.File;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 /**
  * A note, this is ONLY TO BE APPLIED TO THE SERVER!!
  */
 @Mixin(UserList.class)
-public abstract class UserListMixin {
+public abstract class UserListMixin<K, V extends UserListEntry<K>> implements UserListBridge<K, V> {
 
     @Shadow @Final public static Logger LOGGER;
     @Shadow @Final private File saveFile;
     @Shadow protected abstract String getObjectKey(Object obj);
 
+    @Nullable private UserListStore<K, V> impl$store;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public UserListStore<K, V> bridge$getStore() {
+        if (this.impl$store == null) {
+            this.impl$store = new UserListStore<>((UserList<K, V>) (Object) this);
+        }
+        return this.impl$store;
+    }
+
+    @Override
+    public void bridge$saveChanges() {
+        if (this.impl$store != null) {
+            this.impl$store.save();
+        }
+    }
+
     @Redirect(method = "removeExpired", at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false))
     private boolean impl$fixAddingToList(final List<Object> list, final Object object) {
         return list.add(this.getObjectKey(object)); // Mojang didn't implement this correctly, so we'll fix it
@@ -55,10 +78,25 @@ public abstract class UserListMixin {
     // Don't throw exception if user list file does not exist
     @Inject(method = "readSavedFile", at = @At("HEAD"), cancellable = true)
     private void onReadSavedFile(final CallbackInfo ci) {
+        // Write pending changes now, as vanilla would have already, so the old
+        // store's scheduled write can't overwrite the file after it was read
+        this.bridge$saveChanges();
         if (!this.saveFile.exists()) {
             LOGGER.warn("{} does not exist, creating it.", this.saveFile.getName());
             ci.cancel();
         }
     }
 
+    @Inject(method = "readSavedFile", at = @At("RETURN"))
+    private void impl$resetStoreOnRead(final CallbackInfo ci) {
+        this.impl$store = null;
+    }
+
+    // Changes are collected and written once per tick by the store
+    @Inject(method = "writeChanges", at = @At("HEAD"), cancellable = true)
+    private void impl$deferWriteChanges(final CallbackInfo ci) {
+        this.bridge$getStore().markChanged();
+        ci.cancel();
+    }
+
 }
@@ -2361,6 +2361,17 @@ private void onBeginUpdateBlocks(final CallbackInfo ci) {
         this.impl$timings.doChunkMap.startTiming();
     }
 
+    @Inject(method = "tick",
+        at = @At(value = "INVOKE_STRING",
+            target = "Lnet/minecraft/profiler/Profiler;endStartSection(Ljava/lang/String;)V",
+            args = "ldc=chunkMap",
+            shift = At.Shift.AFTER))
+    private void impl$prefetchTerrainAheadOfPlayers(final CallbackInfo ci) {
+        if (this.impl$spongegen != null) {
+            this.impl$spongegen.tickTerrainPrefetch();
+        }
+    }
+
     @Inject(method = "tick",
         at = @At(value = "INVOKE_STRING",
             target = "Lnet/minecraft/profiler/Profiler;endStartSection(Ljava/lang/String;)V",
@@ -26,6 +26,7 @@
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraft.world.gen.ChunkProviderServer;
 import net.minecraft.world.gen.IChunkGenerator;
 import org.spongepowered.asm.mixin.Mixin;
@@ -43,4 +44,6 @@ public interface ChunkProviderServerAccessor {
 
     @Accessor("loadedChunks") Long2ObjectMap<Chunk> accessor$getLoadedChunks();
 
+    @Accessor("chunkLoader") IChunkLoader accessor$getChunkLoader();
+
 }
@@ -34,6 +34,7 @@
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import net.minecraft.world.storage.ThreadedFileIOBase;
 import org.apache.logging.log4j.Logger;
@@ -59,63 +60,53 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
-import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.QueuedChunk;
+import org.spongepowered.common.world.BlockOwnershipTable;
+import org.spongepowered.common.world.storage.ChunkCompressor;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 @Mixin(AnvilChunkLoader.class)
 public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
 
+    private static final int IMPL$MAX_BATCH_SIZE = 64;
+
     private ConcurrentLinkedQueue<QueuedChunk> impl$queue = new ConcurrentLinkedQueue<>();
     private final Object impl$lock = new Object();
+    // Held while writing to region files, so that an older version of a chunk
+    // can never be written after a newer one.
+    private final Object impl$writeLock = new Object();
+    // Guarded by impl$lock
+    private int impl$pendingSaves;
+    private long impl$savedChunks;
+    private long impl$totalSaveLatency;
 
     @Shadow @Final private static Logger LOGGER;
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToSave;
     @Shadow @Final private File chunkSaveLocation;
     @Shadow private boolean flushing;
 
-    @Shadow private void writeChunkData(final ChunkPos pos, final NBTTagCompound compound) { } // Shadow
-
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     private void impl$writeSpongeOwnerNotifierPosTable(final net.minecraft.world.chunk.Chunk chunkIn, final World worldIn,
         final NBTTagCompound compound, final CallbackInfo ci) {
         final ChunkBridge chunk = (ChunkBridge) chunkIn;
 
         // Add tracked block positions
-        if (chunk.bridge$getTrackedShortPlayerPositions().size() > 0 || chunk.bridge$getTrackedIntPlayerPositions().size() > 0) {
+        final BlockOwnershipTable ownershipTable = chunk.bridge$getBlockOwnershipTable();
+        if (ownershipTable != null && !ownershipTable.isEmpty()) {
             final NBTTagCompound trackedNbt = new NBTTagCompound();
-            final NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, positions);
+            ownershipTable.writeTo(trackedNbt);
             compound.setTag(Constants.Sponge.SPONGE_DATA, trackedNbt);
-
-            for (final Map.Entry<Short, PlayerTracker> mapEntry : chunk.bridge$getTrackedShortPlayerPositions().entrySet()) {
-                final Short pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
-
-            for (final Map.Entry<Integer, PlayerTracker> mapEntry : chunk.bridge$getTrackedIntPlayerPositions().entrySet()) {
-                final Integer pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
-            }
         }
     }
 
@@ -123,33 +114,8 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
     private void onReadChunkFromNBT(final World worldIn, final NBTTagCompound compound, final CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, final int chunkX,
       final int chunkZ, final net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(Constants.Sponge.SPONGE_DATA)) {
-            final Map<Integer, PlayerTracker> trackedIntPlayerPositions = new HashMap<>();
-            final Map<Short, PlayerTracker> trackedShortPlayerPositions = new HashMap<>();
-            final NBTTagList positions = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA).getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, 10);
-            final ChunkBridge chunk = (ChunkBridge) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                final boolean isShortPos = valueNbt.hasKey("pos");
-                final PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
-                }
-
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
-                    } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
-                    }
-                }
-            }
-            chunk.bridge$setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-            chunk.bridge$setTrackedShortPlayerPositions(trackedShortPlayerPositions);
+            final BlockOwnershipTable ownershipTable = BlockOwnershipTable.readFrom(compound.getCompoundTag(Constants.Sponge.SPONGE_DATA));
+            ((ChunkBridge) chunkIn).bridge$setBlockOwnershipTable(ownershipTable);
         }
     }
 
@@ -225,8 +191,21 @@ private void onReadChunkFromNBT(final World worldIn, final NBTTagCompound compou
      */
     @Overwrite
     protected void addChunkToPending(final ChunkPos pos, final NBTTagCompound compound) {
+        final int maxPendingSaves = SpongeImpl.getGlobalConfigAdapter().getConfig().getGeneral().getMaxPendingChunkSaves();
         synchronized (this.impl$lock) {
+            // Sponge - Wait for the file IO thread to catch up instead of holding on to
+            // an unbounded amount of chunk data
+            while (maxPendingSaves > 0 && this.impl$pendingSaves >= maxPendingSaves) {
+                ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
+                try {
+                    this.impl$lock.wait(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
             this.chunksToSave.put(pos, compound);
+            this.impl$pendingSaves++;
         }
         this.impl$queue.add(new QueuedChunk(pos, compound));
 
@@ -236,62 +215,123 @@ protected void addChunkToPending(final ChunkPos pos, final NBTTagCompound compou
     /**
      * @author aikar - February 19th, 2017
      * @reason Refactor entire method for chunk queue improvements.
+     *
+     * <p>Chunks are taken from the queue in batches, compressed in parallel
+     * and then written grouped by their region file.</p>
+     *
      * @return Whether write was successful
      */
     @Overwrite
     public boolean writeNextIO() {
-        final QueuedChunk chunk = this.impl$queue.poll();
-        if (chunk == null) {
+        final List<QueuedChunk> batch = new ArrayList<>();
+        QueuedChunk chunk;
+        while (batch.size() < IMPL$MAX_BATCH_SIZE && (chunk = this.impl$queue.poll()) != null) {
+            batch.add(chunk);
+        }
+        if (batch.isEmpty()) {
             if (this.flushing) {
                 LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved", new Object[] {this.chunkSaveLocation.getName()});
             }
 
             return false;
-        } else {
-            final ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
+        }
 
-            try {
-                // this.field_193415_c.add(chunkpos);
-                final NBTTagCompound nbttagcompound = chunk.compound;
+        // Only the latest version of a chunk needs to be written, a newer
+        // version that is still pending will be written once it is polled.
+        final Map<Long, List<QueuedChunk>> regions = new LinkedHashMap<>();
+        final Map<QueuedChunk, CompletableFuture<byte[]>> compressed = new HashMap<>();
+        for (final QueuedChunk queued : batch) {
+            if (queued.compound == null || !this.impl$isLatestVersion(queued)) {
+                continue;
+            }
+            compressed.put(queued, ChunkCompressor.compress(queued.compound));
+            regions.computeIfAbsent(ChunkPos.asLong(queued.coords.x >> 5, queued.coords.z >> 5), key -> new ArrayList<>()).add(queued);
+        }
 
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
+        try {
+            synchronized (this.impl$writeLock) {
+                for (final List<QueuedChunk> regionChunks : regions.values()) {
+                    final ChunkPos first = regionChunks.get(0).coords;
+                    try {
+                        final RegionFile regionFile = RegionFileCache.createOrLoadRegionFile(this.chunkSaveLocation, first.x, first.z);
+                        for (final QueuedChunk queued : regionChunks) {
+                            if (!this.impl$isLatestVersion(queued)) {
+                                continue;
+                            }
+                            this.impl$writeCompressed(regionFile, queued, compressed.get(queued));
                         }
-                        try {
-                            Thread.sleep(10);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    if (laste != null) {
-                        laste.printStackTrace();
+                    } catch (Exception e) {
+                        LOGGER.error("Failed to save chunks to the region file of chunk {}", first, e);
                     }
                 }
-
-                synchronized (this.impl$lock) {
-                    if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
-                        this.chunksToSave.remove(chunkpos);
+            }
+        } finally {
+            // Always release the batch, the server thread may be waiting on it in addChunkToPending
+            final long now = System.nanoTime();
+            synchronized (this.impl$lock) {
+                for (final QueuedChunk queued : batch) {
+                    // Sponge - This will not equal if a newer version is still
+                    // pending
+                    if (this.chunksToSave.get(queued.coords) == queued.compound) {
+                        this.chunksToSave.remove(queued.coords);
                     }
+                    this.impl$totalSaveLatency += now - queued.queuedTime;
                 }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.field_193415_c.remove(chunkpos);
+                this.impl$savedChunks += batch.size();
+                this.impl$pendingSaves -= batch.size();
+                this.impl$lock.notifyAll();
             }
+        }
+        return true;
+    }
+
+    private boolean impl$isLatestVersion(final QueuedChunk queued) {
+        synchronized (this.impl$lock) {
+            return this.chunksToSave.get(queued.coords) == queued.compound;
+        }
+    }
 
-            return lvt_3_1_;
+    private void impl$writeCompressed(final RegionFile regionFile, final QueuedChunk queued, final CompletableFuture<byte[]> future) {
+        final byte[] data;
+        try {
+            data = future.join();
+        } catch (Exception e) {
+            LOGGER.error("Failed to compress chunk {} for saving", queued.coords, e);
+            return;
+        }
+        int attempts = 0;
+        Exception laste = null;
+        while (attempts++ < 5) {
+            try {
+                ((RegionFileAccessor) regionFile).accessor$write(queued.coords.x & 31, queued.coords.z & 31, data, data.length);
+                laste = null;
+                break;
+            } catch (Exception exception) {
+                laste = exception;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (laste != null) {
+            LOGGER.error("Failed to write chunk {} to its region file", queued.coords, laste);
+        }
+    }
+
+    @Override
+    public int bridge$getPendingChunkSaves() {
+        synchronized (this.impl$lock) {
+            return this.impl$pendingSaves;
+        }
+    }
+
+    @Override
+    public double bridge$getMeanChunkSaveLatency() {
+        synchronized (this.impl$lock) {
+            return this.impl$savedChunks == 0 ? 0 : this.impl$totalSaveLatency / 1.0e6d / this.impl$savedChunks;
         }
     }
 
@@ -63,12 +63,12 @@
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.ChunkUnloadQueue;
 import org.spongepowered.common.world.SpongeEmptyChunk;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
-import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
@@ -81,6 +81,7 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
     private boolean impl$forceChunkRequests = false;
     private long impl$chunkUnloadDelay = Constants.World.DEFAULT_CHUNK_UNLOAD_DELAY;
     private int impl$maxChunkUnloads = Constants.World.MAX_CHUNK_UNLOADS;
+    private final ChunkUnloadQueue impl$unloadQueue = new ChunkUnloadQueue();
 
     @Shadow @Final private WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
@@ -124,12 +125,21 @@ public void queueUnload(final Chunk chunkIn)
     {
         if (!((ChunkBridge) chunkIn).bridge$isPersistedChunk() && this.world.provider.canDropChunk(chunkIn.x, chunkIn.z))
         {
-            // Sponge - we avoid using the queue and simply check the unloaded flag during unloads
+            // Sponge - we queue the chunk by the time its unload is due, a chunk that is requested
+            // again before then simply has its unloaded flag cleared and is skipped when polled.
             //this.droppedChunksSet.add(Long.valueOf(ChunkPos.asLong(chunkIn.x, chunkIn.z)));
             chunkIn.unloadQueued = true;
+            this.impl$unloadQueue.queue(chunkIn, this.impl$getUnloadDueTime(chunkIn, System.currentTimeMillis()));
         }
     }
 
+    private long impl$getUnloadDueTime(final Chunk chunk, final long now) {
+        if (this.impl$chunkUnloadDelay > 0) {
+            return ((ChunkBridge) chunk).bridge$getScheduledForUnload() + this.impl$chunkUnloadDelay;
+        }
+        return now;
+    }
+
 
 
     @Redirect(method = "provideChunk",
@@ -242,8 +252,8 @@ public void queueUnload(final Chunk chunkIn)
     /**
      * @author blood - October 20th, 2016
      * @reason Refactors entire method to not use the droppedChunksSet by
-     * simply looping through all loaded chunks and determining whether it
-     * can unload or not.
+     * polling the chunks whose unload is due from the unload queue and
+     * determining whether they can unload or not.
      *
      * @return true if unload queue was processed
      */
@@ -253,25 +263,35 @@ public boolean tick()
         if (!this.world.disableLevelSaving && !((WorldBridge) this.world).bridge$isFake())
         {
             ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.startTiming();
-            final Iterator<Chunk> iterator = this.loadedChunks.values().iterator();
             int chunksUnloaded = 0;
             final long now = System.currentTimeMillis();
-            while (chunksUnloaded < this.impl$maxChunkUnloads && iterator.hasNext()) {
-                final Chunk chunk = iterator.next();
+            Chunk chunk;
+            while (chunksUnloaded < this.impl$maxChunkUnloads && (chunk = this.impl$unloadQueue.poll(now)) != null) {
+                final long chunkKey = ChunkPos.asLong(chunk.x, chunk.z);
+                // The chunk was requested again or was already unloaded
+                if (!chunk.unloadQueued || this.loadedChunks.get(chunkKey) != chunk) {
+                    continue;
+                }
                 final ChunkBridge spongeChunk = (ChunkBridge) chunk;
-                if (chunk != null && chunk.unloadQueued && !spongeChunk.bridge$isPersistedChunk()) {
-                    if (this.bridge$getChunkUnloadDelay() > 0) {
-                        if ((now - spongeChunk.bridge$getScheduledForUnload()) < this.impl$chunkUnloadDelay) {
-                            continue;
-                        }
-                        spongeChunk.bridge$setScheduledForUnload(-1);
+                if (spongeChunk.bridge$isPersistedChunk()) {
+                    // Let the chunk GC queue it again once it is no longer persisted
+                    chunk.unloadQueued = false;
+                    continue;
+                }
+                if (this.bridge$getChunkUnloadDelay() > 0) {
+                    // The unload may have been scheduled again since the chunk was queued
+                    final long due = this.impl$getUnloadDueTime(chunk, now);
+                    if (due > now) {
+                        this.impl$unloadQueue.requeue(chunk, due);
+                        continue;
                     }
-                    chunk.onUnload();
-                    this.saveChunkData(chunk);
-                    this.saveChunkExtraData(chunk);
-                    iterator.remove();
-                    chunksUnloaded++;
+                    spongeChunk.bridge$setScheduledForUnload(-1);
                 }
+                chunk.onUnload();
+                this.saveChunkData(chunk);
+                this.saveChunkExtraData(chunk);
+                this.loadedChunks.remove(chunkKey);
+                chunksUnloaded++;
             }
             ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.stopTiming();
         }
@@ -46,6 +46,7 @@
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.storage.SaveHandlerBridge;
 import org.spongepowered.common.data.util.DataUtil;
+import org.spongepowered.common.service.user.ProfileIndex;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
 
@@ -89,6 +90,9 @@ private String modifyMinecraftExceptionOutputIfIOException(final String message)
     @Inject(method = "saveWorldInfoWithPlayer", at = @At("RETURN"))
     private void impl$saveLevelSpongeDataFile(final WorldInfo worldInformation, final NBTTagCompound tagCompound, final CallbackInfo ci) {
         try {
+            // Saved first, the level data only drops a legacy player id table once it is in its own file
+            ((WorldInfoBridge) worldInformation).bridge$getPlayerIdTable()
+                .save(new File(this.worldDirectory, Constants.Sponge.World.PLAYER_ID_TABLE).toPath());
             // If the returned NBT is empty, then we should warn the user.
             NBTTagCompound spongeRootLevelNBT = ((WorldInfoBridge) worldInformation).bridge$getSpongeRootLevelNbt();
             if (spongeRootLevelNBT.isEmpty()) {
@@ -165,6 +169,7 @@ private String modifyMinecraftExceptionOutputIfIOException(final String message)
 
     @Override
     public void bridge$loadSpongeDatData(final WorldInfo info) {
+        ((WorldInfoBridge) info).bridge$getPlayerIdTable().setFile(new File(this.worldDirectory, Constants.Sponge.World.PLAYER_ID_TABLE).toPath());
         final File spongeFile = new File(this.worldDirectory, Constants.Sponge.World.LEVEL_SPONGE_DAT);
         final File spongeOldFile = new File(this.worldDirectory, Constants.Sponge.World.LEVEL_SPONGE_DAT_OLD);
 
@@ -265,6 +270,7 @@ private String modifyMinecraftExceptionOutputIfIOException(final String message)
             shift = At.Shift.AFTER))
     private void impl$saveSpongePlayerData(final EntityPlayer player, final CallbackInfo callbackInfo) {
         SpongePlayerDataHandler.savePlayer(player.getUniqueID());
+        ProfileIndex.add(player.getUniqueID(), player.getName());
     }
 
     @Inject(
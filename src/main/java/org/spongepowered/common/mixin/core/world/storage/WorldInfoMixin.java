@@ -25,11 +25,8 @@
 package org.spongepowered.common.mixin.core.world.storage;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.nbt.NBTTagList;
 import net.minecraft.network.play.server.SPacketServerDifficulty;
 import net.minecraft.world.EnumDifficulty;
 import net.minecraft.world.GameType;
@@ -66,11 +63,9 @@
 import org.spongepowered.common.registry.type.world.WorldGeneratorModifierRegistryModule;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.storage.PlayerIdTable;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -89,10 +84,7 @@ public abstract class WorldInfoMixin implements WorldInfoBridge {
     @Shadow private EnumDifficulty difficulty;
     @Shadow public abstract void setDifficulty(EnumDifficulty newDifficulty);
 
-    private final NBTTagList impl$playerUniqueIdNbt = new NBTTagList();
-    private final BiMap<Integer, UUID> impl$playerUniqueIdMap = HashBiMap.create();
-    private final List<UUID> impl$pendingUniqueIds = new ArrayList<>();
-    private int impl$trackedUniqueIdCount = 0;
+    private final PlayerIdTable impl$playerIdTable = new PlayerIdTable();
     private boolean impl$hasCustomDifficulty = false;
     private boolean impl$isMod = false;
     private boolean impl$generateBonusChest;
@@ -169,7 +161,6 @@ public abstract class WorldInfoMixin implements WorldInfoBridge {
 
     // used in all init methods
     private void impl$commonConstructionSetUpSpongeCompounds() {
-        this.impl$spongeNbt.setTag(Constants.Sponge.SPONGE_PLAYER_UUID_TABLE, this.impl$playerUniqueIdNbt);
         this.impl$spongeRootLevelNbt.setTag(Constants.Sponge.SPONGE_DATA, this.impl$spongeNbt);
     }
 
@@ -328,19 +319,17 @@ private void setDoesGenerateBonusChest(final boolean state) {
 
     @Override
     public int bridge$getIndexForUniqueId(final UUID uuid) {
-        final Integer index = this.impl$playerUniqueIdMap.inverse().get(uuid);
-        if (index != null) {
-            return index;
-        }
-
-        this.impl$playerUniqueIdMap.put(this.impl$trackedUniqueIdCount, uuid);
-        this.impl$pendingUniqueIds.add(uuid);
-        return this.impl$trackedUniqueIdCount++;
+        return this.impl$playerIdTable.getIndex(uuid);
     }
 
     @Override
     public Optional<UUID> bridge$getUniqueIdForIndex(final int index) {
-        return Optional.ofNullable(this.impl$playerUniqueIdMap.get(index));
+        return Optional.ofNullable(this.impl$playerIdTable.getUniqueId(index));
+    }
+
+    @Override
+    public PlayerIdTable bridge$getPlayerIdTable() {
+        return this.impl$playerIdTable;
     }
 
     @Override
@@ -373,7 +362,6 @@ private void setDoesGenerateBonusChest(final boolean state) {
         this.impl$generateBonusChest = nbt.getBoolean(Constants.World.GENERATE_BONUS_CHEST);
         this.impl$portalAgentType = PortalAgentRegistryModule.getInstance().validatePortalAgent(nbt.getString(Constants.Sponge.World.PORTAL_AGENT_TYPE), this.levelName);
         this.impl$hasCustomDifficulty = nbt.getBoolean(Constants.Sponge.World.HAS_CUSTOM_DIFFICULTY);
-        this.impl$trackedUniqueIdCount = 0;
         if (nbt.hasKey(Constants.Sponge.World.WORLD_SERIALIZATION_BEHAVIOR)) {
             final short saveBehavior = nbt.getShort(Constants.Sponge.World.WORLD_SERIALIZATION_BEHAVIOR);
             if (saveBehavior == 1) {
@@ -385,18 +373,8 @@ private void setDoesGenerateBonusChest(final boolean state) {
             }
         }
         if (nbt.hasKey(Constants.Sponge.SPONGE_PLAYER_UUID_TABLE, Constants.NBT.TAG_LIST)) {
-            final NBTTagList playerIdList = nbt.getTagList(Constants.Sponge.SPONGE_PLAYER_UUID_TABLE, Constants.NBT.TAG_COMPOUND);
-            for (int i = 0; i < playerIdList.tagCount(); i++) {
-                final NBTTagCompound playerId = playerIdList.getCompoundTagAt(i);
-                final UUID playerUuid = playerId.getUniqueId(Constants.UUID);
-                final Integer playerIndex = this.impl$playerUniqueIdMap.inverse().get(playerUuid);
-                if (playerIndex == null) {
-                    this.impl$playerUniqueIdMap.put(this.impl$trackedUniqueIdCount++, playerUuid);
-                } else {
-                    playerIdList.removeTag(i);
-                }
-            }
-
+            // Worlds saved before the table had its own file, only read if that file doesn't exist yet
+            this.impl$playerIdTable.setLegacyTable(nbt.getTagList(Constants.Sponge.SPONGE_PLAYER_UUID_TABLE, Constants.NBT.TAG_COMPOUND));
         }
     }
 
@@ -420,13 +398,8 @@ private void writeSpongeNbt() {
             }
             this.impl$spongeNbt.setShort(Constants.Sponge.World.WORLD_SERIALIZATION_BEHAVIOR, saveBehavior);
             this.impl$spongeNbt.setBoolean(Constants.Sponge.World.HAS_CUSTOM_DIFFICULTY, this.impl$hasCustomDifficulty);
-            final Iterator<UUID> iterator = this.impl$pendingUniqueIds.iterator();
-            final NBTTagList playerIdList = this.impl$spongeNbt.getTagList(Constants.Sponge.SPONGE_PLAYER_UUID_TABLE, Constants.NBT.TAG_COMPOUND);
-            while (iterator.hasNext()) {
-                final NBTTagCompound compound = new NBTTagCompound();
-                compound.setUniqueId(Constants.UUID, iterator.next());
-                playerIdList.appendTag(compound);
-                iterator.remove();
+            if (this.impl$playerIdTable.isMigrated()) {
+                this.impl$spongeNbt.removeTag(Constants.Sponge.SPONGE_PLAYER_UUID_TABLE);
             }
         }
     }
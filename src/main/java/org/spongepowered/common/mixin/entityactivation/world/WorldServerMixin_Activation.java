@@ -27,15 +27,25 @@
 import net.minecraft.world.WorldServer;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.bridge.world.WorldServerBridge_Activation;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
+import org.spongepowered.common.mixin.plugin.entityactivation.ActivationMetrics;
 import org.spongepowered.common.mixin.plugin.entityactivation.EntityActivationRange;
 
 @Mixin(value = WorldServer.class, priority = 1005)
-public abstract class WorldServerMixin_Activation extends WorldMixin {
+public abstract class WorldServerMixin_Activation extends WorldMixin implements WorldServerBridge_Activation {
+
+    private final ActivationMetrics activation$metrics = new ActivationMetrics();
 
     @Override
     protected void impl$entityActivationCheck(final CallbackInfo ci) {
+        this.activation$metrics.tick();
         EntityActivationRange.activateEntities(((net.minecraft.world.World) (Object) this));
     }
 
+    @Override
+    public ActivationMetrics activationBridge$getEntityActivationMetrics() {
+        return this.activation$metrics;
+    }
+
 }
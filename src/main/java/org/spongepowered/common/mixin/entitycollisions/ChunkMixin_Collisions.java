@@ -29,7 +29,9 @@
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.world.LocatableBlock;
@@ -38,18 +40,111 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.bridge.world.WorldBridge;
+import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkBridge_Collisions;
+import org.spongepowered.common.config.category.EntityCollisionCategory;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.CollisionsCapability;
+import org.spongepowered.common.world.SectionEntityGrid;
 
+import java.util.Iterator;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 @Mixin(net.minecraft.world.chunk.Chunk.class)
-public class ChunkMixin_Collisions {
+public abstract class ChunkMixin_Collisions implements ChunkBridge_Collisions {
 
     @Shadow @Final private World world;
+    @Shadow @Final public int x;
+    @Shadow @Final public int z;
+    @Shadow @Final private ClassInheritanceMultiMap<Entity>[] entityLists;
+
+    @Nullable private SectionEntityGrid[] collisionsImpl$sectionGrids;
+    private int collisionsImpl$spatialIndexThreshold;
+
+    @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"))
+    private void collisionsImpl$createSectionGrids(final World world, final int x, final int z, final CallbackInfo ci) {
+        if (world == null || world.isRemote || ((WorldBridge) world).bridge$isFake() || !((WorldInfoBridge) world.getWorldInfo()).bridge$isValid()) {
+            return;
+        }
+        final EntityCollisionCategory collisionCategory =
+            ((WorldInfoBridge) world.getWorldInfo()).bridge$getConfigAdapter().getConfig().getEntityCollisionCategory();
+        if (collisionCategory.useSpatialIndex()) {
+            this.collisionsImpl$sectionGrids = new SectionEntityGrid[this.entityLists.length];
+            for (int i = 0; i < this.collisionsImpl$sectionGrids.length; i++) {
+                this.collisionsImpl$sectionGrids[i] = new SectionEntityGrid(x, i, z);
+            }
+            this.collisionsImpl$spatialIndexThreshold = collisionCategory.getSpatialIndexThreshold();
+        }
+    }
+
+    @Inject(method = "addEntity", at = @At("RETURN"))
+    private void collisionsImpl$addToSectionGrid(final Entity entityIn, final CallbackInfo ci) {
+        if (this.collisionsImpl$sectionGrids != null) {
+            this.collisionsImpl$sectionGrids[entityIn.chunkCoordY].add(entityIn);
+        }
+    }
+
+    @Inject(method = "removeEntityAtIndex", at = @At("RETURN"))
+    private void collisionsImpl$removeFromSectionGrid(final Entity entityIn, final int index, final CallbackInfo ci) {
+        if (this.collisionsImpl$sectionGrids != null) {
+            this.collisionsImpl$sectionGrids[MathHelper.clamp(index, 0, this.collisionsImpl$sectionGrids.length - 1)].remove(entityIn);
+        }
+    }
+
+    @Override
+    public void collisionsBridge$onEntityMoved(final Entity entity) {
+        if (this.collisionsImpl$sectionGrids != null && entity.chunkCoordY >= 0 && entity.chunkCoordY < this.collisionsImpl$sectionGrids.length) {
+            this.collisionsImpl$sectionGrids[entity.chunkCoordY].update(entity);
+        }
+    }
+
+    /**
+     * Looks up the entities of crowded sections from the section grid, so
+     * that only the entities close to the box are tested and counted against
+     * the collision limits.
+     */
+    @Redirect(method = "getEntitiesWithinAABBForEntity",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/util/ClassInheritanceMultiMap;iterator()Ljava/util/Iterator;"))
+    private Iterator<Entity> collisionsImpl$iterateSectionGrid(final ClassInheritanceMultiMap<Entity> entityList, final Entity entityIn,
+        final AxisAlignedBB aabb, final List<Entity> listToFill, final Predicate<? super Entity> predicate) {
+        final SectionEntityGrid grid = this.collisionsImpl$getSectionGrid(entityList);
+        if (grid == null) {
+            return entityList.iterator();
+        }
+        return grid.<Entity>getCandidates(aabb, null).iterator();
+    }
+
+    @Redirect(method = "getEntitiesOfTypeWithinAABB",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/util/ClassInheritanceMultiMap;getByClass(Ljava/lang/Class;)Ljava/lang/Iterable;"))
+    private <T extends Entity> Iterable<T> collisionsImpl$getByClassFromSectionGrid(final ClassInheritanceMultiMap<Entity> entityList,
+        final Class<T> clazz, final Class<? extends T> entityClass, final AxisAlignedBB aabb, final List<T> listToFill,
+        final Predicate<? super T> predicate) {
+        final SectionEntityGrid grid = this.collisionsImpl$getSectionGrid(entityList);
+        if (grid == null) {
+            return entityList.getByClass(clazz);
+        }
+        return grid.getCandidates(aabb, clazz);
+    }
+
+    @Nullable
+    private SectionEntityGrid collisionsImpl$getSectionGrid(final ClassInheritanceMultiMap<Entity> entityList) {
+        if (this.collisionsImpl$sectionGrids == null || entityList.size() < this.collisionsImpl$spatialIndexThreshold) {
+            return null;
+        }
+        for (int i = 0; i < this.entityLists.length; i++) {
+            if (this.entityLists[i] == entityList) {
+                return this.collisionsImpl$sectionGrids[i];
+            }
+        }
+        return null;
+    }
 
     @SuppressWarnings("Guava")
     @Inject(method = "getEntitiesWithinAABBForEntity",
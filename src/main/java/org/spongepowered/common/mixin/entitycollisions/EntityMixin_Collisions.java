@@ -26,6 +26,7 @@
 
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.world.World;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.entity.EntityType;
@@ -38,6 +39,9 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
+import org.spongepowered.common.bridge.world.chunk.ActiveChunkReferantBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkBridge_Collisions;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.category.CollisionModCategory;
 import org.spongepowered.common.config.category.EntityCollisionCategory;
@@ -50,6 +54,7 @@
 public class EntityMixin_Collisions implements CollisionsCapability {
 
     @Shadow public World world;
+    @Shadow public boolean addedToChunk;
     private int collision$maxCollisions = 8;
     private boolean collision$refreshCache = false;
     private String collision$entityName = "unknown";
@@ -82,6 +87,16 @@ public class EntityMixin_Collisions implements CollisionsCapability {
         }
     }
 
+    @Inject(method = "setEntityBoundingBox", at = @At("RETURN"))
+    private void collisions$updateSectionGrid(final AxisAlignedBB bb, final CallbackInfo ci) {
+        if (this.addedToChunk && !this.world.isRemote) {
+            final ChunkBridge chunk = ((ActiveChunkReferantBridge) this).bridge$getActiveChunk();
+            if (chunk instanceof ChunkBridge_Collisions) {
+                ((ChunkBridge_Collisions) chunk).collisionsBridge$onEntityMoved((net.minecraft.entity.Entity) (Object) this);
+            }
+        }
+    }
+
     @Override
     public int collision$getMaxCollisions() {
         return this.collision$maxCollisions;
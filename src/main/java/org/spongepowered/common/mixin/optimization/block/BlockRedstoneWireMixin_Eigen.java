@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.mixin.optimization.block;
 
-import com.google.common.collect.Lists;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockRedstoneWire;
 import net.minecraft.block.material.Material;
@@ -32,6 +31,7 @@
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
@@ -42,7 +42,6 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.mixin.plugin.RedstoneWireTurbo;
 
-import java.util.List;
 import java.util.Set;
 
 @Mixin(value = BlockRedstoneWire.class, priority = 1001)
@@ -72,6 +71,11 @@ protected BlockRedstoneWireMixin_Eigen(Material materialIn) {
     // The bulk of the new functionality is found in RedstoneWireTurbo.java
     private RedstoneWireTurbo turbo = new RedstoneWireTurbo((BlockRedstoneWire)(Object) this);
 
+    // Snapshots of blocksNeedingUpdate for the vanilla search. Notifying neighbors can re-enter
+    // updateSurroundingRedstone, so each call appends its snapshot after the caller's and trims
+    // back to where it started once done, instead of copying the set into a new list every time.
+    private final ObjectArrayList<BlockPos> updateScratch = new ObjectArrayList<>();
+
     @Inject(method = "updateSurroundingRedstone", at = @At("HEAD"), cancellable = true)
     private void onUpdateSurroundingRedstone(World worldIn, BlockPos pos, IBlockState state, CallbackInfoReturnable<IBlockState> cir) {
         if (!worldIn.isRemote) {
@@ -118,12 +122,18 @@ private IBlockState updateSurroundingRedstone(World worldIn, BlockPos pos, IBloc
     {
         if (this.old_search) {
             state = this.calculateCurrentChanges(worldIn, pos, pos, state);
-            List<BlockPos> list = Lists.newArrayList(this.blocksNeedingUpdate);
+            final int start = this.updateScratch.size();
+            this.updateScratch.addAll(this.blocksNeedingUpdate);
+            final int end = this.updateScratch.size();
             this.blocksNeedingUpdate.clear();
-    
-            for (BlockPos blockpos : list)
-            {   
-                worldIn.notifyNeighborsOfStateChange(blockpos, this, false);
+
+            try {
+                for (int i = start; i < end; i++)
+                {
+                    worldIn.notifyNeighborsOfStateChange(this.updateScratch.get(i), this, false);
+                }
+            } finally {
+                this.updateScratch.size(start);
             }
     
             return state;
@@ -26,6 +26,12 @@
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongListIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockObserver;
 import net.minecraft.block.BlockPistonBase;
@@ -53,7 +59,6 @@
 import org.spongepowered.common.mixin.core.util.EnumFacingAccessor;
 
 import javax.annotation.Nullable;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -65,12 +70,18 @@ protected BlockRedstoneWireMixin_Panda(final Material materialIn) {
         super(materialIn);
     }
 
-    /** Positions that need to be turned off **/
-    private List<BlockPos> panda$turnOff = Lists.newArrayList();
-    /** Positions that need to be checked to be turned on **/
-    private List<BlockPos> panda$turnOn = Lists.newArrayList();
+    /** Positions that need to be turned off, as {@link BlockPos#toLong()} **/
+    private final LongArrayFIFOQueue panda$turnOff = new LongArrayFIFOQueue();
+    /** Positions currently queued in {@link #panda$turnOff} **/
+    private final LongSet panda$turnOffQueued = new LongOpenHashSet();
+    /** Positions that need to be checked to be turned on, as {@link BlockPos#toLong()} **/
+    private final LongArrayFIFOQueue panda$turnOn = new LongArrayFIFOQueue();
+    /** Positions currently queued in {@link #panda$turnOn} **/
+    private final LongSet panda$turnOnQueued = new LongOpenHashSet();
     /** Positions of wire that was updated already (Ordering determines update order and is therefore required!) **/
-    private final Set<BlockPos> panda$updatedRedstoneWire = Sets.newLinkedHashSet();
+    private final LongLinkedOpenHashSet panda$updatedRedstoneWire = new LongLinkedOpenHashSet();
+    /** Scratch position for computing the keys of surrounding blocks **/
+    private final BlockPos.MutableBlockPos panda$scratchPos = new BlockPos.MutableBlockPos();
      
     /** Ordered arrays of the facings; Needed for the update order.
      *  I went with a vertical-first order here, but vertical last would work to.
@@ -132,20 +143,24 @@ private void updateSurroundingRedstone(final World worldIn, final BlockPos pos)
         this.calculateCurrentChanges(worldIn, pos);
 
         // Set to collect all the updates, to only execute them once. Ordering required.
-        final Set<BlockPos> blocksNeedingUpdate = Sets.newLinkedHashSet();
+        final LongLinkedOpenHashSet blocksNeedingUpdate = new LongLinkedOpenHashSet();
 
         // Add the needed updates
-        for (final BlockPos posi : this.panda$updatedRedstoneWire) {
-            this.addBlocksNeedingUpdate(worldIn, posi, blocksNeedingUpdate);
+        for (final LongIterator it = this.panda$updatedRedstoneWire.iterator(); it.hasNext(); ) {
+            this.addBlocksNeedingUpdate(worldIn, BlockPos.fromLong(it.nextLong()), blocksNeedingUpdate);
         }
         // Add all other updates to keep known behaviors
         // They are added in a backwards order because it preserves a commonly used behavior with the update order
-        final Iterator<BlockPos> it = Lists.newLinkedList(this.panda$updatedRedstoneWire).descendingIterator();
-        while (it.hasNext()) {
-            this.addAllSurroundingBlocks(it.next(), blocksNeedingUpdate);
+        if (!this.panda$updatedRedstoneWire.isEmpty()) {
+            final LongListIterator it = this.panda$updatedRedstoneWire.iterator(this.panda$updatedRedstoneWire.lastLong());
+            while (it.hasPrevious()) {
+                this.addAllSurroundingBlocks(it.previousLong(), blocksNeedingUpdate);
+            }
         }
         // Remove updates on the wires as they just were updated
-        blocksNeedingUpdate.removeAll(this.panda$updatedRedstoneWire);
+        for (final LongIterator it = this.panda$updatedRedstoneWire.iterator(); it.hasNext(); ) {
+            blocksNeedingUpdate.remove(it.nextLong());
+        }
         /*
          * Avoid unnecessary updates on the just updated wires A huge scale test
          * showed about 40% more ticks per second It's probably less in normal
@@ -154,8 +169,8 @@ private void updateSurroundingRedstone(final World worldIn, final BlockPos pos)
         this.panda$updatedRedstoneWire.clear();
 
         // Execute updates
-        for (final BlockPos posi : blocksNeedingUpdate) {
-            worldIn.notifyNeighborsOfStateChange(posi, (BlockRedstoneWire) (Object) this, false);
+        for (final LongIterator it = blocksNeedingUpdate.iterator(); it.hasNext(); ) {
+            worldIn.notifyNeighborsOfStateChange(BlockPos.fromLong(it.nextLong()), (BlockRedstoneWire) (Object) this, false);
         }
     }
 
@@ -169,14 +184,14 @@ private void updateSurroundingRedstone(final World worldIn, final BlockPos pos)
     private void calculateCurrentChanges(final World worldIn, final BlockPos position) {
         // Turn off all connected wires first if needed
         if (worldIn.getBlockState(position).getBlock() == this) {
-            this.panda$turnOff.add(position);
+            this.panda$enqueue(this.panda$turnOff, this.panda$turnOffQueued, position);
         } else {
             // In case this wire was removed, check the surrounding wires
             this.checkSurroundingWires(worldIn, position);
         }
 
         while (!this.panda$turnOff.isEmpty()) {
-            final BlockPos pos = this.panda$turnOff.remove(0);
+            final BlockPos pos = this.panda$dequeue(this.panda$turnOff, this.panda$turnOffQueued);
             final IBlockState state = worldIn.getBlockState(pos);
             final int oldPower = state.getValue(BlockRedstoneWire.POWER);
             this.canProvidePower = false;
@@ -190,8 +205,8 @@ private void calculateCurrentChanges(final World worldIn, final BlockPos positio
             // Power lowered?
             if (newPower < oldPower) {
                 // If it's still powered by a direct source (but weaker) mark for turn on
-                if (blockPower > 0 && !this.panda$turnOn.contains(pos)) {
-                    this.panda$turnOn.add(pos);
+                if (blockPower > 0) {
+                    this.panda$enqueue(this.panda$turnOn, this.panda$turnOnQueued, pos);
                 }
                 // Set all the way to off for now, because wires that were powered by this need to update first
                 setWireState(worldIn, pos, state, 0);
@@ -205,7 +220,7 @@ private void calculateCurrentChanges(final World worldIn, final BlockPos positio
         }
         // Now all needed wires are turned off. Time to turn them on again if there is a power source.
         while (!this.panda$turnOn.isEmpty()) {
-            final BlockPos pos = this.panda$turnOn.remove(0);
+            final BlockPos pos = this.panda$dequeue(this.panda$turnOn, this.panda$turnOnQueued);
             final IBlockState state = worldIn.getBlockState(pos);
             final int oldPower = state.getValue(BlockRedstoneWire.POWER);
             this.canProvidePower = false;
@@ -225,7 +240,36 @@ private void calculateCurrentChanges(final World worldIn, final BlockPos positio
             this.checkSurroundingWires(worldIn, pos);
         }
         this.panda$turnOff.clear();
+        this.panda$turnOffQueued.clear();
         this.panda$turnOn.clear();
+        this.panda$turnOnQueued.clear();
+    }
+
+    /**
+     * Queues a position unless it is already waiting in the given queue.
+     *
+     * @param queue The queue
+     * @param queued The positions currently in the queue
+     * @param pos The position to add
+     */
+    private void panda$enqueue(final LongArrayFIFOQueue queue, final LongSet queued, final BlockPos pos) {
+        final long key = pos.toLong();
+        if (queued.add(key)) {
+            queue.enqueue(key);
+        }
+    }
+
+    /**
+     * Removes the first position from the given queue.
+     *
+     * @param queue The queue
+     * @param queued The positions currently in the queue
+     * @return The position
+     */
+    private BlockPos panda$dequeue(final LongArrayFIFOQueue queue, final LongSet queued) {
+        final long key = queue.dequeueLong();
+        queued.remove(key);
+        return BlockPos.fromLong(key);
     }
 
     /**
@@ -242,14 +286,14 @@ private void addWireToList(final World worldIn, final BlockPos pos, final int ot
         if (state.getBlock() == this) {
             final int power = state.getValue(BlockRedstoneWire.POWER);
             // Could get powered stronger by the neighbor?
-            if (power < (otherPower - 1) && !this.panda$turnOn.contains(pos)) {
+            if (power < (otherPower - 1)) {
                 // Mark for turn on check.
-                this.panda$turnOn.add(pos);
+                this.panda$enqueue(this.panda$turnOn, this.panda$turnOnQueued, pos);
             }
             // Should have powered the neighbor? Probably was powered by it and is in turn off phase.
-            if (power > otherPower && !this.panda$turnOff.contains(pos)) {
+            if (power > otherPower) {
                 // Mark for turn off check.
-                this.panda$turnOff.add(pos);
+                this.panda$enqueue(this.panda$turnOff, this.panda$turnOffQueued, pos);
             }
         }
     }
@@ -327,7 +371,7 @@ private int getSurroundingWirePower(final World worldIn, final BlockPos pos) {
      * @param pos Position of the wire
      * @param set Set to add the update positions too
      */
-    private void addBlocksNeedingUpdate(final World worldIn, final BlockPos pos, final Set<BlockPos> set) {
+    private void addBlocksNeedingUpdate(final World worldIn, final BlockPos pos, final LongSet set) {
         final List<EnumFacing> connectedSides = this.getSidesToPower(worldIn, pos);
         // Add the blocks next to the wire first (closest first order)
         for (final EnumFacing facing : facings) {
@@ -337,7 +381,7 @@ private void addBlocksNeedingUpdate(final World worldIn, final BlockPos pos, fin
             if (connectedSides.contains(facing.getOpposite()) || facing == EnumFacing.DOWN
                     || (facing.getAxis().isHorizontal() && canConnectToBlock(worldIn.getBlockState(offsetPos), facing, worldIn, pos))) {
                 if (this.canBlockBePoweredFromSide(worldIn.getBlockState(offsetPos), facing, true))
-                    set.add(offsetPos);
+                    set.add(offsetPos.toLong());
             }
         }
         // Later add blocks around the surrounding blocks that get powered
@@ -347,7 +391,7 @@ private void addBlocksNeedingUpdate(final World worldIn, final BlockPos pos, fin
                 if (worldIn.getBlockState(offsetPos).isNormalCube()) {
                     for (final EnumFacing facing1 : facings) {
                         if (this.canBlockBePoweredFromSide(worldIn.getBlockState(offsetPos.offset(facing1)), facing1, false))
-                            set.add(offsetPos.offset(facing1));
+                            set.add(offsetPos.offset(facing1).toLong());
                     }
                 }
             }
@@ -424,12 +468,13 @@ private List<EnumFacing> getSidesToPower(final World worldIn, final BlockPos pos
      * Adds all surrounding positions to a set.
      * This is the neighbor blocks, as well as their neighbors 
      * 
-     * @param pos
-     * @param set
+     * @param pos The position, as {@link BlockPos#toLong()}
+     * @param set Set to add the positions to
      */
-    private void addAllSurroundingBlocks(final BlockPos pos, final Set<BlockPos> set) {
+    private void addAllSurroundingBlocks(final long pos, final LongSet set) {
+        final BlockPos center = BlockPos.fromLong(pos);
         for (final Vec3i vect : surroundingBlocksOffset) {
-            set.add(pos.add(vect));
+            set.add(this.panda$scratchPos.setPos(center.getX() + vect.getX(), center.getY() + vect.getY(), center.getZ() + vect.getZ()).toLong());
         }
     }
 
@@ -446,7 +491,7 @@ private void addAllSurroundingBlocks(final BlockPos pos, final Set<BlockPos> set
     private void setWireState(final World worldIn, final BlockPos pos, IBlockState state, final int power) {
         state = state.withProperty(BlockRedstoneWire.POWER, power);
         worldIn.setBlockState(pos, state, 2);
-        this.panda$updatedRedstoneWire.add(pos);
+        this.panda$updatedRedstoneWire.add(pos.toLong());
     }
 
     /**
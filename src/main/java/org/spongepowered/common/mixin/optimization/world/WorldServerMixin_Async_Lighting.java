@@ -24,8 +24,11 @@
  */
 package org.spongepowered.common.mixin.optimization.world;
 
+import co.aikar.timings.Timing;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
@@ -35,25 +38,44 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge_AsyncLighting;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge_AsyncLighting;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.bridge.util.math.BlockPosBridge;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
+import org.spongepowered.common.util.ConcurrentShortBitSet;
+import org.spongepowered.common.config.category.AsyncLightingCategory;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.LightUpdateBatch;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.annotation.Nullable;
 
 @Mixin(value = WorldServer.class)
 public abstract class WorldServerMixin_Async_Lighting extends WorldMixin implements WorldServerBridge_AsyncLighting {
 
+    // Sections further away than this are all treated as equally distant
+    private static final int asyncLightingImpl$MAX_PRIORITY_DISTANCE = 32;
+    // Each lighting thread uses its own propagation queue, the one of the world is only safe to use on the main thread
+    private static final ThreadLocal<int[]> asyncLightingImpl$LIGHT_UPDATE_BLOCK_LIST = ThreadLocal.withInitial(() -> new int[32768]);
+
+    private final AsyncLightingCategory asyncLightingImpl$config = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory();
     private ExecutorService asyncLightingImpl$lightExecutorService =
-                Executors.newFixedThreadPool(SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+                Executors.newFixedThreadPool(this.asyncLightingImpl$config.getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+    private final PriorityBlockingQueue<LightUpdateBatch> asyncLightingImpl$batchQueue = new PriorityBlockingQueue<>();
+    private final LongAdder asyncLightingImpl$queuedLightUpdates = new LongAdder();
+    private final LongAdder asyncLightingImpl$processedLightUpdates = new LongAdder();
+    private final LongAdder asyncLightingImpl$droppedLightUpdates = new LongAdder();
+    private final LongAdder asyncLightingImpl$processedLightBatches = new LongAdder();
+    private final LongAdder asyncLightingImpl$lightBatchLatency = new LongAdder();
 
     @Override
     public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
@@ -68,6 +90,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             return false;
         } else {
             final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) currentChunk;
+            final int[] lightUpdateBlockList = asyncLightingImpl$LIGHT_UPDATE_BLOCK_LIST.get(); // Sponge - use the queue of the current thread
             int i = 0;
             int j = 0;
             //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
@@ -78,12 +101,12 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             final int k1 = pos.getZ();
 
             if (l > k) {
-                this.lightUpdateBlockList[j++] = 133152;
+                lightUpdateBlockList[j++] = 133152;
             } else if (l < k) {
-                this.lightUpdateBlockList[j++] = 133152 | k << 18;
+                lightUpdateBlockList[j++] = 133152 | k << 18;
 
                 while (i < j) {
-                    final int l1 = this.lightUpdateBlockList[i++];
+                    final int l1 = lightUpdateBlockList[i++];
                     final int i2 = (l1 & 63) - 32 + i1;
                     final int j2 = (l1 >> 6 & 63) - 32 + j1;
                     final int k2 = (l1 >> 12 & 63) - 32 + k1;
@@ -116,8 +139,8 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                                     i3 = this.asyncLightingImpl$getLightForAsync(lightType, blockpos$pooledmutableblockpos, currentChunk, neighbors);
                                     // Sponge end
 
-                                    if (i3 == l2 - l4 && j < this.lightUpdateBlockList.length) {
-                                        this.lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
+                                    if (i3 == l2 - l4 && j < lightUpdateBlockList.length) {
+                                        lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
                                     }
                                 }
 
@@ -134,7 +157,7 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             //this.theProfiler.startSection("checkedPosition < toCheckCount"); // Sponge - don't use profiler off of main thread
 
             while (i < j) {
-                final int i5 = this.lightUpdateBlockList[i++];
+                final int i5 = lightUpdateBlockList[i++];
                 final int j5 = (i5 & 63) - 32 + i1;
                 final int k5 = (i5 >> 6 & 63) - 32 + j1;
                 final int l5 = (i5 >> 12 & 63) - 32 + k1;
@@ -149,32 +172,32 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                         final int k6 = Math.abs(j5 - i1);
                         final int l6 = Math.abs(k5 - j1);
                         final int i7 = Math.abs(l5 - k1);
-                        final boolean flag = j < this.lightUpdateBlockList.length - 6;
+                        final boolean flag = j < lightUpdateBlockList.length - 6;
 
                         if (k6 + l6 + i7 < 17 && flag) {
                             // Sponge start - use thread safe method asyncLightingImpl$getLightForAsync
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.west(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.east(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.down(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.up(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.north(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
                             }
 
                             if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.south(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
                             }
                             // Sponge end
                         }
@@ -183,13 +206,8 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             }
 
             // Sponge start - Asynchronous light updates
-            spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).remove((Short) this.asyncLightingImpl$blockPosToShort(pos));
-            spongeChunk.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
-                neighbor.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            }
-
+            spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).remove(this.asyncLightingImpl$blockPosToShort(pos));
+            this.asyncLightingImpl$processedLightUpdates.increment();
             // Sponge end
             //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
             return true;
@@ -208,18 +226,105 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
 
         final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) currentChunk;
         if (currentChunk == null || currentChunk.unloadQueued || !spongeChunk.bridge$areNeighborsLoaded()) {
+            this.asyncLightingImpl$droppedLightUpdates.increment();
             return false;
         }
 
-        final short shortPos = this.asyncLightingImpl$blockPosToShort(pos);
-        if (spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).contains(shortPos)) {
+        // Sponge - An update for this position is already queued
+        if (!spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).add(this.asyncLightingImpl$blockPosToShort(pos))) {
+            this.asyncLightingImpl$droppedLightUpdates.increment();
             return false;
         }
 
-        final Chunk chunk = currentChunk;
-        spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).add(shortPos);
+        this.asyncLightingImpl$queuedLightUpdates.increment();
+
+        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            final List<Chunk> neighbors = this.asyncLightingImpl$acquireChunks(currentChunk);
+            try {
+                this.asyncLightingBridge$checkLightAsync(lightType, pos, currentChunk, neighbors);
+            } finally {
+                this.asyncLightingImpl$releaseChunks(currentChunk, neighbors);
+            }
+            return true;
+        }
+
+        // Sponge - Collect the check in the batch of its chunk section, only an idle batch has to be scheduled
+        final LightUpdateBatch batch = spongeChunk.asyncLightingBridge$getLightUpdateBatch(MathHelper.clamp(pos.getY() >> 4, 0, 15));
+        if (batch.add(lightType, pos)) {
+            try (final Timing timing = ((WorldServerBridge) this).bridge$getTimingsHandler().lightUpdateScheduling.startTiming()) {
+                final long now = System.nanoTime();
+                batch.schedule(this.asyncLightingImpl$acquireChunks(currentChunk), now, this.asyncLightingImpl$getBatchPriority(batch, now));
+                this.asyncLightingImpl$batchQueue.add(batch);
+                this.asyncLightingImpl$lightExecutorService.execute(this::asyncLightingImpl$processNextBatch);
+            }
+        } else {
+            spongeChunk.asyncLightingBridge$setLightUpdateTime(currentChunk.getWorld().getTotalWorldTime());
+        }
+
+        return true;
+    }
+
+    /**
+     * Processes the pending batch with the highest priority. One task is
+     * submitted for every scheduled batch, but the batch processed by a task
+     * is not necessarily the one it was submitted for.
+     */
+    private void asyncLightingImpl$processNextBatch() {
+        final LightUpdateBatch batch = this.asyncLightingImpl$batchQueue.poll();
+        if (batch == null) {
+            return;
+        }
+        final LightUpdateBatch.Pending pending = batch.drain();
+        final Chunk chunk = batch.getChunk();
+        try {
+            this.asyncLightingImpl$checkLightAsync(EnumSkyBlock.SKY, pending.skyUpdates, chunk, pending.neighbors);
+            this.asyncLightingImpl$checkLightAsync(EnumSkyBlock.BLOCK, pending.blockUpdates, chunk, pending.neighbors);
+        } finally {
+            this.asyncLightingImpl$releaseChunks(chunk, pending.neighbors);
+            this.asyncLightingImpl$processedLightBatches.increment();
+            this.asyncLightingImpl$lightBatchLatency.add(System.nanoTime() - pending.scheduledTime);
+        }
+    }
+
+    private void asyncLightingImpl$checkLightAsync(final EnumSkyBlock lightType, final LongArrayList positions, final Chunk chunk, final List<Chunk> neighbors) {
+        for (int i = 0; i < positions.size(); i++) {
+            this.asyncLightingBridge$checkLightAsync(lightType, BlockPos.fromLong(positions.getLong(i)), chunk, neighbors);
+        }
+    }
+
+    /**
+     * Computes the priority of a batch, which is the time it was scheduled
+     * at delayed by the distance of its section to the closest player. This
+     * keeps far away sections from starving while near ones are updated first.
+     */
+    private long asyncLightingImpl$getBatchPriority(final LightUpdateBatch batch, final long now) {
+        if (!this.asyncLightingImpl$config.prioritizeNearPlayers() || this.playerEntities.isEmpty()) {
+            return now;
+        }
+        final Chunk chunk = batch.getChunk();
+        final double x = (chunk.x << 4) + 8;
+        final double y = (batch.getSectionY() << 4) + 8;
+        final double z = (chunk.z << 4) + 8;
+        double closest = Double.MAX_VALUE;
+        for (final EntityPlayer player : this.playerEntities) {
+            closest = Math.min(closest, player.getDistanceSq(x, y, z));
+        }
+        final long distance = Math.min((long) Math.sqrt(closest) >> 4, asyncLightingImpl$MAX_PRIORITY_DISTANCE);
+        return now + distance * TimeUnit.MILLISECONDS.toNanos(this.asyncLightingImpl$config.getDistanceDelay());
+    }
+
+    /**
+     * Marks the chunk and all the chunks surrounding it as having pending
+     * light updates, which keeps them from being unloaded.
+     *
+     * @param chunk The chunk
+     * @return The surrounding chunks, including diagonals
+     */
+    private List<Chunk> asyncLightingImpl$acquireChunks(final Chunk chunk) {
+        final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) chunk;
+        final long time = chunk.getWorld().getTotalWorldTime();
         spongeChunk.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
-        spongeChunk.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+        spongeChunk.asyncLightingBridge$setLightUpdateTime(time);
 
         final List<Chunk> neighbors = spongeChunk.bridge$getNeighbors();
 
@@ -250,19 +355,17 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
         for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
             final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
             neighbor.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
-            neighbor.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+            neighbor.asyncLightingBridge$setLightUpdateTime(time);
         }
+        return neighbors;
+    }
 
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.asyncLightingImpl$lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.asyncLightingImpl$lightExecutorService.execute(() -> {
-                this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
+    private void asyncLightingImpl$releaseChunks(final Chunk chunk, final List<Chunk> neighbors) {
+        ((ChunkBridge_AsyncLighting) chunk).asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+        for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+            final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
+            neighbor.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
         }
-
-        return true;
     }
 
     @Override
@@ -270,6 +373,40 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
         return this.asyncLightingImpl$lightExecutorService;
     }
 
+    @Override
+    public long asyncLightingBridge$getQueuedLightUpdates() {
+        return this.asyncLightingImpl$queuedLightUpdates.sum();
+    }
+
+    @Override
+    public long asyncLightingBridge$getProcessedLightUpdates() {
+        return this.asyncLightingImpl$processedLightUpdates.sum();
+    }
+
+    @Override
+    public long asyncLightingBridge$getDroppedLightUpdates() {
+        return this.asyncLightingImpl$droppedLightUpdates.sum();
+    }
+
+    @Override
+    public int asyncLightingBridge$getPendingLightBatches() {
+        return this.asyncLightingImpl$batchQueue.size();
+    }
+
+    @Override
+    public long asyncLightingBridge$getProcessedLightBatches() {
+        return this.asyncLightingImpl$processedLightBatches.sum();
+    }
+
+    @Override
+    public double asyncLightingBridge$getMeanLightBatchLatency() {
+        final long batches = this.asyncLightingImpl$processedLightBatches.sum();
+        if (batches == 0) {
+            return 0;
+        }
+        return this.asyncLightingImpl$lightBatchLatency.sum() / (double) batches / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
     // Thread safe methods to retrieve a chunk during async light updates
     // Each method avoids calling getLoadedChunk and instead accesses the passed neighbor chunk list to avoid concurrency issues
     private Chunk asyncLightingImpl$getLightChunk(final BlockPos pos, final Chunk currentChunk, final List<Chunk> neighbors) {
@@ -367,23 +504,17 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
         }
     }
 
-    private short asyncLightingImpl$blockPosToShort(final BlockPos pos) {
-        short serialized = (short) asyncLightingImpl$setNibble(0, pos.getX() & Constants.Chunk.XZ_MASK, 0, Constants.Chunk.NUM_XZ_BITS);
-        serialized = (short) asyncLightingImpl$setNibble(serialized, pos.getY() & Constants.Chunk.Y_SHORT_MASK, 1, Constants.Chunk.NUM_SHORT_Y_BITS);
-        serialized = (short) asyncLightingImpl$setNibble(serialized, pos.getZ() & Constants.Chunk.XZ_MASK, 3, Constants.Chunk.NUM_XZ_BITS);
-        return serialized;
-    }
-
     /**
-     * Modifies bits in an integer.
+     * Packs the chunk local position with the y coordinate in the highest
+     * bits, so that queued positions of a single chunk section are kept
+     * together in the {@link ConcurrentShortBitSet}.
      *
-     * @param num Integer to modify
-     * @param data Bits of data to add
-     * @param which Index of nibble to start at
-     * @param bitsToReplace The number of bits to replace starting from nibble index
-     * @return The modified integer
+     * @param pos The block position
+     * @return The packed position
      */
-    private int asyncLightingImpl$setNibble(final int num, final int data, final int which, final int bitsToReplace) {
-        return (num & ~(bitsToReplace << (which * 4)) | (data << (which * 4)));
+    private short asyncLightingImpl$blockPosToShort(final BlockPos pos) {
+        return (short) ((pos.getY() & Constants.Chunk.Y_SHORT_MASK) << 8
+                        | (pos.getZ() & Constants.Chunk.XZ_MASK) << 4
+                        | pos.getX() & Constants.Chunk.XZ_MASK);
     }
 }
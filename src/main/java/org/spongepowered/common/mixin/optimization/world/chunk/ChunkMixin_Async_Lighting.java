@@ -46,12 +46,12 @@
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge_AsyncLighting;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
+import org.spongepowered.common.util.ConcurrentShortBitSet;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.LightUpdateBatch;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -63,9 +63,11 @@
 public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLighting {
 
     // Keeps track of block positions in this chunk currently queued for sky light update
-    private Set<Short> asyncLighting$queuedSkyLightingUpdates = ConcurrentHashMap.newKeySet();
+    private final ConcurrentShortBitSet asyncLighting$queuedSkyLightingUpdates = new ConcurrentShortBitSet();
     // Keeps track of block positions in this chunk currently queued for block light update
-    private Set<Short> asyncLighting$queuedBlockLightingUpdates = ConcurrentHashMap.newKeySet();
+    private final ConcurrentShortBitSet asyncLighting$queuedBlockLightingUpdates = new ConcurrentShortBitSet();
+    // Pending light checks per chunk section, only created and accessed from the main thread
+    @Nullable private LightUpdateBatch[] asyncLighting$lightUpdateBatches;
     private AtomicInteger asyncLighting$pendingLightUpdates = new AtomicInteger();
     private long asyncLighting$lightUpdateTime;
     private ExecutorService asyncLighting$lightExecutorService;
@@ -702,16 +704,29 @@ else if (flag && k == 0 && !this.asyncLighting$checkWorldLight(blockpos$mutableb
     }
 
     /**
-     * Gets the list of block positions currently queued for lighting updates.
+     * Gets the set of block positions currently queued for lighting updates.
      *
      * @param type The light type
-     * @return The list of queued block positions, empty if none
+     * @return The set of queued block positions
      */
     @Override
-    public Set<Short> asyncLightingBridge$getQueuedLightingUpdates(final EnumSkyBlock type) {
+    public ConcurrentShortBitSet asyncLightingBridge$getQueuedLightingUpdates(final EnumSkyBlock type) {
         if (type == EnumSkyBlock.SKY) {
             return this.asyncLighting$queuedSkyLightingUpdates;
         }
         return this.asyncLighting$queuedBlockLightingUpdates;
     }
+
+    @Override
+    public LightUpdateBatch asyncLightingBridge$getLightUpdateBatch(final int sectionY) {
+        if (this.asyncLighting$lightUpdateBatches == null) {
+            this.asyncLighting$lightUpdateBatches = new LightUpdateBatch[16];
+        }
+        LightUpdateBatch batch = this.asyncLighting$lightUpdateBatches[sectionY];
+        if (batch == null) {
+            batch = new LightUpdateBatch((Chunk) (Object) this, sectionY);
+            this.asyncLighting$lightUpdateBatches[sectionY] = batch;
+        }
+        return batch;
+    }
 }
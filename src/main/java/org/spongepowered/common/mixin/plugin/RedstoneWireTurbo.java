@@ -26,9 +26,9 @@
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.HashMap;
+import java.util.Arrays;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockRedstoneWire;
 import net.minecraft.block.state.IBlockState;
@@ -152,43 +152,35 @@ public RedstoneWireTurbo(BlockRedstoneWire wire) {
      * Note that this ordering is only used to create the initial list of neighbors.  Once
      * the direction of signal flow is identified, the ordering of updates is completely 
      * reorganized.
+     *
+     * The neighbors are kept as offsets rather than BlockPos objects so that looking up
+     * an already known neighbor in the node cache does not allocate anything.  A BlockPos
+     * is only created when a position is reached for the first time.
     */
-    public static BlockPos[] computeAllNeighbors(final BlockPos pos) {
-        final int x = pos.getX();
-        final int y = pos.getY();
-        final int z = pos.getZ();
-        final BlockPos[] n = new BlockPos[24];
-
+    private static final int[][] neighbor_offsets = {
         // Immediate neighbors, in the same order as 
         // World.notifyNeighborsOfStateChange, etc.:
         // west, east, down, up, north, south
-        n[ 0] = new BlockPos(x-1, y  , z  ); 
-        n[ 1] = new BlockPos(x+1, y  , z  ); 
-        n[ 2] = new BlockPos(x  , y-1, z  ); 
-        n[ 3] = new BlockPos(x  , y+1, z  ); 
-        n[ 4] = new BlockPos(x  , y  , z-1); 
-        n[ 5] = new BlockPos(x  , y  , z+1); 
-    
+        {-1,  0,  0}, { 1,  0,  0}, { 0, -1,  0}, { 0,  1,  0}, { 0,  0, -1}, { 0,  0,  1},
+
         // Neighbors of neighbors, in the same order,
         // except that duplicates are not included
-        n[ 6] = new BlockPos(x-2, y  , z  );  
-        n[ 7] = new BlockPos(x-1, y-1, z  );
-        n[ 8] = new BlockPos(x-1, y+1, z  );
-        n[ 9] = new BlockPos(x-1, y  , z-1);
-        n[10] = new BlockPos(x-1, y  , z+1);
-        n[11] = new BlockPos(x+2, y  , z  );
-        n[12] = new BlockPos(x+1, y-1, z  );
-        n[13] = new BlockPos(x+1, y+1, z  );
-        n[14] = new BlockPos(x+1, y  , z-1);
-        n[15] = new BlockPos(x+1, y  , z+1);
-        n[16] = new BlockPos(x  , y-2, z  );
-        n[17] = new BlockPos(x  , y-1, z-1);
-        n[18] = new BlockPos(x  , y-1, z+1);
-        n[19] = new BlockPos(x  , y+2, z  );
-        n[20] = new BlockPos(x  , y+1, z-1);
-        n[21] = new BlockPos(x  , y+1, z+1);
-        n[22] = new BlockPos(x  , y  , z-2);
-        n[23] = new BlockPos(x  , y  , z+2);
+        {-2,  0,  0}, {-1, -1,  0}, {-1,  1,  0}, {-1,  0, -1}, {-1,  0,  1},
+        { 2,  0,  0}, { 1, -1,  0}, { 1,  1,  0}, { 1,  0, -1}, { 1,  0,  1},
+        { 0, -2,  0}, { 0, -1, -1}, { 0, -1,  1},
+        { 0,  2,  0}, { 0,  1, -1}, { 0,  1,  1},
+        { 0,  0, -2}, { 0,  0,  2}
+    };
+
+    public static BlockPos[] computeAllNeighbors(final BlockPos pos) {
+        final int x = pos.getX();
+        final int y = pos.getY();
+        final int z = pos.getZ();
+        final BlockPos[] n = new BlockPos[24];
+        for (int i=0; i<24; i++) {
+            final int[] offset = neighbor_offsets[i];
+            n[i] = new BlockPos(x + offset[0], y + offset[1], z + offset[2]);
+        }
         return n;
     }
 
@@ -296,21 +288,85 @@ public static enum Type {
         }
         
         IBlockState currentState;       // Keep track of redstone wire value
-        UpdateNode[] neighbor_nodes;    // References to neighbors (directed graph edges)
+        final UpdateNode[] neighbor_nodes = new UpdateNode[24]; // References to neighbors (directed graph edges)
+        boolean expanded;               // Whether neighbor_nodes has been populated by findNeighbors
         BlockPos self;                  // UpdateNode's own position
         BlockPos parent;                // Which block pos spawned/updated this node
         Type type = Type.UNKNOWN;       // unknown, redstone wire, other type of block
         int layer;                      // Highest layer this node is scheduled in
         boolean visited;                // To keep track of information flow direction, visited restone wire is marked
         int xbias, zbias;               // Remembers directionality of ancestor nodes; helps eliminate directional ambiguities.
+
+        /*
+         * Return this node to the state of a freshly constructed one so that it
+         * can be handed out again by the node pool.
+         */
+        void reset() {
+            this.currentState = null;
+            Arrays.fill(this.neighbor_nodes, null);
+            this.expanded = false;
+            this.self = null;
+            this.parent = null;
+            this.type = Type.UNKNOWN;
+            this.layer = 0;
+            this.visited = false;
+            this.xbias = 0;
+            this.zbias = 0;
+        }
     }
     
     
     /*
      * Keep track of all block positions discovered during search and their current states.
-     * We want to remember one entry for each position.
+     * We want to remember one entry for each position.  Positions are keyed by
+     * BlockPos.toLong() so that lookups neither hash BlockPos objects nor require one
+     * to exist for the position being looked up.
+     */
+    private final Long2ObjectOpenHashMap<UpdateNode> nodeCache = new Long2ObjectOpenHashMap<>();
+
+    /*
+     * A search through a large contraption can touch thousands of positions, and the
+     * same contraption is typically updated over and over again.  Rather than creating
+     * a new UpdateNode (and its neighbor array) for every position on every walk, nodes
+     * are returned to this pool once a walk completes and handed out again by the next.
+     * The pool is capped so that a single huge walk doesn't pin memory forever.
      */
-    private final Map<BlockPos, UpdateNode> nodeCache = new HashMap<>();
+    private static final int max_pooled_nodes = 4096;
+    private final List<UpdateNode> nodePool = new ArrayList<>();
+
+    // Scratch position used to compute node cache keys of neighbors without allocating
+    private final BlockPos.MutableBlockPos scratchPos = new BlockPos.MutableBlockPos();
+
+    // Scratch arrays holding neighbors in cardinal ordering while a node is expanded,
+    // one per level of findNeighbors reentrancy (see scheduleReentrantNeighborChanged).
+    private UpdateNode[][] neighborScratch = new UpdateNode[4][];
+    private int neighborScratchDepth = 0;
+
+    /*
+     * Fetch a node for the given position from the pool, or create one if the pool
+     * is empty, and register it in the node cache.
+     */
+    private UpdateNode obtainNode(final long key, final BlockPos self) {
+        final int pooled = this.nodePool.size();
+        final UpdateNode node = pooled > 0 ? this.nodePool.remove(pooled - 1) : new UpdateNode();
+        node.self = self;
+        this.nodeCache.put(key, node);
+        return node;
+    }
+
+    /*
+     * Clear the node cache at the end of a walk, returning its nodes to the pool.
+     */
+    private void releaseNodes() {
+        for (final UpdateNode node : this.nodeCache.values()) {
+            if (this.nodePool.size() >= max_pooled_nodes) {
+                break;
+            }
+            node.reset();
+            this.nodePool.add(node);
+        }
+        this.nodeCache.clear();
+    }
 
 
     /*
@@ -486,27 +542,35 @@ private void updateNode(final World worldIn, final UpdateNode upd1, final int la
      */
     private void findNeighbors(final World worldIn, final UpdateNode upd1) {
         final BlockPos pos = upd1.self;
+        final int x = pos.getX();
+        final int y = pos.getY();
+        final int z = pos.getZ();
 
-        // Get the list of neighbor coordinates
-        final BlockPos[] neighbors = computeAllNeighbors(pos);
-
-        // Temporary array of neighbors in cardinal ordering
-        final UpdateNode[] neighbor_nodes = new UpdateNode[24];
+        // Temporary array of neighbors in cardinal ordering.  identifyNode may
+        // cause a reentrant expansion of another node, so each level gets its own.
+        if (this.neighborScratchDepth == this.neighborScratch.length) {
+            this.neighborScratch = Arrays.copyOf(this.neighborScratch, this.neighborScratchDepth * 2);
+        }
+        UpdateNode[] neighbor_nodes = this.neighborScratch[this.neighborScratchDepth];
+        if (neighbor_nodes == null) {
+            neighbor_nodes = new UpdateNode[24];
+            this.neighborScratch[this.neighborScratchDepth] = neighbor_nodes;
+        }
+        this.neighborScratchDepth++;
 
         // Target array of neighbors sorted left-to-right
-        upd1.neighbor_nodes = new UpdateNode[24];
+        upd1.expanded = true;
 
         for (int i=0; i<24; i++) {
             // Look up each neighbor in the node cache
-            final BlockPos pos2 = neighbors[i];
-            UpdateNode upd2 = this.nodeCache.get(pos2);
+            final int[] offset = neighbor_offsets[i];
+            final long key2 = this.scratchPos.setPos(x + offset[0], y + offset[1], z + offset[2]).toLong();
+            UpdateNode upd2 = this.nodeCache.get(key2);
             if (upd2 == null) {
                 // If this is a previously unreached position, create
                 // a new update node, add it to the cache, and identify what it is.
-                upd2 = new UpdateNode();
-                upd2.self = pos2;
+                upd2 = obtainNode(key2, this.scratchPos.toImmutable());
                 upd2.parent = pos;
-                this.nodeCache.put(pos2, upd2);
                 identifyNode(worldIn, upd2);
             }
 
@@ -517,8 +581,11 @@ private void findNeighbors(final World worldIn, final UpdateNode upd1) {
             // cross-talk, those neighboring positions are not included.
             if (update_redstone[i] || upd2.type != UpdateNode.Type.REDSTONE) {
                 neighbor_nodes[i] = upd2;
+            } else {
+                neighbor_nodes[i] = null;
             }
         }
+        this.neighborScratchDepth--;
 
         // Determine the directions from which the redstone signal may have come from.  This
         // checks for redstone wire at the same Y level and also Y+1 and Y-1, relative to the
@@ -576,7 +643,7 @@ private void findNeighbors(final World worldIn, final UpdateNode upd1) {
      * in layers N+1 and N+2;
      */
     private void propagateChanges(final World worldIn, final UpdateNode upd1, final int layer) {
-        if (upd1.neighbor_nodes == null) {
+        if (!upd1.expanded) {
             // If this node has not been expanded yet, find its neigbors
             findNeighbors(worldIn, upd1);
         }
@@ -728,33 +795,31 @@ private IBlockState scheduleReentrantNeighborChanged(final World worldIn, final
         if (source != null) {
             // If the cause of the redstone wire update is known, we can use that to help determine
             // direction of information flow.
-            UpdateNode src = this.nodeCache.get(source);
+            final long sourceKey = source.toLong();
+            UpdateNode src = this.nodeCache.get(sourceKey);
             if (src == null) {
-                src = new UpdateNode();
-                src.self = source;
+                src = obtainNode(sourceKey, source);
                 src.parent = source;
                 src.visited = true;
                 identifyNode(worldIn, src);
-                this.nodeCache.put(source, src);
             }
         }
 
         // Find or generate a node for the redstone block position receiving the update
-        UpdateNode upd = this.nodeCache.get(pos);
+        final long key = pos.toLong();
+        UpdateNode upd = this.nodeCache.get(key);
         if (upd == null) {
-            upd = new UpdateNode();
-            upd.self = pos;
+            upd = obtainNode(key, pos);
             upd.parent = pos;
             upd.visited = true;
             identifyNode(worldIn, upd);
-            this.nodeCache.put(pos, upd);
         }
         upd.currentState = newState;
 
         // Receiving this block update may mean something in the world changed.
         // Therefore we clear the cached block info about all neighbors of
         // the position receiving the update and then re-identify what they are.
-        if (upd.neighbor_nodes != null) {
+        if (upd.expanded) {
             for (int i=0; i<24; i++) {
                 final UpdateNode upd2 = upd.neighbor_nodes[i];
                 if (upd2 == null) continue;
@@ -809,24 +874,20 @@ public IBlockState updateSurroundingRedstone(final World worldIn, final BlockPos
         // If the source of the block update to the redstone wire at 'pos' is known, we can use
         // that to help determine the direction of information flow.
         if (source != null) {
-            final UpdateNode src = new UpdateNode();
-            src.self = source;
+            final UpdateNode src = obtainNode(source.toLong(), source);
             src.parent = source;
             src.visited = true;
-            this.nodeCache.put(source, src);
             identifyNode(worldIn, src);
         }
 
         // Create a node representing the block at 'pos', and then propagate updates
         // to its neighbors.  As stated above, the call to wire.calculateCurrentChanges
         // already performs the update to the block at 'pos', so it is not added to the schedule.
-        final UpdateNode upd = new UpdateNode();
-        upd.self = pos;
+        final UpdateNode upd = obtainNode(pos.toLong(), pos);
         upd.parent = source!=null ? source : pos;
         upd.currentState = newState;
         upd.type = UpdateNode.Type.REDSTONE;
         upd.visited = true;
-        this.nodeCache.put(pos, upd);
         propagateChanges(worldIn, upd, 0);
     
         // Perform the walk over all directly reachable redstone wire blocks, propagating wire value 
@@ -836,8 +897,8 @@ public IBlockState updateSurroundingRedstone(final World worldIn, final BlockPos
         // With the whole search completed, clear the list of all known blocks.
         // We do not want to keep around state information that may be changed by other code.
         // In theory, we could cache the neighbor block positions, but that is a separate
-        // optimization.
-        this.nodeCache.clear();
+        // optimization.  The nodes themselves are kept around for reuse by the next walk.
+        releaseNodes();
 
         return newState;
     }
@@ -877,7 +938,7 @@ private IBlockState calculateCurrentChanges(final World worldIn, final UpdateNod
         // following loop can affect the power level of the wire.  Therefore, the loop is 
         // skipped if k is already 15. 
         if (k<15) {
-            if (upd.neighbor_nodes == null) {
+            if (!upd.expanded) {
                 // If this node's neighbors are not known, expand the node
                 findNeighbors(worldIn, upd);
             }
@@ -0,0 +1,74 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+/**
+ * Counts how many entities or tile entities of a world were active, inactive
+ * or kept active by an immunity during the last tick.
+ */
+public final class ActivationMetrics {
+
+    private int active;
+    private int inactive;
+    private int immune;
+    private int lastActive;
+    private int lastInactive;
+    private int lastImmune;
+
+    /**
+     * Starts a new tick, the counts of the previous tick become available
+     * through the getters.
+     */
+    public void tick() {
+        this.lastActive = this.active;
+        this.lastInactive = this.inactive;
+        this.lastImmune = this.immune;
+        this.active = 0;
+        this.inactive = 0;
+        this.immune = 0;
+    }
+
+    public void record(final boolean active, final boolean immune) {
+        if (!active) {
+            this.inactive++;
+        } else if (immune) {
+            this.immune++;
+        } else {
+            this.active++;
+        }
+    }
+
+    public int getActive() {
+        return this.lastActive;
+    }
+
+    public int getInactive() {
+        return this.lastInactive;
+    }
+
+    public int getImmune() {
+        return this.lastImmune;
+    }
+}
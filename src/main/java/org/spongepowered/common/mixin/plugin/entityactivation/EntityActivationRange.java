@@ -28,6 +28,8 @@
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -51,6 +53,7 @@
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -64,6 +67,7 @@
 import org.spongepowered.common.bridge.entity.EntityBridge;
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
+import org.spongepowered.common.bridge.world.WorldServerBridge_Activation;
 import org.spongepowered.common.bridge.world.chunk.ActiveChunkReferantBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
@@ -78,6 +82,9 @@
 import org.spongepowered.common.mixin.entityactivation.util.math.AxisAlignedBBAccessor_EntityActivation;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 
 public class EntityActivationRange {
@@ -98,6 +105,8 @@ public class EntityActivationRange {
     static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
+    // The largest of the maxActivationRanges, kept up to date when entity types are added to the config
+    static int maxActivationRange = 0;
 
     /**
      * Initializes an entities type on construction to specify what group this
@@ -218,6 +227,11 @@ public static void growBb(final AxisAlignedBB target, final AxisAlignedBB source
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>Each chunk in range of at least one player is visited once, with
+     * the players in range of it sorted by their distance to the chunk, so
+     * that clustered players don't cause the same entities to be checked
+     * again for every player.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(final World world) {
@@ -225,17 +239,11 @@ public static void activateEntities(final World world) {
             return;
         }
 
+        final int maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxActivationRange);
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final Long2ObjectMap<List<EntityPlayer>> playersByChunk = new Long2ObjectOpenHashMap<>();
         for (final EntityPlayer player : world.playerEntities) {
-
-            int maxRange = 0;
-            for (final Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
-            }
-
-            maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
-            ((ActivationCapability) player).activation$setActivatedTick(SpongeImpl.getServer().getTickCounter());
+            ((ActivationCapability) player).activation$setActivatedTick(currentTick);
             growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
 
             final int i = MathHelper.floor(maxBB.minX / 16.0D);
@@ -245,29 +253,50 @@ public static void activateEntities(final World world) {
 
             for (int i1 = i; i1 <= j; ++i1) {
                 for (int j1 = k; j1 <= l; ++j1) {
-                    final WorldServer worldserver = (WorldServer) world;
-                    final Chunk chunk = ((ChunkProviderBridge) worldserver.getChunkProvider()).bridge$getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
+                    final long chunkKey = ChunkPos.asLong(i1, j1);
+                    List<EntityPlayer> players = playersByChunk.get(chunkKey);
+                    if (players == null) {
+                        players = new ArrayList<>(2);
+                        playersByChunk.put(chunkKey, players);
                     }
+                    players.add(player);
                 }
             }
         }
+
+        final ChunkProviderBridge chunkProvider = (ChunkProviderBridge) ((WorldServer) world).getChunkProvider();
+        for (final Long2ObjectMap.Entry<List<EntityPlayer>> entry : playersByChunk.long2ObjectEntrySet()) {
+            final long chunkKey = entry.getLongKey();
+            final int chunkX = (int) chunkKey;
+            final int chunkZ = (int) (chunkKey >> 32);
+            final Chunk chunk = chunkProvider.bridge$getLoadedChunkWithoutMarkingActive(chunkX, chunkZ);
+            if (chunk == null) {
+                continue;
+            }
+            final List<EntityPlayer> players = entry.getValue();
+            if (players.size() > 1) {
+                final double centerX = (chunkX << 4) + 8;
+                final double centerZ = (chunkZ << 4) + 8;
+                players.sort(Comparator.comparingDouble(player -> player.getDistanceSq(centerX, player.posY, centerZ)));
+            }
+            activateChunkEntities(players, chunk, currentTick);
+        }
     }
 
     /**
      * Checks for the activation state of all entities in this chunk.
      *
+     * @param players The players in range of the chunk, nearest first
      * @param chunk Chunk to check for activation
+     * @param currentTick The current tick
      */
-    private static void activateChunkEntities(final EntityPlayer player, final Chunk chunk) {
+    private static void activateChunkEntities(final List<EntityPlayer> players, final Chunk chunk, final long currentTick) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (final Object o : chunk.getEntityLists()[i]) {
                 final Entity entity = (Entity) o;
                 final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
                 final ActivationCapability spongeEntity = (ActivationCapability) entity;
-                final long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (!((EntityBridge) entity).bridge$shouldTick()) {
                     continue;
                 }
@@ -290,45 +319,25 @@ private static void activateChunkEntities(final EntityPlayer player, final Chunk
                     // check for entity type overrides
                     final byte activationType = spongeEntity.activation$getActivationType();
                     final int bbActivationRange = spongeEntity.activation$getActivationRange();
-
+                    final AxisAlignedBB activationBB;
                     if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+                        activationBB = miscBB;
                     } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+                        activationBB = ambientBB;
                     } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+                        activationBB = aquaticBB;
                     } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+                        activationBB = creatureBB;
                     } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+                        activationBB = monsterBB;
                     }
 
-                    switch (spongeEntity.activation$getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
+                    for (int j = 0; j < players.size(); j++) {
+                        growBb(activationBB, players.get(j).getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+                        if (activationBB.intersects(entity.getEntityBoundingBox())) {
+                            spongeEntity.activation$setActivatedTick(currentTick);
                             break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
+                        }
                     }
                 }
             }
@@ -411,6 +420,7 @@ public static boolean checkIfActive(final Entity entity) {
         final long currentTick = SpongeImpl.getServer().getTickCounter();
         final ActivationCapability spongeEntity = (ActivationCapability) entity;
         boolean isActive = spongeEntity.activation$getActivatedTick() >= currentTick || spongeEntity.activation$getDefaultActivationState();
+        boolean isImmune = false;
 
         // Should this entity tick?
         if (!isActive) {
@@ -419,18 +429,23 @@ public static boolean checkIfActive(final Entity entity) {
                 if (checkEntityImmunities(entity)) {
                     // Triggered some sort of immunity, give 20 full ticks before we check again.
                     spongeEntity.activation$setActivatedTick(currentTick + 20);
+                    isImmune = true;
                 }
                 isActive = true;
             }
             // Add a little performance juice to active entities. Skip 1/4 if not immune.
-        } else if (!spongeEntity.activation$getDefaultActivationState() && entity.ticksExisted % 4 == 0 && !checkEntityImmunities(entity)) {
-            isActive = false;
+        } else if (!spongeEntity.activation$getDefaultActivationState() && entity.ticksExisted % 4 == 0) {
+            isImmune = checkEntityImmunities(entity);
+            isActive = isImmune;
         }
 
         if (isActive && !activeChunk.bridge$areNeighborsLoaded()) {
             isActive = false;
         }
 
+        if (entity.world instanceof WorldServerBridge_Activation) {
+            ((WorldServerBridge_Activation) entity.world).activationBridge$getEntityActivationMetrics().record(isActive, isImmune);
+        }
         return isActive;
     }
 
@@ -486,6 +501,9 @@ public static void addEntityToConfig(final World world, final SpongeEntityType t
         } else if (activationRange > maxRange) {
             maxActivationRanges.put(activationType, activationRange);
         }
+        if (activationRange > maxActivationRange) {
+            maxActivationRange = activationRange;
+        }
 
         if (autoPopulate && requiresSave) {
             globalConfigAdapter.save();
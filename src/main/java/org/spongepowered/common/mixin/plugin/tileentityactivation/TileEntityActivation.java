@@ -24,13 +24,14 @@
  */
 package org.spongepowered.common.mixin.plugin.tileentityactivation;
 
-import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -38,6 +39,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.tileentity.TileEntityBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
+import org.spongepowered.common.bridge.world.WorldServerBridge_TileEntityActivation;
 import org.spongepowered.common.bridge.world.chunk.ActiveChunkReferantBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.config.SpongeConfig;
@@ -49,8 +51,10 @@
 import org.spongepowered.common.mixin.core.server.management.PlayerChunkMapAccessor;
 import org.spongepowered.common.mixin.core.server.management.PlayerChunkMapEntryAccessor;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
-import org.spongepowered.common.util.VecHelper;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 
 public class TileEntityActivation {
@@ -126,19 +130,33 @@ public static void initializeTileEntityActivationState(final TileEntity tileEnti
     * Find what tileentities are in range of the players in the world and set
     * active if in range.
     *
+    * <p>Every watched chunk is visited once, checking its players nearest
+    * first so that most tileentities are activated by the first check.</p>
+    *
     * @param world The world to perform activation checks in
     */
     public static void activateTileEntities(final WorldServer world) {
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final List<EntityPlayer> players = new ArrayList<>();
         for (final PlayerChunkMapEntry playerChunkMapEntry : ((PlayerChunkMapAccessor) playerChunkMap).accessor$getEntries()) {
-            for (final EntityPlayer player : ((PlayerChunkMapEntryAccessor) playerChunkMapEntry).accessor$getPlayers()) {
-                final Chunk chunk = ((PlayerChunkMapEntryAccessor) playerChunkMapEntry).accessor$getChunk();
-                if (chunk == null || chunk.unloadQueued || ((ChunkBridge) chunk).bridge$isPersistedChunk()) {
-                    continue;
-                }
+            final List<EntityPlayerMP> watchers = ((PlayerChunkMapEntryAccessor) playerChunkMapEntry).accessor$getPlayers();
+            if (watchers.isEmpty()) {
+                continue;
+            }
+            final Chunk chunk = ((PlayerChunkMapEntryAccessor) playerChunkMapEntry).accessor$getChunk();
+            if (chunk == null || chunk.unloadQueued || ((ChunkBridge) chunk).bridge$isPersistedChunk()) {
+                continue;
+            }
 
-                activateChunkTileEntities(player, chunk);
+            players.clear();
+            players.addAll(watchers);
+            if (players.size() > 1) {
+                final double centerX = (chunk.x << 4) + 8;
+                final double centerZ = (chunk.z << 4) + 8;
+                players.sort(Comparator.comparingDouble(player -> player.getDistanceSq(centerX, player.posY, centerZ)));
             }
+            activateChunkTileEntities(players, chunk, currentTick);
         }
     }
 
@@ -146,11 +164,11 @@ public static void activateTileEntities(final WorldServer world) {
     /**
      * Checks for the activation state of all tileentities in this chunk.
      *
+     * @param players The players watching the chunk, nearest first
      * @param chunk Chunk to check for activation
+     * @param currentTick The current tick
      */
-    private static void activateChunkTileEntities(final EntityPlayer player, final Chunk chunk) {
-        final Vector3i playerPos = VecHelper.toVector3i(player.getPosition());
-        final long currentTick = SpongeImpl.getServer().getTickCounter();
+    private static void activateChunkTileEntities(final List<EntityPlayer> players, final Chunk chunk, final long currentTick) {
         for (final Map.Entry<BlockPos, TileEntity> mapEntry : chunk.getTileEntityMap().entrySet()) {
             final TileEntity tileEntity = mapEntry.getValue();
             final ActivationCapability spongeTileEntity = (ActivationCapability) tileEntity;
@@ -163,10 +181,9 @@ private static void activateChunkTileEntities(final EntityPlayer player, final C
                 continue;
             }
 
-            final Vector3i tilePos = VecHelper.toVector3i(tileEntity.getPos());
-            if (currentTick > ((ActivationCapability) tileEntity).activation$getActivatedTick()) {
+            if (currentTick > spongeTileEntity.activation$getActivatedTick()) {
                 if (spongeTileEntity.activation$getDefaultActivationState()) {
-                    ((ActivationCapability) tileEntity).activation$setActivatedTick(currentTick);
+                    spongeTileEntity.activation$setActivatedTick(currentTick);
                     continue;
                 }
 
@@ -176,10 +193,18 @@ private static void activateChunkTileEntities(final EntityPlayer player, final C
                     spongeTileEntity.activation$requiresActivationCacheRefresh(false);
                 }
 
-                final int bbActivationRange = ((ActivationCapability) tileEntity).activation$getActivationRange();
-                final int blockDistance = Math.round(tilePos.distance(playerPos));
-                if (blockDistance <= bbActivationRange) {
-                    ((ActivationCapability) tileEntity).activation$setActivatedTick(currentTick);
+                final int bbActivationRange = spongeTileEntity.activation$getActivationRange();
+                final BlockPos tilePos = tileEntity.getPos();
+                for (int i = 0; i < players.size(); i++) {
+                    final EntityPlayer player = players.get(i);
+                    final int dx = tilePos.getX() - MathHelper.floor(player.posX);
+                    final int dy = tilePos.getY() - MathHelper.floor(player.posY + 0.5D);
+                    final int dz = tilePos.getZ() - MathHelper.floor(player.posZ);
+                    final int blockDistance = Math.round((float) Math.sqrt(dx * dx + dy * dy + dz * dz));
+                    if (blockDistance <= bbActivationRange) {
+                        spongeTileEntity.activation$setActivatedTick(currentTick);
+                        break;
+                    }
                 }
             }
         }
@@ -215,6 +240,9 @@ public static boolean checkIfActive(final TileEntity tileEntity) {
         if (!isActive) {
             if (spongeTileEntity.activation$getActivatedTick() == Integer.MIN_VALUE) {
                 // Has not come across a player
+                if (world instanceof WorldServerBridge_TileEntityActivation) {
+                    ((WorldServerBridge_TileEntityActivation) world).tileActivationBridge$getTileEntityActivationMetrics().record(false, false);
+                }
                 return false;
             }
         }
@@ -224,6 +252,9 @@ public static boolean checkIfActive(final TileEntity tileEntity) {
             isActive = false;
         }
 
+        if (world instanceof WorldServerBridge_TileEntityActivation) {
+            ((WorldServerBridge_TileEntityActivation) world).tileActivationBridge$getTileEntityActivationMetrics().record(isActive, false);
+        }
         return isActive;
     }
 
@@ -27,15 +27,25 @@
 import net.minecraft.world.WorldServer;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.bridge.world.WorldServerBridge_TileEntityActivation;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
+import org.spongepowered.common.mixin.plugin.entityactivation.ActivationMetrics;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
 
 @Mixin(WorldServer.class)
-public abstract class WorldServerMixin_TileEntityActivation extends WorldMixin {
+public abstract class WorldServerMixin_TileEntityActivation extends WorldMixin implements WorldServerBridge_TileEntityActivation {
+
+    private final ActivationMetrics tileActivation$metrics = new ActivationMetrics();
 
     @Override
     protected void impl$tileActivationStart(final CallbackInfo callbackInfo) {
+        this.tileActivation$metrics.tick();
         TileEntityActivation.activateTileEntities((WorldServer) (Object) this);
     }
 
+    @Override
+    public ActivationMetrics tileActivationBridge$getTileEntityActivationMetrics() {
+        return this.tileActivation$metrics;
+    }
+
 }
@@ -76,6 +76,9 @@ public class WorldTimingsHandler {
     // Chunk population
     public final Timing chunkPopulate;
 
+    // Async lighting
+    public final Timing lightUpdateScheduling;
+
     public WorldTimingsHandler(World world) {
         String name = world.getWorldInfo().getWorldName() + " - ";
 
@@ -120,5 +123,7 @@ public WorldTimingsHandler(World world) {
         this.causeTrackerEntityItemTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - EntityItemCaptures");
 
         this.chunkPopulate = SpongeTimingsFactory.ofSafe(name + "chunkPopulate");
+
+        this.lightUpdateScheduling = SpongeTimingsFactory.ofSafe(name + "asyncLighting - Scheduling");
     }
 }
@@ -0,0 +1,251 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The execution engine of asynchronous tasks.
+ *
+ * <p>Tasks are run on a bounded work stealing pool or, if configured and
+ * supported by the JVM, on virtual threads. The amount of tasks a single
+ * plugin may run at the same time can be limited, tasks over that limit are
+ * queued per plugin until a running task of that plugin completes.</p>
+ */
+public final class AsyncTaskPool implements Executor {
+
+    private final ExecutorService executor;
+    private final int pluginConcurrencyLimit;
+    private final boolean virtualThreads;
+    private final ConcurrentMap<String, PluginTasks> pluginTasks = new ConcurrentHashMap<>();
+    // Tasks that are not owned by a plugin, see SpongeScheduler#submitAsyncTask
+    private final PluginTasks internalTasks = new PluginTasks(SpongeImpl.ECOSYSTEM_ID);
+
+    AsyncTaskPool(SchedulerCategory config) {
+        this.pluginConcurrencyLimit = config.getPluginConcurrencyLimit();
+        ExecutorService executor = null;
+        if (config.useVirtualThreads()) {
+            executor = createVirtualThreadExecutor();
+        }
+        this.virtualThreads = executor != null;
+        if (executor == null) {
+            executor = new ForkJoinPool(config.getAsyncThreads(), WorkerThread::new, null, true);
+        }
+        this.executor = executor;
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            SpongeImpl.getLogger().warn("Virtual threads are enabled in the scheduler config, but are not supported by this JVM. "
+                    + "Falling back to the async thread pool.");
+        } catch (ReflectiveOperationException e) {
+            SpongeImpl.getLogger().error("Could not create the virtual thread executor, falling back to the async thread pool.", e);
+        }
+        return null;
+    }
+
+    /**
+     * Runs the runnable of the task, counted against the concurrency limit
+     * of the plugin that owns the task.
+     *
+     * @param task The task
+     * @param runnable The runnable that executes the task
+     */
+    void execute(ScheduledTask task, Runnable runnable) {
+        final PluginContainer owner = task.getOwner();
+        this.pluginTasks.computeIfAbsent(owner.getId(), PluginTasks::new).submit(runnable);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        this.internalTasks.submit(command);
+    }
+
+    public boolean usesVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    /**
+     * Gets the amount of tasks that were handed to the underlying executor
+     * but were not yet picked up by a thread. This is always zero when
+     * running on virtual threads.
+     *
+     * @return The amount of queued tasks
+     */
+    public long getExecutorQueueDepth() {
+        if (this.executor instanceof ForkJoinPool) {
+            final ForkJoinPool pool = (ForkJoinPool) this.executor;
+            return pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount();
+        }
+        return 0L;
+    }
+
+    /**
+     * Gets the amount of threads that are currently running tasks. This is
+     * only tracked for the async thread pool and is always zero when running
+     * on virtual threads.
+     *
+     * @return The amount of active threads
+     */
+    public int getActiveThreadCount() {
+        if (this.executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) this.executor).getActiveThreadCount();
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the task metrics of all plugins that ran asynchronous tasks.
+     *
+     * @return The task metrics of each plugin
+     */
+    public Collection<PluginTasks> getPluginTasks() {
+        return ImmutableList.<PluginTasks>builder()
+                .addAll(this.pluginTasks.values())
+                .add(this.internalTasks)
+                .build();
+    }
+
+    /**
+     * The asynchronous tasks of a single plugin, queued over the concurrency
+     * limit and the metrics of their execution.
+     */
+    public final class PluginTasks {
+
+        private final String pluginId;
+        // Guarded by this
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAdder totalRunNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        PluginTasks(String pluginId) {
+            this.pluginId = pluginId;
+        }
+
+        void submit(Runnable runnable) {
+            final long submitted = System.nanoTime();
+            final Runnable measured = () -> this.run(runnable, submitted);
+            synchronized (this) {
+                final int limit = AsyncTaskPool.this.pluginConcurrencyLimit;
+                if (limit > 0 && this.running >= limit) {
+                    this.waiting.add(measured);
+                    return;
+                }
+                this.running++;
+            }
+            AsyncTaskPool.this.executor.execute(measured);
+        }
+
+        private void run(Runnable runnable, long submitted) {
+            final long started = System.nanoTime();
+            final long wait = started - submitted;
+            this.totalWaitNanos.add(wait);
+            this.maxWaitNanos.accumulateAndGet(wait, Math::max);
+            try {
+                runnable.run();
+            } finally {
+                this.totalRunNanos.add(System.nanoTime() - started);
+                this.completed.increment();
+                final Runnable next;
+                synchronized (this) {
+                    next = this.waiting.poll();
+                    if (next == null) {
+                        this.running--;
+                    }
+                }
+                if (next != null) {
+                    AsyncTaskPool.this.executor.execute(next);
+                }
+            }
+        }
+
+        public String getPluginId() {
+            return this.pluginId;
+        }
+
+        public synchronized int getRunning() {
+            return this.running;
+        }
+
+        public synchronized int getQueued() {
+            return this.waiting.size();
+        }
+
+        public long getCompleted() {
+            return this.completed.sum();
+        }
+
+        public double getAverageWaitMillis() {
+            final long completed = this.completed.sum();
+            return completed == 0 ? 0 : this.totalWaitNanos.sum() / 1.0e6d / completed;
+        }
+
+        public double getMaxWaitMillis() {
+            return this.maxWaitNanos.get() / 1.0e6d;
+        }
+
+        public double getAverageRunMillis() {
+            final long completed = this.completed.sum();
+            return completed == 0 ? 0 : this.totalRunNanos.sum() / 1.0e6d / completed;
+        }
+    }
+
+    private static final class WorkerThread extends ForkJoinWorkerThread {
+
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        WorkerThread(ForkJoinPool pool) {
+            super(pool);
+            this.setName("Sponge Async Scheduler Worker #" + COUNTER.incrementAndGet());
+            // Plugin tasks used to run on threads spawned by the server, keep
+            // the class loader they would see.
+            this.setContextClassLoader(AsyncTaskPool.class.getClassLoader());
+        }
+    }
+
+}
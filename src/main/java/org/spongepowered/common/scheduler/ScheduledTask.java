@@ -32,6 +32,7 @@
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.scheduler.Task;
 
+import java.util.Comparator;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
@@ -41,6 +42,13 @@
  */
 public class ScheduledTask implements Task {
 
+    /**
+     * Orders tasks by their {@link #getDueTimestamp() due timestamp}, the
+     * difference is compared so that wrapping {@link System#nanoTime()}
+     * values still order correctly.
+     */
+    static final Comparator<ScheduledTask> DUE_ORDER = (first, second) -> Long.signum(first.dueTimestamp - second.dueTimestamp);
+
     final long offset; //nanoseconds or ticks
     final long period; //nanoseconds or ticks
     final boolean delayIsTicks;
@@ -48,6 +56,7 @@ public class ScheduledTask implements Task {
     private final PluginContainer owner;
     private final Consumer<Task> consumer;
     private long timestamp;
+    private long dueTimestamp;
 
     // As this state is going to be read by multiple threads
     // potentially very quickly, marking this a volatile will
@@ -186,6 +195,21 @@ void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Returns the timestamp at which the task was queued to be processed by
+     * its scheduler. Unlike {@link #nextExecutionTimestamp()} this value does
+     * not change with the state of the task while it is queued.
+     *
+     * @return The due timestamp
+     */
+    long getDueTimestamp() {
+        return this.dueTimestamp;
+    }
+
+    void setDueTimestamp(long dueTimestamp) {
+        this.dueTimestamp = dueTimestamp;
+    }
+
     ScheduledTaskState getState() {
         return this.state;
     }
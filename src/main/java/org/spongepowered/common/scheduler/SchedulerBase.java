@@ -37,15 +37,26 @@
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.annotation.Nullable;
 
 abstract class SchedulerBase {
 
-    // The simple queue of all pending (and running) ScheduledTasks
+    // All pending (and running) ScheduledTasks, by their unique id
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Tasks that were added or rescheduled since the last tick, these may be
+    // offered from any thread and are sorted into the queues below by the
+    // thread that ticks this scheduler.
+    private final Queue<ScheduledTask> pendingTasks = new ConcurrentLinkedQueue<>();
+    // Tasks whose next execution is measured in ticks
+    private final TaskTimingWheel tickQueue = new TaskTimingWheel(0L);
+    // Tasks whose next execution is measured in nanoseconds
+    private final PriorityQueue<ScheduledTask> deadlineQueue = new PriorityQueue<>(ScheduledTask.DUE_ORDER);
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -72,6 +83,28 @@ protected long getTimestamp(ScheduledTask task) {
         return System.nanoTime();
     }
 
+    /**
+     * Gets whether the next execution of the task is measured in ticks, in
+     * which case {@link #getTimestamp(ScheduledTask)} returns the current tick
+     * for the task.
+     *
+     * @param task The task
+     * @return True if the task is scheduled by ticks
+     */
+    protected boolean isTickBased(ScheduledTask task) {
+        return false;
+    }
+
+    /**
+     * Gets the current tick of this scheduler, used to poll the tasks that
+     * are {@link #isTickBased(ScheduledTask) scheduled by ticks}.
+     *
+     * @return The current tick
+     */
+    protected long getCurrentTick() {
+        return 0L;
+    }
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
      * next call to {@link #runTick}.
@@ -81,6 +114,7 @@ protected long getTimestamp(ScheduledTask task) {
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
         this.taskMap.put(task.getUniqueId(), task);
+        this.pendingTasks.add(task);
     }
 
     /**
@@ -93,23 +127,78 @@ protected void removeTask(ScheduledTask task) {
     }
 
     protected Optional<Task> getTask(UUID id) {
-        return Optional.<Task>ofNullable(this.taskMap.get(id));
+        final ScheduledTask task = this.taskMap.get(id);
+        if (task == null || task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            return Optional.empty();
+        }
+        return Optional.of(task);
     }
 
     protected Set<Task> getScheduledTasks() {
-        synchronized (this.taskMap) {
-            return Sets.<Task>newHashSet(this.taskMap.values());
+        final Set<Task> tasks = Sets.newHashSet();
+        for (ScheduledTask task : this.taskMap.values()) {
+            // Cancelled tasks are only removed once they become due
+            if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+                tasks.add(task);
+            }
         }
+        return tasks;
     }
 
     /**
-     * Process all tasks in the map.
+     * Gets the amount of nanoseconds until the next task that is not
+     * {@link #isTickBased(ScheduledTask) scheduled by ticks} becomes due.
+     * Must only be called from the thread that ticks this scheduler.
+     *
+     * @param now The current {@link System#nanoTime()}
+     * @return The nanoseconds until the next task is due, zero if a task is
+     *     already due or {@link Long#MAX_VALUE} if there are no tasks
+     */
+    protected final long getNanosUntilNextTask(long now) {
+        if (!this.pendingTasks.isEmpty()) {
+            return 0L;
+        }
+        final ScheduledTask next = this.deadlineQueue.peek();
+        if (next == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(next.getDueTimestamp() - now, 0L);
+    }
+
+    /**
+     * Sorts all pending tasks into the queue matching the timestamp of
+     * their next execution.
+     */
+    private void queuePendingTasks() {
+        ScheduledTask task;
+        while ((task = this.pendingTasks.poll()) != null) {
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                this.removeTask(task);
+                continue;
+            }
+            task.setDueTimestamp(task.nextExecutionTimestamp());
+            if (this.isTickBased(task)) {
+                this.tickQueue.schedule(task);
+            } else {
+                this.deadlineQueue.add(task);
+            }
+        }
+    }
+
+    /**
+     * Process all tasks that are due.
      */
     protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            this.queuePendingTasks();
+            this.tickQueue.advance(this.getCurrentTick(), this::processTask);
+            final long now = System.nanoTime();
+            ScheduledTask task;
+            while ((task = this.deadlineQueue.peek()) != null && task.getDueTimestamp() - now <= 0) {
+                this.processTask(this.deadlineQueue.poll());
+            }
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -137,7 +226,7 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Processes the task, which has become due.
      *
      * @param task The task to process
      */
@@ -148,34 +237,16 @@ protected void processTask(ScheduledTask task) {
             this.removeTask(task);
             return;
         }
-        // If the task is already being processed, we wait for the previous
-        // occurrence to terminate.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING) {
-            return;
-        }
-        long threshold = Long.MAX_VALUE;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (period) of the repeating task parameter.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.period;
-        }
-        // This moment is 'now'
-        long now = this.getTimestamp(task);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
         // Repeating tasks get a reset-timestamp each time they are set RUNNING
-        // If the task has a period of 0 (zero) this task will not repeat, and
-        // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
-            task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
-            if (task.period == 0L) {
-                this.removeTask(task);
-            }
+        // and are queued again once their execution completes. If the task has
+        // a period of 0 (zero) this task will not repeat, and is removed after
+        // we start it.
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        startTask(task);
+        // If task is one time shot, remove it from the map.
+        if (task.period == 0L) {
+            this.removeTask(task);
         }
     }
 
@@ -201,6 +272,13 @@ protected void startTask(final ScheduledTask task) {
                 }
             } finally {
                 task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+                if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                    this.removeTask(task);
+                } else if (task.period > 0L) {
+                    // Wait for the next period, measured from when this
+                    // execution started.
+                    this.pendingTasks.add(task);
+                }
                 onTaskCompletion(task);
             }
         });
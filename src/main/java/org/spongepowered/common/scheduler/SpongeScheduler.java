@@ -198,6 +198,16 @@ public void tickSyncScheduler() {
         }
     }
 
+    /**
+     * Gets the executor that runs asynchronous tasks, which exposes the
+     * metrics of asynchronous task execution.
+     *
+     * @return The async task executor
+     */
+    public AsyncTaskPool getAsyncExecutor() {
+        return this.asyncScheduler.getExecutor();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
         return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
     }
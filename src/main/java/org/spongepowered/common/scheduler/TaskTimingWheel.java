@@ -0,0 +1,103 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * A two level timing wheel for tasks whose due time is measured in ticks.
+ *
+ * <p>Tasks due within the next {@link #WHEEL_SIZE} ticks are placed directly
+ * into the slot of their due tick, tasks further in the future are kept in an
+ * overflow heap and cascaded into the wheel once their due tick comes within
+ * range. Advancing the wheel by one tick only touches the tasks that are due
+ * on that tick.</p>
+ *
+ * <p>This class is not thread safe, it is only accessed from the thread that
+ * ticks the owning scheduler.</p>
+ */
+final class TaskTimingWheel {
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final ArrayDeque<ScheduledTask>[] slots;
+    private final PriorityQueue<ScheduledTask> overflow = new PriorityQueue<>(ScheduledTask.DUE_ORDER);
+    // The last tick that has been processed by this wheel
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TaskTimingWheel(long currentTick) {
+        this.slots = new ArrayDeque[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.slots[i] = new ArrayDeque<>();
+        }
+        this.currentTick = currentTick;
+    }
+
+    /**
+     * Schedules the task to be polled once the wheel reaches the
+     * {@link ScheduledTask#getDueTimestamp() due tick} of the task. Tasks
+     * that are already overdue will be polled on the next tick.
+     *
+     * @param task The task to schedule
+     */
+    void schedule(ScheduledTask task) {
+        final long dueTick = Math.max(task.getDueTimestamp(), this.currentTick + 1);
+        if (dueTick - this.currentTick <= WHEEL_SIZE) {
+            this.slots[(int) (dueTick & WHEEL_MASK)].add(task);
+        } else {
+            this.overflow.add(task);
+        }
+    }
+
+    /**
+     * Advances the wheel up to and including the given tick, passing every
+     * task that became due to the consumer.
+     *
+     * @param tick The tick to advance to
+     * @param consumer The consumer of due tasks
+     */
+    void advance(long tick, Consumer<ScheduledTask> consumer) {
+        while (this.currentTick < tick) {
+            this.currentTick++;
+            final ArrayDeque<ScheduledTask> slot = this.slots[(int) (this.currentTick & WHEEL_MASK)];
+            ScheduledTask task;
+            while ((task = slot.poll()) != null) {
+                consumer.accept(task);
+            }
+            // The slot that was just emptied now represents the tick at the far
+            // end of the wheel, pull in anything from the overflow that fits.
+            while ((task = this.overflow.peek()) != null && task.getDueTimestamp() - this.currentTick <= WHEEL_SIZE) {
+                this.overflow.poll();
+                this.slots[(int) (task.getDueTimestamp() & WHEEL_MASK)].add(task);
+            }
+        }
+    }
+
+}
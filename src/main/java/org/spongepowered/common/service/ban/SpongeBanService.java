@@ -38,7 +38,7 @@
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.api.util.ban.BanTypes;
 import org.spongepowered.common.SpongeImpl;
-import org.spongepowered.common.mixin.core.server.management.UserListAccessor;
+import org.spongepowered.common.util.IpSet;
 import org.spongepowered.common.util.UserListUtils;
 
 import java.net.InetAddress;
@@ -59,85 +59,67 @@
  */
 public class SpongeBanService implements BanService {
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public Collection<Ban> getBans() {
-        final Collection<? extends Ban> bans = this.getProfileBans();
-        bans.addAll((Collection) this.getIpBans());
+        final Collection<Ban> bans = new ArrayList<>(this.getProfileBans());
+        bans.addAll(this.getIpBans());
 
-        return (Collection<Ban>) bans;
+        return bans;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban.Profile> getProfileBans() {
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry> accessor =
-            (UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry>) this.getUserBanList();
-        accessor.accessor$removeExpired();
-        return new ArrayList<>((Collection<Ban.Profile>) (Object) accessor.accessor$getValues().values());
+        return (Collection<Ban.Profile>) (Object) UserListUtils.getStore(this.getUserBanList()).getValues();
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban.Ip> getIpBans() {
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry> accessor = ((UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry>) this.getIPBanList());
-        accessor.accessor$removeExpired();
-        return new ArrayList<>((Collection<Ban.Ip>) (Object) accessor.accessor$getValues().values());
+        return (Collection<Ban.Ip>) (Object) UserListUtils.getStore(this.getIPBanList()).getValues();
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<Ban.Profile> getBanFor(final GameProfile profile) {
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry> accessor =
-            (UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry>) this.getUserBanList();
-        accessor.accessor$removeExpired();
-        return Optional.ofNullable((Ban.Profile) accessor.accessor$getValues().get(accessor.accessor$getObjectKey((com.mojang.authlib.GameProfile) profile)));
+        return Optional.ofNullable((Ban.Profile) UserListUtils.getStore(this.getUserBanList()).get((com.mojang.authlib.GameProfile) profile));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<Ban.Ip> getBanFor(final InetAddress address) {
-        final UserListAccessor<String, UserListIPBansEntry> accessor = ((UserListAccessor<String, UserListIPBansEntry>) this.getIPBanList());
-
-        accessor.accessor$removeExpired();
-        return Optional.ofNullable((Ban.Ip) accessor.accessor$getValues().get(accessor.accessor$getObjectKey(((UserListIPBans) accessor).addressToString(new InetSocketAddress(address, 0)))));
+        final String addressString = this.addressToString(address);
+        final UserListIPBansEntry ban = UserListUtils.getStore(this.getIPBanList()).get(addressString);
+        if (ban != null) {
+            return Optional.of((Ban.Ip) ban);
+        }
+        // Addresses within a banned range have no entry of their own, so create one
+        // for the kick message. It can not be pardoned, only the range can be removed.
+        final IpSet range = SpongeImpl.getGlobalConfigAdapter().getConfig().getBannedIpRange(address);
+        if (range != null) {
+            return Optional.of((Ban.Ip) new UserListIPBansEntry(addressString, null, "Server", null, "Banned IP range " + range));
+        }
+        return Optional.empty();
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean isBanned(final GameProfile profile) {
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry> accessor =
-            (UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry>) this.getUserBanList();
-
-        accessor.accessor$removeExpired();
-        return accessor.accessor$getValues().containsKey(accessor.accessor$getObjectKey((com.mojang.authlib.GameProfile) profile));
+        return UserListUtils.getStore(this.getUserBanList()).contains((com.mojang.authlib.GameProfile) profile);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean isBanned(final InetAddress address) {
-        final UserListAccessor<String, UserListIPBansEntry> accessor = ((UserListAccessor<String, UserListIPBansEntry>) this.getIPBanList());
-
-        accessor.accessor$removeExpired();
-        return accessor.accessor$getValues().containsKey(accessor.accessor$getObjectKey(((UserListIPBans) accessor).addressToString(new InetSocketAddress(address, 0))));
+        return UserListUtils.getStore(this.getIPBanList()).contains(this.addressToString(address))
+            || SpongeImpl.getGlobalConfigAdapter().getConfig().getBannedIpRange(address) != null;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean pardon(final GameProfile profile) {
         final Optional<Ban.Profile> ban = getBanFor(profile);
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry> accessor =
-            (UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry>) this.getUserBanList();
-        accessor.accessor$removeExpired();
         return ban.isPresent() && removeBan(ban.get());
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean pardon(final InetAddress address) {
         final Optional<Ban.Ip> ban = getBanFor(address);
-        final UserListAccessor<String, UserListIPBansEntry> accessor = ((UserListAccessor<String, UserListIPBansEntry>) this.getIPBanList());
-        accessor.accessor$removeExpired();
         return ban.isPresent() && removeBan(ban.get());
     }
 
@@ -174,7 +156,7 @@ public Optional<? extends Ban> addBan(final Ban ban) {
 
             UserListUtils.addEntry(this.getUserBanList(), (UserListEntry<?>) ban);
         } else if (ban.getType().equals(BanTypes.IP)) {
-            prevBan = this.getBanFor(((Ban.Ip) ban).getAddress());
+            prevBan = Optional.ofNullable((Ban.Ip) UserListUtils.getStore(this.getIPBanList()).get(this.addressToString(((Ban.Ip) ban).getAddress())));
 
             Sponge.getEventManager().post(SpongeEventFactory.createBanIpEvent(Sponge.getCauseStackManager().getCurrentCause(), (Ban.Ip) ban));
 
@@ -190,11 +172,16 @@ public boolean hasBan(final Ban ban) {
         if (ban.getType().equals(BanTypes.PROFILE)) {
             return this.isBanned(((Ban.Profile) ban).getProfile());
         } else if (ban.getType().equals(BanTypes.IP)) {
-            return this.isBanned(((Ban.Ip) ban).getAddress());
+            // Only bans of single addresses are stored
+            return UserListUtils.getStore(this.getIPBanList()).contains(this.addressToString(((Ban.Ip) ban).getAddress()));
         }
         throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
     }
 
+    private String addressToString(final InetAddress address) {
+        return this.getIPBanList().addressToString(new InetSocketAddress(address, 0));
+    }
+
     private UserListBans getUserBanList() {
         return SpongeImpl.getServer().getPlayerList().getBannedPlayers();
     }
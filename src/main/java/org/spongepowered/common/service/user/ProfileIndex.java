@@ -0,0 +1,244 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.mixin.core.world.storage.SaveHandlerAccessor;
+import org.spongepowered.common.world.WorldManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index of all the players that have stored data in the player directory
+ * of the overworld, together with their last known name.
+ *
+ * <p>The index is kept in memory and persisted as an append only journal of
+ * changes, which is compacted when loaded. It is only rebuilt from the player
+ * data files if the journal is missing or unreadable, deleting it forces a
+ * rebuild after player data was changed while the server was stopped.</p>
+ */
+public final class ProfileIndex {
+
+    private static final int MAGIC = 0x53504958; // SPIX
+    private static final int VERSION = 1;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 0;
+    // A name that isn't known is stored as an empty string
+    private static final String NO_NAME = "";
+
+    @Nullable private static ProfileIndex instance;
+
+    private final File playersDirectory;
+    private final Path indexFile;
+    private final Map<UUID, String> profiles = new ConcurrentHashMap<>();
+
+    private ProfileIndex(final File playersDirectory) {
+        this.playersDirectory = playersDirectory;
+        this.indexFile = playersDirectory.toPath().resolveSibling("data").resolve("sponge").resolve("profiles.idx");
+    }
+
+    /**
+     * Records that the player has stored data, with the given name.
+     *
+     * @param uniqueId The unique id of the player
+     * @param name The last known name, if available
+     */
+    public static void add(final UUID uniqueId, @Nullable final String name) {
+        final ProfileIndex index = get();
+        if (index != null) {
+            index.put(uniqueId, name == null ? NO_NAME : name);
+        }
+    }
+
+    /**
+     * Records that the stored data of the player was deleted.
+     *
+     * @param uniqueId The unique id of the player
+     */
+    public static void remove(final UUID uniqueId) {
+        final ProfileIndex index = get();
+        if (index != null) {
+            index.delete(uniqueId);
+        }
+    }
+
+    /**
+     * Gets a view of all the indexed players, mapped to their last known
+     * name, or an empty string if the name isn't known.
+     *
+     * @return The indexed players
+     */
+    static Map<UUID, String> getProfiles() {
+        final ProfileIndex index = get();
+        if (index == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(index.profiles);
+    }
+
+    @Nullable
+    private static synchronized ProfileIndex get() {
+        // This may be called before the overworld is registered, there is no player data to index yet
+        final Optional<WorldServer> worldServer = WorldManager.getWorldByDimensionId(0);
+        if (!worldServer.isPresent()) {
+            return null;
+        }
+        final File playersDirectory = ((SaveHandlerAccessor) worldServer.get().getSaveHandler()).accessor$getPlayersDirectory();
+        if (instance == null || !instance.playersDirectory.equals(playersDirectory)) {
+            instance = new ProfileIndex(playersDirectory);
+            instance.load();
+        }
+        return instance;
+    }
+
+    private synchronized void put(final UUID uniqueId, final String name) {
+        final String previous = this.profiles.put(uniqueId, name);
+        // Player data is saved periodically, only changes end up in the journal
+        if (!name.equals(previous)) {
+            this.append(PUT, uniqueId, name);
+        }
+    }
+
+    private synchronized void delete(final UUID uniqueId) {
+        if (this.profiles.remove(uniqueId) != null) {
+            this.append(REMOVE, uniqueId, null);
+        }
+    }
+
+    private void load() {
+        if (Files.exists(this.indexFile)) {
+            try {
+                final int records = this.read();
+                if (records > this.profiles.size() * 2) {
+                    this.write();
+                }
+                return;
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Unable to read the profile index {}, it will be rebuilt.", this.indexFile, e);
+                this.profiles.clear();
+            }
+        }
+        this.rebuild();
+    }
+
+    private int read() throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown profile index format");
+            }
+            int records = 0;
+            while (true) {
+                final byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    return records;
+                }
+                final UUID uniqueId = new UUID(in.readLong(), in.readLong());
+                if (type == PUT) {
+                    this.profiles.put(uniqueId, in.readUTF());
+                } else {
+                    this.profiles.remove(uniqueId);
+                }
+                records++;
+            }
+        }
+    }
+
+    private void rebuild() {
+        final String[] files = this.playersDirectory.list();
+        if (files != null) {
+            for (final String file : files) {
+                if (!file.endsWith(".dat")) {
+                    continue;
+                }
+                final UUID uniqueId;
+                try {
+                    uniqueId = UUID.fromString(file.substring(0, file.length() - 4));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                final com.mojang.authlib.GameProfile profile = SpongeImpl.getServer().getPlayerProfileCache().getProfileByUUID(uniqueId);
+                this.profiles.put(uniqueId, profile == null || profile.getName() == null ? NO_NAME : profile.getName());
+            }
+        }
+        this.write();
+    }
+
+    private void write() {
+        try {
+            Files.createDirectories(this.indexFile.getParent());
+            final Path tmpFile = this.indexFile.resolveSibling("profiles.idx.tmp");
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                for (final Map.Entry<UUID, String> entry : this.profiles.entrySet()) {
+                    writeRecord(out, PUT, entry.getKey(), entry.getValue());
+                }
+            }
+            Files.move(tmpFile, this.indexFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to write the profile index {}!", this.indexFile, e);
+        }
+    }
+
+    private void append(final byte type, final UUID uniqueId, @Nullable final String name) {
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(this.indexFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)))) {
+            writeRecord(out, type, uniqueId, name);
+        } catch (IOException e) {
+            // The journal is likely gone, write everything again
+            SpongeImpl.getLogger().warn("Failed to append to the profile index {}, it will be rewritten.", this.indexFile, e);
+            this.write();
+        }
+    }
+
+    private static void writeRecord(final DataOutputStream out, final byte type, final UUID uniqueId, @Nullable final String name) throws IOException {
+        out.writeByte(type);
+        out.writeLong(uniqueId.getMostSignificantBits());
+        out.writeLong(uniqueId.getLeastSignificantBits());
+        if (type == PUT) {
+            out.writeUTF(name);
+        }
+    }
+}
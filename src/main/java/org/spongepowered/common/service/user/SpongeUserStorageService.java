@@ -106,7 +106,7 @@ public boolean delete(User user) {
     @Override
     public Collection<GameProfile> match(String lastKnownName) {
         lastKnownName = checkNotNull(lastKnownName, "lastKnownName").toLowerCase(Locale.ROOT);
-        Collection<GameProfile> allProfiles = UserDiscoverer.getAllProfiles();
+        Collection<GameProfile> allProfiles = UserDiscoverer.matchProfiles(lastKnownName);
         Collection<GameProfile> matching = Sets.newHashSet();
         for (GameProfile profile : allProfiles) {
             if (profile.getName().isPresent() && profile.getName().get().startsWith(lastKnownName)) {
@@ -32,12 +32,12 @@
 import net.minecraft.server.management.PlayerList;
 import net.minecraft.server.management.PlayerProfileCache;
 import net.minecraft.server.management.UserListBans;
+import net.minecraft.server.management.UserListBansEntry;
 import net.minecraft.server.management.UserListEntry;
 import net.minecraft.server.management.UserListEntryBan;
 import net.minecraft.server.management.UserListWhitelist;
 import net.minecraft.server.management.UserListWhitelistEntry;
 import net.minecraft.world.WorldServer;
-import net.minecraft.world.storage.SaveHandler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.profile.ProfileNotFoundException;
@@ -61,6 +61,8 @@
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 class UserDiscoverer {
 
     private static final Cache<UUID, User> userCache = CacheBuilder.newBuilder()
@@ -162,60 +164,74 @@ static User findByUsername(final String username) {
         return UserDiscoverer.findByProfile(profile);
     }
 
-    @SuppressWarnings("unchecked")
     static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
+        return collectProfiles(null);
+    }
+
+    /**
+     * Gets all the profiles with a name starting with the given prefix, the
+     * name filter is applied before any profile is created.
+     *
+     * @param prefix The name prefix
+     * @return The matching profiles
+     */
+    static Collection<org.spongepowered.api.profile.GameProfile> matchProfiles(final String prefix) {
+        return collectProfiles(prefix);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<org.spongepowered.api.profile.GameProfile> collectProfiles(@Nullable final String prefix) {
         Preconditions.checkState(Sponge.isServerAvailable(), "Server is not available!");
         final Map<UUID, org.spongepowered.api.profile.GameProfile> profiles = new HashMap<>();
 
         // Add all cached profiles
-        userCache.asMap().values().stream().map(User::getProfile).forEach(p -> profiles.put(p.getUniqueId(), p));
+        userCache.asMap().values().stream()
+                .map(User::getProfile)
+                .filter(p -> matchesName(p.getName().orElse(null), prefix))
+                .forEach(p -> profiles.put(p.getUniqueId(), p));
 
-        // Add all known profiles from the data files
-        final SaveHandler saveHandler = (SaveHandler) WorldManager.getWorldByDimensionId(0).get().getSaveHandler();
-        final String[] uuids = saveHandler.getAvailablePlayerDat();
+        // Add all known profiles from the data files, these are indexed so we don't have to list the player directory
         final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
-        for (final String playerUuid : uuids) {
-
-            // If the filename contains a period, we can fail fast. Vanilla code fixes the Strings that have ".dat" to strip that out
-            // before passing that back in getAvailablePlayerDat. It doesn't remove non ".dat" filenames from the list.
-            if (playerUuid.contains(".")) {
-                continue;
-            }
-
-            // At this point, we have a filename who has no extension. This doesn't mean it is actually a UUID. We trap the exception and ignore
-            // any filenames that fail the UUID check.
-            final UUID uuid;
-            try {
-                uuid = UUID.fromString(playerUuid);
-            } catch (Exception ex) {
+        for (final Map.Entry<UUID, String> entry : ProfileIndex.getProfiles().entrySet()) {
+            final UUID uuid = entry.getKey();
+            final GameProfile cachedProfile = profileCache.getProfileByUUID(uuid);
+            final String name = cachedProfile != null ? cachedProfile.getName() : entry.getValue();
+            if (!matchesName(name, prefix)) {
                 continue;
             }
 
             // it exists, so we make sure to remove the uuid from the map (it may have been added manually in the meantime)
             nonExistentUsers.remove(uuid);
-            final GameProfile profile = profileCache.getProfileByUUID(uuid);
-            if (profile != null) {
-                profiles.put(profile.getId(), (org.spongepowered.api.profile.GameProfile) profile);
+            if (cachedProfile != null) {
+                profiles.put(uuid, (org.spongepowered.api.profile.GameProfile) cachedProfile);
+            } else if (!name.isEmpty()) {
+                // The profile dropped off the Mojang cache, but we still know the last name of the player
+                profiles.put(uuid, (org.spongepowered.api.profile.GameProfile) new GameProfile(uuid, name));
             }
         }
 
-        // Add all whitelisted users
+        // Add all whitelisted and banned users
         // Note: as the equality check in GameProfile requires both the UUID and name to be equal, we have to filter
         // out the game profiles by UUID only in the whitelist and ban list. If we don't, we end up with two GameProfiles
         // with the same UUID but different names, one of which is potentially invalid. For some
         // We assume that the cache is superior to the whitelist/banlist.
         //
         // See https://github.com/SpongePowered/SpongeCommon/issues/1989
-        addToProfiles(((UserListAccessor<GameProfile, UserListWhitelistEntry>) SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers()).accessor$getValues().values(), profiles, profileCache);
-        addToProfiles(((UserListAccessor<GameProfile, UserListWhitelistEntry>) SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers()).accessor$getValues().values(), profiles, profileCache);
+        addToProfiles(((UserListAccessor<GameProfile, UserListWhitelistEntry>) SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers()).accessor$getValues().values(), profiles, profileCache, prefix);
+        addToProfiles(((UserListAccessor<GameProfile, UserListBansEntry>) SpongeImpl.getServer().getPlayerList().getBannedPlayers()).accessor$getValues().values(), profiles, profileCache, prefix);
         return profiles.values();
     }
 
+    private static boolean matchesName(@Nullable final String name, @Nullable final String prefix) {
+        return prefix == null || name != null && name.startsWith(prefix);
+    }
+
     @SuppressWarnings("unchecked")
     private static void addToProfiles(
             final Collection<? extends UserListEntry<GameProfile>> gameProfiles,
             final Map<UUID, org.spongepowered.api.profile.GameProfile> profiles,
-            final PlayerProfileCache profileCache) {
+            final PlayerProfileCache profileCache,
+            @Nullable final String prefix) {
 
         gameProfiles.stream()
                 .filter(x -> !profiles.containsKey(((UserLIstEntryAccessor<GameProfile>) x).accessor$getValue().getId()))
@@ -230,7 +246,9 @@ private static void addToProfiles(
                         profileCache.addEntry(profile);
                     }
 
-                    profiles.put(profile.getId(), (org.spongepowered.api.profile.GameProfile) profile);
+                    if (matchesName(profile.getName(), prefix)) {
+                        profiles.put(profile.getId(), (org.spongepowered.api.profile.GameProfile) profile);
+                    }
                 });
     }
 
@@ -356,7 +374,11 @@ private static boolean deleteStoredPlayerData(final UUID uniqueId) {
         final File dataFile = getPlayerDataFile(uniqueId);
         if (dataFile != null) {
             try {
-                return dataFile.delete();
+                if (dataFile.delete()) {
+                    ProfileIndex.remove(uniqueId);
+                    return true;
+                }
+                return false;
             } catch (SecurityException e) {
                 SpongeImpl.getLogger().warn("Unable to delete file {} due to a security error", dataFile, e);
                 return false;
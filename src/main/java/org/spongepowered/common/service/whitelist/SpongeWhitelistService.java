@@ -52,13 +52,9 @@ public Collection<GameProfile> getWhitelistedProfiles() {
         return profiles;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean isWhitelisted(final GameProfile profile) {
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListWhitelistEntry> whitelist = (UserListAccessor<com.mojang.authlib.GameProfile, UserListWhitelistEntry>) getWhitelist();
-
-        whitelist.accessor$removeExpired();
-        return whitelist.accessor$getValues().containsKey(whitelist.accessor$getObjectKey((com.mojang.authlib.GameProfile) profile));
+        return UserListUtils.getStore(getWhitelist()).contains((com.mojang.authlib.GameProfile) profile);
     }
 
     @Override
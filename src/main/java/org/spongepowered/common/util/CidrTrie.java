@@ -0,0 +1,248 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A compressed binary trie (Patricia trie) mapping {@link IpSet}s to values.
+ *
+ * <p>IPv4 and IPv6 ranges are kept in separate tries. A node is only created
+ * where a range ends or where two ranges branch off, so a lookup visits at
+ * most one node per range containing the address and compares every bit of
+ * the address at most once.</p>
+ *
+ * <p>The trie is not thread safe while it is being built, but can be
+ * queried from any thread once no more values are added.</p>
+ *
+ * @param <V> The value type
+ */
+public final class CidrTrie<V> {
+
+    @Nullable private Node<V> ipv4Root;
+    @Nullable private Node<V> ipv6Root;
+    private int size;
+
+    /**
+     * Adds a value for all addresses in the given set.
+     *
+     * @param set The address range
+     * @param value The value
+     */
+    public void put(final IpSet set, final V value) {
+        checkNotNull(set, "set");
+        checkNotNull(value, "value");
+        final byte[] bits = mask(set.getAddress().getAddress(), set.getPrefixLength());
+        final int length = set.getPrefixLength();
+        if (bits.length == 4) {
+            this.ipv4Root = insert(this.ipv4Root, bits, length, value);
+        } else {
+            this.ipv6Root = insert(this.ipv6Root, bits, length, value);
+        }
+        this.size++;
+    }
+
+    /**
+     * Passes the values of all sets containing the given address to the
+     * consumer, starting with the shortest prefix.
+     *
+     * @param address The address
+     * @param consumer The consumer
+     */
+    public void forEachMatch(final InetAddress address, final Consumer<V> consumer) {
+        final byte[] bits = address.getAddress();
+        Node<V> node = bits.length == 4 ? this.ipv4Root : this.ipv6Root;
+        int checked = 0;
+        while (node != null && matches(bits, node.bits, checked, node.length)) {
+            if (node.values != null) {
+                node.values.forEach(consumer);
+            }
+            if (node.length == bits.length * 8) {
+                break;
+            }
+            checked = node.length;
+            node = bitAt(bits, node.length) == 0 ? node.zero : node.one;
+        }
+    }
+
+    /**
+     * Gets the value of the most specific set containing the given address.
+     *
+     * @param address The address
+     * @return The value, or null if no set contains the address
+     */
+    @Nullable
+    public V getLongestMatch(final InetAddress address) {
+        final byte[] bits = address.getAddress();
+        Node<V> node = bits.length == 4 ? this.ipv4Root : this.ipv6Root;
+        V match = null;
+        int checked = 0;
+        while (node != null && matches(bits, node.bits, checked, node.length)) {
+            if (node.values != null) {
+                match = node.values.get(node.values.size() - 1);
+            }
+            if (node.length == bits.length * 8) {
+                break;
+            }
+            checked = node.length;
+            node = bitAt(bits, node.length) == 0 ? node.zero : node.one;
+        }
+        return match;
+    }
+
+    public boolean contains(final InetAddress address) {
+        return this.getLongestMatch(address) != null;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    private static <V> Node<V> insert(@Nullable final Node<V> root, final byte[] bits, final int length, final V value) {
+        if (root == null) {
+            return new Node<>(bits, length, value);
+        }
+        Node<V> parent = null;
+        Node<V> node = root;
+        while (true) {
+            final int common = commonPrefix(node.bits, bits, Math.min(node.length, length));
+            final Node<V> replacement;
+            if (common == node.length) {
+                if (length == node.length) {
+                    node.add(value);
+                    return root;
+                }
+                final Node<V> child = bitAt(bits, node.length) == 0 ? node.zero : node.one;
+                if (child == null) {
+                    node.setChild(bits, new Node<>(bits, length, value));
+                    return root;
+                }
+                parent = node;
+                node = child;
+                continue;
+            } else if (common == length) {
+                // The new range contains the current node
+                replacement = new Node<>(bits, length, value);
+                replacement.setChild(node.bits, node);
+            } else {
+                // Both ranges branch off below their common prefix
+                replacement = new Node<>(mask(bits, common), common, null);
+                replacement.setChild(node.bits, node);
+                replacement.setChild(bits, new Node<>(bits, length, value));
+            }
+            if (parent == null) {
+                return replacement;
+            }
+            parent.setChild(replacement.bits, replacement);
+            return root;
+        }
+    }
+
+    private static int bitAt(final byte[] bits, final int index) {
+        return (bits[index >> 3] >> (7 - (index & 7))) & 1;
+    }
+
+    private static boolean matches(final byte[] address, final byte[] prefix, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if ((i & 7) == 0 && to - i >= 8) {
+                // Compare whole bytes where possible
+                if (address[i >> 3] != prefix[i >> 3]) {
+                    return false;
+                }
+                i += 7;
+            } else if (bitAt(address, i) != bitAt(prefix, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int commonPrefix(final byte[] first, final byte[] second, final int max) {
+        for (int i = 0; i < max; i++) {
+            if (bitAt(first, i) != bitAt(second, i)) {
+                return i;
+            }
+        }
+        return max;
+    }
+
+    private static byte[] mask(final byte[] bits, final int length) {
+        final byte[] masked = new byte[bits.length];
+        final int full = length >> 3;
+        System.arraycopy(bits, 0, masked, 0, full);
+        if ((length & 7) != 0) {
+            masked[full] = (byte) (bits[full] & (0xFF << (8 - (length & 7))));
+        }
+        return masked;
+    }
+
+    private static final class Node<V> {
+
+        final byte[] bits;
+        final int length;
+        @Nullable List<V> values;
+        @Nullable Node<V> zero;
+        @Nullable Node<V> one;
+
+        Node(final byte[] bits, final int length, @Nullable final V value) {
+            this.bits = bits;
+            this.length = length;
+            if (value != null) {
+                this.add(value);
+            }
+        }
+
+        void add(final V value) {
+            if (this.values == null) {
+                this.values = new ArrayList<>(1);
+            }
+            this.values.add(value);
+        }
+
+        /**
+         * Sets the child on the side of the given bits.
+         */
+        void setChild(final byte[] bits, final Node<V> child) {
+            if (bitAt(bits, this.length) == 0) {
+                this.zero = child;
+            } else {
+                this.one = child;
+            }
+        }
+
+    }
+
+}
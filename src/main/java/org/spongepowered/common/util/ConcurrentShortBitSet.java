@@ -0,0 +1,108 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A thread safe set of {@code short} values, backed by an atomic bit set.
+ *
+ * <p>The 65536 possible values are split into 16 pages of 4096 bits by
+ * their highest four bits, a page is only allocated once a value in its range
+ * is added. A chunk local block position packed with the y coordinate in the
+ * high bits therefore allocates one page per 16 block high section.</p>
+ */
+public final class ConcurrentShortBitSet {
+
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_COUNT = 1 << (Short.SIZE - PAGE_BITS);
+    private static final int WORDS_PER_PAGE = (1 << PAGE_BITS) / Long.SIZE;
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(PAGE_COUNT);
+
+    /**
+     * Adds the value to this set.
+     *
+     * @param value The value
+     * @return True if the value was not yet present
+     */
+    public boolean add(final short value) {
+        final int index = value & 0xFFFF;
+        final AtomicLongArray page = this.getOrCreatePage(index >>> PAGE_BITS);
+        final int word = (index >>> 6) & (WORDS_PER_PAGE - 1);
+        final long mask = 1L << index;
+        long current;
+        do {
+            current = page.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    /**
+     * Removes the value from this set.
+     *
+     * @param value The value
+     * @return True if the value was present
+     */
+    public boolean remove(final short value) {
+        final int index = value & 0xFFFF;
+        final AtomicLongArray page = this.pages.get(index >>> PAGE_BITS);
+        if (page == null) {
+            return false;
+        }
+        final int word = (index >>> 6) & (WORDS_PER_PAGE - 1);
+        final long mask = 1L << index;
+        long current;
+        do {
+            current = page.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(word, current, current & ~mask));
+        return true;
+    }
+
+    public boolean contains(final short value) {
+        final int index = value & 0xFFFF;
+        final AtomicLongArray page = this.pages.get(index >>> PAGE_BITS);
+        return page != null && (page.get((index >>> 6) & (WORDS_PER_PAGE - 1)) & (1L << index)) != 0;
+    }
+
+    private AtomicLongArray getOrCreatePage(final int pageIndex) {
+        final AtomicLongArray page = this.pages.get(pageIndex);
+        if (page != null) {
+            return page;
+        }
+        final AtomicLongArray created = new AtomicLongArray(WORDS_PER_PAGE);
+        if (this.pages.compareAndSet(pageIndex, null, created)) {
+            return created;
+        }
+        return this.pages.get(pageIndex);
+    }
+}
@@ -148,6 +148,9 @@ public static final class Sponge {
         public static final String SPONGE_ENTITY_CREATOR = "Creator";
         public static final String SPONGE_ENTITY_NOTIFIER = "Notifier";
         public static final String SPONGE_BLOCK_POS_TABLE = "BlockPosTable";
+        public static final String SPONGE_TRACKED_POSITIONS = "TrackedPositions";
+        public static final String SPONGE_TRACKED_OWNERS = "TrackedOwners";
+        public static final String SPONGE_TRACKED_NOTIFIERS = "TrackedNotifiers";
         public static final String SPONGE_PLAYER_UUID_TABLE = "PlayerIdTable";
         public static final String CUSTOM_MANIPULATOR_TAG_LIST = "CustomManipulators";
         public static final DataQuery CUSTOM_MANIPULATOR_LIST = of(CUSTOM_MANIPULATOR_TAG_LIST);
@@ -264,6 +267,7 @@ public static final class World {
             public static final String LEVEL_SPONGE_DAT = "level_sponge.dat";
             public static final String LEVEL_SPONGE_DAT_OLD = "level_sponge.dat_old";
             public static final String LEVEL_SPONGE_DAT_NEW = "level_sponge.dat_new";
+            public static final String PLAYER_ID_TABLE = "level_sponge_player_ids.dat";
         }
         public static final class Schematic {
             public static final DataQuery NAME = of("Name");
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import com.google.common.collect.ImmutableSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Looks up which named groups of {@link IpSet}s contain an address.
+ *
+ * <p>An address belongs to a group if every set of the group contains it,
+ * matching {@code Predicates.and} over the sets of the group. Instead of
+ * testing every set, all sets are put into one {@link CidrTrie} and the
+ * matches of a group are counted.</p>
+ */
+public final class IpSetIndex {
+
+    private final CidrTrie<String> trie = new CidrTrie<>();
+    private final Object2IntMap<String> setCounts = new Object2IntOpenHashMap<>();
+    private final Set<String> matchingAll;
+
+    public IpSetIndex(final Map<String, List<IpSet>> ipSets) {
+        final ImmutableSet.Builder<String> matchingAll = ImmutableSet.builder();
+        for (final Map.Entry<String, List<IpSet>> entry : ipSets.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                // Nothing to test, so every address matches
+                matchingAll.add(entry.getKey());
+                continue;
+            }
+            this.setCounts.put(entry.getKey(), entry.getValue().size());
+            for (final IpSet set : entry.getValue()) {
+                this.trie.put(set, entry.getKey());
+            }
+        }
+        this.matchingAll = matchingAll.build();
+    }
+
+    /**
+     * Gets the names of all groups containing the given address.
+     *
+     * @param address The address
+     * @return The group names
+     */
+    public Set<String> getNamesContaining(final InetAddress address) {
+        if (this.trie.isEmpty()) {
+            return this.matchingAll;
+        }
+        final Object2IntMap<String> matches = new Object2IntOpenHashMap<>();
+        this.trie.forEachMatch(address, name -> matches.put(name, matches.getInt(name) + 1));
+        final ImmutableSet.Builder<String> names = ImmutableSet.builder();
+        names.addAll(this.matchingAll);
+        for (final Object2IntMap.Entry<String> entry : matches.object2IntEntrySet()) {
+            if (entry.getIntValue() == this.setCounts.getInt(entry.getKey())) {
+                names.add(entry.getKey());
+            }
+        }
+        return names.build();
+    }
+
+}
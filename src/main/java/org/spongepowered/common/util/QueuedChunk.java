@@ -30,9 +30,11 @@
 public class QueuedChunk {
     public ChunkPos coords;
     public NBTTagCompound compound;
+    public long queuedTime;
 
     public QueuedChunk(ChunkPos coords, NBTTagCompound compound) {
         this.coords = coords;
         this.compound = compound;
+        this.queuedTime = System.nanoTime();
     }
 }
@@ -0,0 +1,215 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import com.google.common.io.Files;
+import net.minecraft.server.management.UserList;
+import net.minecraft.server.management.UserListEntry;
+import net.minecraft.server.management.UserListEntryBan;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.mixin.core.server.management.UserLIstEntryAccessor;
+import org.spongepowered.common.mixin.core.server.management.UserListAccessor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index over the values of a {@link UserList}.
+ *
+ * <p>Entries that expire are kept in a queue ordered by their expiration
+ * date, so removing expired entries only has to look at the entries that
+ * actually expired instead of scanning the whole list. Entries that were
+ * removed or replaced in the meantime are skipped when they reach the head
+ * of the queue.</p>
+ *
+ * <p>Changes are not written to disk right away. They are collected and
+ * written once on the next tick on an async thread, or when
+ * {@link #save()} is called.</p>
+ *
+ * @param <K> The key type of the list
+ * @param <V> The entry type of the list
+ */
+public final class UserListStore<K, V extends UserListEntry<K>> {
+
+    private static final Comparator<UserListEntryBan<?>> EXPIRATION_ORDER = Comparator.comparing(UserListEntryBan::getBanEndDate);
+
+    private final UserList<K, V> list;
+    private final Map<String, V> values;
+    private final PriorityQueue<UserListEntryBan<?>> expiring = new PriorityQueue<>(EXPIRATION_ORDER);
+    private final Object writeLock = new Object();
+    @Nullable private Collection<V> snapshot;
+    private long revision;
+    private long writtenRevision;
+    private boolean saveScheduled;
+
+    @SuppressWarnings("unchecked")
+    public UserListStore(final UserList<K, V> list) {
+        this.list = list;
+        this.values = ((UserListAccessor<K, V>) list).accessor$getValues();
+        for (final V entry : this.values.values()) {
+            this.track(entry);
+        }
+    }
+
+    /**
+     * Removes all entries which have expired by now.
+     */
+    public void removeExpired() {
+        if (this.expiring.isEmpty()) {
+            return;
+        }
+        final Date now = new Date();
+        UserListEntryBan<?> head;
+        while ((head = this.expiring.peek()) != null && head.getBanEndDate().before(now)) {
+            this.expiring.poll();
+            if (this.values.remove(this.getKey(head), head)) {
+                this.markChanged();
+            }
+        }
+    }
+
+    public boolean contains(final K obj) {
+        this.removeExpired();
+        return this.values.containsKey(this.getObjectKey(obj));
+    }
+
+    @Nullable
+    public V get(final K obj) {
+        this.removeExpired();
+        return this.values.get(this.getObjectKey(obj));
+    }
+
+    /**
+     * Gets an unmodifiable snapshot of all entries. The same snapshot is
+     * returned until the list changes.
+     *
+     * @return The entries
+     */
+    public Collection<V> getValues() {
+        this.removeExpired();
+        if (this.snapshot == null) {
+            this.snapshot = Collections.unmodifiableList(new ArrayList<>(this.values.values()));
+        }
+        return this.snapshot;
+    }
+
+    public void add(final V entry) {
+        this.values.put(this.getKey(entry), entry);
+        this.track(entry);
+        this.markChanged();
+    }
+
+    public void remove(final K obj) {
+        if (this.values.remove(this.getObjectKey(obj)) != null) {
+            this.markChanged();
+        }
+    }
+
+    /**
+     * Marks the list as changed and schedules it to be written.
+     */
+    public void markChanged() {
+        this.snapshot = null;
+        this.revision++;
+        if (!this.saveScheduled) {
+            this.saveScheduled = true;
+            SpongeImpl.getScheduler().createTaskBuilder()
+                    .delayTicks(0)
+                    .execute(this::saveAsync)
+                    .submit(SpongeImpl.getPlugin());
+        }
+    }
+
+    /**
+     * Writes all changes that were not written yet, waiting for any
+     * write that is currently in progress.
+     */
+    public void save() {
+        this.saveScheduled = false;
+        this.write(this.revision, this.getValues());
+    }
+
+    private void saveAsync() {
+        if (!this.saveScheduled) {
+            return; // Already saved
+        }
+        this.saveScheduled = false;
+        final long revision = this.revision;
+        final Collection<V> values = this.getValues();
+        SpongeImpl.getScheduler().submitAsyncTask(() -> {
+            this.write(revision, values);
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(final long revision, final Collection<V> values) {
+        synchronized (this.writeLock) {
+            // A newer state may have been written in the meantime
+            if (revision <= this.writtenRevision) {
+                return;
+            }
+            final UserListAccessor<K, V> accessor = (UserListAccessor<K, V>) this.list;
+            final String json = accessor.accessor$getGson().toJson(values);
+            try (final Writer writer = Files.newWriter(accessor.accessor$getSaveFile(), StandardCharsets.UTF_8)) {
+                writer.write(json);
+                this.writtenRevision = revision;
+            } catch (IOException e) {
+                UserListAccessor.accessor$getLogger().warn("Could not save the list after changes.", e);
+            }
+        }
+    }
+
+    private void track(final V entry) {
+        if (entry instanceof UserListEntryBan && ((UserListEntryBan<?>) entry).getBanEndDate() != null) {
+            this.expiring.add((UserListEntryBan<?>) entry);
+            // Drop the entries of pardoned or replaced bans once they outnumber the live ones
+            if (this.expiring.size() > this.values.size() * 2 + 16) {
+                this.expiring.removeIf(queued -> this.values.get(this.getKey(queued)) != queued);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String getKey(final UserListEntry<?> entry) {
+        return this.getObjectKey(((UserLIstEntryAccessor<K>) entry).accessor$getValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private String getObjectKey(final K obj) {
+        return ((UserListAccessor<K, V>) this.list).accessor$getObjectKey(obj);
+    }
+
+}
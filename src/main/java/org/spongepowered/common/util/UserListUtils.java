@@ -26,34 +26,22 @@
 
 import net.minecraft.server.management.UserList;
 import net.minecraft.server.management.UserListEntry;
-import org.spongepowered.common.mixin.core.server.management.UserLIstEntryAccessor;
-import org.spongepowered.common.mixin.core.server.management.UserListAccessor;
-
-import java.io.IOException;
+import org.spongepowered.common.bridge.server.management.UserListBridge;
 
 public class UserListUtils {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     public static void addEntry(final UserList list, final UserListEntry entry) {
-        ((UserListAccessor) list).accessor$getValues().put(((UserListAccessor) list).accessor$getObjectKey(((UserLIstEntryAccessor) entry).accessor$getValue()), entry);
-
-        try {
-            list.writeChanges();
-        }
-        catch (IOException ioexception) {
-            UserListAccessor.accessor$getLogger().warn("Could not save the list after adding a user.", ioexception);
-        }
+        ((UserListBridge) list).bridge$getStore().add(entry);
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static void removeEntry(final UserList list, final Object object) {
-        ((UserListAccessor) list).accessor$getValues().remove(((UserListAccessor) list).accessor$getObjectKey(object));
+        ((UserListBridge) list).bridge$getStore().remove(object);
+    }
 
-        try {
-            list.writeChanges();
-        }
-        catch (IOException ioexception) {
-            UserListAccessor.accessor$getLogger().warn("Could not save the list after removing a user.", ioexception);
-        }
+    @SuppressWarnings("unchecked")
+    public static <K, V extends UserListEntry<K>> UserListStore<K, V> getStore(final UserList<K, V> list) {
+        return ((UserListBridge<K, V>) list).bridge$getStore();
     }
 }
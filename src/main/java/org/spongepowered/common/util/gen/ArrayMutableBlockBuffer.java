@@ -148,6 +148,58 @@ public BlockState getBlock(int x, int y, int z) {
         return this.palette.get(this.data.get(getIndex(x, y, z))).orElse(AIR);
     }
 
+    /**
+     * Gets the id of the block at the given position in this buffer's
+     * {@link #getPalette() palette}, without resolving it to a block state.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The palette id
+     */
+    public int getBlockId(int x, int y, int z) {
+        checkRange(x, y, z);
+        return this.data.get(getIndex(x, y, z));
+    }
+
+    /**
+     * Sets the blocks of a region of this buffer, writing their ids straight
+     * into the backing data. The blocks must be ordered by x, then z, then y,
+     * with y varying fastest, which is the order they are stored in. Palette
+     * lookups are only done when the block differs from the previous one.
+     *
+     * @param min The lowest position of the region
+     * @param size The size of the region
+     * @param blocks The blocks to set
+     */
+    public void setBlocks(Vector3i min, Vector3i size, BlockState[] blocks) {
+        final Vector3i max = min.add(size).sub(Vector3i.ONE);
+        checkRange(min.getX(), min.getY(), min.getZ());
+        checkRange(max.getX(), max.getY(), max.getZ());
+        BlockState last = null;
+        int lastId = 0;
+        int i = 0;
+        for (int x = min.getX(); x <= max.getX(); x++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                int index = getIndex(x, min.getY(), z);
+                for (int y = min.getY(); y <= max.getY(); y++, index++) {
+                    final BlockState block = blocks[i++];
+                    if (block != last) {
+                        last = block;
+                        lastId = this.palette.getOrAssign(block);
+                        if (lastId > this.data.getMax()) {
+                            // Let setBlock widen the data, which may also replace the palette
+                            setBlock(x, y, z, block);
+                            lastId = this.palette.getOrAssign(block);
+                            continue;
+                        }
+                    }
+                    this.data.set(index, lastId);
+                }
+            }
+        }
+    }
+
     @Override
     public MutableBlockVolume getBlockView(Vector3i newMin, Vector3i newMax) {
         checkRange(newMin.getX(), newMin.getY(), newMin.getZ());
@@ -211,6 +263,103 @@ public int hashCode() {
         return Objects.hash(super.hashCode(), this.palette, this.data);
     }
 
+    /**
+     * Collects the palette ids of a volume, in the x, then z, then y order
+     * used by the schematic format, before the palette they refer to is
+     * known. Ids are written straight into packed storage, which is widened
+     * as larger ids are encountered, so they never need to be held in an
+     * intermediate array.
+     */
+    public static final class IdCollector {
+
+        private final Vector3i size;
+        private final int area;
+        private PackedBackingData data;
+        private int highestId;
+        private int count;
+        private int x;
+        private int y;
+        private int z;
+
+        /**
+         * Creates a new collector.
+         *
+         * @param size The size of the volume
+         * @param expectedHighestId The highest id expected, used to size the
+         *     initial storage
+         */
+        public IdCollector(Vector3i size, int expectedHighestId) {
+            this.size = size;
+            this.area = size.getX() * size.getY() * size.getZ();
+            this.data = new PackedBackingData(this.area, Math.max(expectedHighestId, 1));
+        }
+
+        /**
+         * Adds the id of the next block.
+         *
+         * @param id The palette id
+         * @throws IllegalStateException If every block of the volume already has an id
+         */
+        public void add(int id) {
+            if (this.count == this.area) {
+                throw new IllegalStateException("More block ids than blocks in a volume of size " + this.size);
+            }
+            if (id > this.data.getMax()) {
+                this.data = repack(this.data, Math.max(id, this.data.getMax() * 2 + 1));
+            }
+            this.data.set((this.x * this.size.getZ() + this.z) * this.size.getY() + this.y, id);
+            if (id > this.highestId) {
+                this.highestId = id;
+            }
+            this.count++;
+            if (++this.x == this.size.getX()) {
+                this.x = 0;
+                if (++this.z == this.size.getZ()) {
+                    this.z = 0;
+                    this.y++;
+                }
+            }
+        }
+
+        /**
+         * Gets the highest id added so far.
+         *
+         * @return The highest id
+         */
+        public int getHighestId() {
+            return this.highestId;
+        }
+
+        /**
+         * Creates a buffer over the collected ids. Blocks that were not given
+         * an id are air, and the storage ends up the same as that of a buffer
+         * filled through {@link #setBlock}.
+         *
+         * @param palette The palette the ids refer to
+         * @param start The start block position
+         * @return The new buffer
+         */
+        public ArrayMutableBlockBuffer build(Palette<BlockState> palette, Vector3i start) {
+            final int airId = palette.getOrAssign(AIR);
+            while (this.count < this.area) {
+                add(airId);
+            }
+            // Match the width a buffer created for this palette would have
+            int bits;
+            for (bits = 0; 1 << bits <= palette.getHighestId(); bits++);
+            final BackingData data = this.data.getMax() == (1 << bits) - 1 ? this.data : repack(this.data, palette.getHighestId());
+            return new ArrayMutableBlockBuffer(palette, data, start, this.size);
+        }
+
+        private PackedBackingData repack(PackedBackingData from, int highestValue) {
+            final PackedBackingData to = new PackedBackingData(this.area, highestValue);
+            for (int i = 0; i < this.area; i++) {
+                to.set(i, from.get(i));
+            }
+            return to;
+        }
+    }
+
     /**
      * Basically a fixed length list of non negative numbers/ids.
      */
@@ -0,0 +1,263 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.common.util.Constants;
+
+import javax.annotation.Nullable;
+
+/**
+ * The owner and notifier indexes of the tracked block positions in a chunk.
+ *
+ * <p>Positions are kept per chunk section in primitive open addressing maps
+ * keyed by the position within the section, with the owner and notifier
+ * indexes packed into a single long. Positions outside of the 0 to 255 height
+ * range are kept in a separate map keyed by
+ * {@link Constants.Sponge#blockPosToInt(BlockPos)}.</p>
+ */
+public final class BlockOwnershipTable {
+
+    public static final int NO_INDEX = -1;
+
+    // Packs NO_INDEX as both owner and notifier
+    private static final long EMPTY = -1L;
+    private static final int SECTION_COUNT = 16;
+    // Rough size of a fastutil map instance and its array headers
+    private static final int MAP_OVERHEAD = 64;
+
+    @Nullable private final Short2LongOpenHashMap[] sections = new Short2LongOpenHashMap[SECTION_COUNT];
+    @Nullable private Int2LongOpenHashMap outOfRange;
+
+    public int getOwner(final BlockPos pos) {
+        return owner(this.get(pos));
+    }
+
+    public int getNotifier(final BlockPos pos) {
+        return notifier(this.get(pos));
+    }
+
+    public void setOwner(final BlockPos pos, final int ownerIndex) {
+        this.put(pos, ownerIndex, notifier(this.get(pos)));
+    }
+
+    public void setNotifier(final BlockPos pos, final int notifierIndex) {
+        this.put(pos, owner(this.get(pos)), notifierIndex);
+    }
+
+    public void put(final BlockPos pos, final int ownerIndex, final int notifierIndex) {
+        final long value = pack(ownerIndex, notifierIndex);
+        final int y = pos.getY();
+        if (y >= 0 && y < SECTION_COUNT << 4) {
+            Short2LongOpenHashMap section = this.sections[y >> 4];
+            if (section == null) {
+                section = new Short2LongOpenHashMap();
+                section.defaultReturnValue(EMPTY);
+                this.sections[y >> 4] = section;
+            }
+            section.put(sectionKey(pos.getX(), y, pos.getZ()), value);
+        } else {
+            if (this.outOfRange == null) {
+                this.outOfRange = new Int2LongOpenHashMap();
+                this.outOfRange.defaultReturnValue(EMPTY);
+            }
+            this.outOfRange.put(Constants.Sponge.blockPosToInt(pos), value);
+        }
+    }
+
+    public void remove(final BlockPos pos) {
+        final int y = pos.getY();
+        if (y >= 0 && y < SECTION_COUNT << 4) {
+            final Short2LongOpenHashMap section = this.sections[y >> 4];
+            if (section != null) {
+                section.remove(sectionKey(pos.getX(), y, pos.getZ()));
+            }
+        } else if (this.outOfRange != null) {
+            this.outOfRange.remove(Constants.Sponge.blockPosToInt(pos));
+        }
+    }
+
+    public int size() {
+        int size = this.outOfRange == null ? 0 : this.outOfRange.size();
+        for (final Short2LongOpenHashMap section : this.sections) {
+            if (section != null) {
+                size += section.size();
+            }
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Estimates the number of bytes held by this table, assuming the backing
+     * arrays are sized for their current contents.
+     *
+     * @return The estimated heap usage in bytes
+     */
+    public long estimateHeapUsage() {
+        long bytes = MAP_OVERHEAD;
+        for (final Short2LongOpenHashMap section : this.sections) {
+            if (section != null) {
+                bytes += MAP_OVERHEAD + (HashCommon.arraySize(section.size(), Hash.DEFAULT_LOAD_FACTOR) + 1) * (long) (Short.BYTES + Long.BYTES);
+            }
+        }
+        if (this.outOfRange != null) {
+            bytes += MAP_OVERHEAD + (HashCommon.arraySize(this.outOfRange.size(), Hash.DEFAULT_LOAD_FACTOR) + 1) * (long) (Integer.BYTES + Long.BYTES);
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes this table as three parallel int arrays holding the positions,
+     * in the {@link Constants.Sponge#blockPosToInt(BlockPos)} format, and
+     * their owner and notifier indexes.
+     *
+     * @param compound The compound to write to
+     */
+    public void writeTo(final NBTTagCompound compound) {
+        final int size = this.size();
+        final int[] positions = new int[size];
+        final int[] owners = new int[size];
+        final int[] notifiers = new int[size];
+        int i = 0;
+        for (int sectionY = 0; sectionY < SECTION_COUNT; sectionY++) {
+            final Short2LongOpenHashMap section = this.sections[sectionY];
+            if (section == null) {
+                continue;
+            }
+            for (final Short2LongMap.Entry entry : section.short2LongEntrySet()) {
+                final int key = entry.getShortKey();
+                final int y = (sectionY << 4) | ((key >> 8) & 0xF);
+                positions[i] = (key & 0xF) | (y << 4) | (((key >> 4) & 0xF) << 28);
+                owners[i] = owner(entry.getLongValue());
+                notifiers[i] = notifier(entry.getLongValue());
+                i++;
+            }
+        }
+        if (this.outOfRange != null) {
+            for (final Int2LongMap.Entry entry : this.outOfRange.int2LongEntrySet()) {
+                positions[i] = entry.getIntKey();
+                owners[i] = owner(entry.getLongValue());
+                notifiers[i] = notifier(entry.getLongValue());
+                i++;
+            }
+        }
+        compound.setIntArray(Constants.Sponge.SPONGE_TRACKED_POSITIONS, positions);
+        compound.setIntArray(Constants.Sponge.SPONGE_TRACKED_OWNERS, owners);
+        compound.setIntArray(Constants.Sponge.SPONGE_TRACKED_NOTIFIERS, notifiers);
+    }
+
+    /**
+     * Reads a table written by {@link #writeTo(NBTTagCompound)}, or migrates
+     * the older table of one compound per position.
+     *
+     * @param compound The compound to read from
+     * @return The table
+     */
+    public static BlockOwnershipTable readFrom(final NBTTagCompound compound) {
+        final BlockOwnershipTable table = new BlockOwnershipTable();
+        if (compound.hasKey(Constants.Sponge.SPONGE_TRACKED_POSITIONS, Constants.NBT.TAG_INT_ARRAY)) {
+            final int[] positions = compound.getIntArray(Constants.Sponge.SPONGE_TRACKED_POSITIONS);
+            final int[] owners = compound.getIntArray(Constants.Sponge.SPONGE_TRACKED_OWNERS);
+            final int[] notifiers = compound.getIntArray(Constants.Sponge.SPONGE_TRACKED_NOTIFIERS);
+            final int size = Math.min(positions.length, Math.min(owners.length, notifiers.length));
+            for (int i = 0; i < size; i++) {
+                table.putIfTracked(fromIntKey(positions[i]), owners[i], notifiers[i]);
+            }
+            return table;
+        }
+
+        final NBTTagList positions = compound.getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < positions.tagCount(); i++) {
+            final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+            int ownerIndex = NO_INDEX;
+            int notifierIndex = NO_INDEX;
+            if (valueNbt.hasKey("owner")) {
+                ownerIndex = valueNbt.getInteger("owner");
+            } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                ownerIndex = valueNbt.getInteger("uuid");
+            }
+            if (valueNbt.hasKey("notifier")) {
+                notifierIndex = valueNbt.getInteger("notifier");
+            }
+            final BlockPos pos = valueNbt.hasKey("pos") ? fromShortKey(valueNbt.getShort("pos")) : fromIntKey(valueNbt.getInteger("ipos"));
+            table.putIfTracked(pos, ownerIndex, notifierIndex);
+        }
+        return table;
+    }
+
+    private void putIfTracked(final BlockPos pos, final int ownerIndex, final int notifierIndex) {
+        if (ownerIndex != NO_INDEX || notifierIndex != NO_INDEX) {
+            this.put(pos, ownerIndex, notifierIndex);
+        }
+    }
+
+    private long get(final BlockPos pos) {
+        final int y = pos.getY();
+        if (y >= 0 && y < SECTION_COUNT << 4) {
+            final Short2LongOpenHashMap section = this.sections[y >> 4];
+            return section == null ? EMPTY : section.get(sectionKey(pos.getX(), y, pos.getZ()));
+        }
+        return this.outOfRange == null ? EMPTY : this.outOfRange.get(Constants.Sponge.blockPosToInt(pos));
+    }
+
+    private static short sectionKey(final int x, final int y, final int z) {
+        return (short) ((x & 0xF) | ((z & 0xF) << 4) | ((y & 0xF) << 8));
+    }
+
+    // Positions are relative to the chunk, only the lowest four bits of x and z are used
+
+    private static BlockPos fromShortKey(final short key) {
+        return new BlockPos(key & 0xF, (key >> 4) & 0xFF, (key >> 12) & 0xF);
+    }
+
+    private static BlockPos fromIntKey(final int key) {
+        // Shifted up first to sign extend the 24 bit y
+        return new BlockPos(key & 0xF, (key << 4) >> 8, (key >>> 28) & 0xF);
+    }
+
+    private static long pack(final int ownerIndex, final int notifierIndex) {
+        return ((long) ownerIndex << 32) | (notifierIndex & 0xFFFFFFFFL);
+    }
+
+    private static int owner(final long value) {
+        return (int) (value >> 32);
+    }
+
+    private static int notifier(final long value) {
+        return (int) value;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.PriorityQueue;
+
+import javax.annotation.Nullable;
+
+/**
+ * The chunks of a world that are queued for unload, ordered by the time
+ * their unload becomes due.
+ *
+ * <p>Chunks that are requested again while queued simply have their
+ * {@link Chunk#unloadQueued} flag cleared by vanilla, such chunks are
+ * discarded once they are polled. Each chunk is queued at most once, queueing
+ * an already queued chunk again is a no-op.</p>
+ */
+public final class ChunkUnloadQueue {
+
+    private final Long2ObjectMap<Chunk> queued = new Long2ObjectOpenHashMap<>();
+    private final PriorityQueue<Entry> entries = new PriorityQueue<>((first, second) -> Long.compare(first.due, second.due));
+
+    /**
+     * Queues the chunk to be polled once the due time has passed, unless the
+     * chunk is already queued.
+     *
+     * @param chunk The chunk
+     * @param due The time in milliseconds at which the unload becomes due
+     */
+    public void queue(final Chunk chunk, final long due) {
+        final long key = ChunkPos.asLong(chunk.x, chunk.z);
+        if (this.queued.get(key) == chunk) {
+            return;
+        }
+        this.queued.put(key, chunk);
+        this.entries.add(new Entry(chunk, due));
+    }
+
+    /**
+     * Queues the chunk again after it was {@link #poll(long) polled}, with
+     * a later due time.
+     *
+     * @param chunk The chunk
+     * @param due The time in milliseconds at which the unload becomes due
+     */
+    public void requeue(final Chunk chunk, final long due) {
+        this.queued.put(ChunkPos.asLong(chunk.x, chunk.z), chunk);
+        this.entries.add(new Entry(chunk, due));
+    }
+
+    /**
+     * Removes and returns the next chunk whose unload is due.
+     *
+     * @param now The current time in milliseconds
+     * @return The chunk, or null if no unload is due
+     */
+    @Nullable
+    public Chunk poll(final long now) {
+        Entry entry;
+        while ((entry = this.entries.peek()) != null && entry.due <= now) {
+            this.entries.poll();
+            final long key = ChunkPos.asLong(entry.chunk.x, entry.chunk.z);
+            // A different chunk may have been queued at the same position
+            // after this one was unloaded by other means.
+            if (this.queued.get(key) == entry.chunk) {
+                this.queued.remove(key);
+                return entry.chunk;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return this.queued.size();
+    }
+
+    private static final class Entry {
+
+        final Chunk chunk;
+        final long due;
+
+        Entry(final Chunk chunk, final long due) {
+            this.chunk = chunk;
+            this.due = due;
+        }
+    }
+}
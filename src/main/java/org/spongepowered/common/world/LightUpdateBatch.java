@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Collects the pending light checks of a single chunk section, so that they
+ * are handed to the lighting executor as one unit of work instead of one
+ * task per checked position.
+ *
+ * <p>A batch is scheduled at most once at a time. Checks added while the
+ * batch is already scheduled are appended to it, checks added after it was
+ * {@link #drain() drained} schedule it again.</p>
+ */
+public final class LightUpdateBatch implements Comparable<LightUpdateBatch> {
+
+    private final Chunk chunk;
+    private final int sectionY;
+    private LongArrayList skyUpdates = new LongArrayList();
+    private LongArrayList blockUpdates = new LongArrayList();
+    @Nullable private List<Chunk> neighbors;
+    private boolean scheduled;
+    private long scheduledTime;
+    private long priority;
+
+    public LightUpdateBatch(final Chunk chunk, final int sectionY) {
+        this.chunk = chunk;
+        this.sectionY = sectionY;
+    }
+
+    public Chunk getChunk() {
+        return this.chunk;
+    }
+
+    public int getSectionY() {
+        return this.sectionY;
+    }
+
+    /**
+     * Adds a light check to this batch.
+     *
+     * @param type The light type to check
+     * @param pos The position to check
+     * @return True if the batch was idle and has to be scheduled by the caller
+     */
+    public synchronized boolean add(final EnumSkyBlock type, final BlockPos pos) {
+        (type == EnumSkyBlock.SKY ? this.skyUpdates : this.blockUpdates).add(pos.toLong());
+        if (this.scheduled) {
+            return false;
+        }
+        this.scheduled = true;
+        return true;
+    }
+
+    /**
+     * Marks this batch as scheduled, must be called before it is offered to
+     * the lighting queue.
+     *
+     * @param neighbors The neighbor chunks the pending counters were raised for
+     * @param time The time, in nanoseconds, the batch was scheduled at
+     * @param priority The priority, lower values are processed first
+     */
+    public synchronized void schedule(final List<Chunk> neighbors, final long time, final long priority) {
+        this.neighbors = neighbors;
+        this.scheduledTime = time;
+        this.priority = priority;
+    }
+
+    /**
+     * Takes all the checks collected so far out of this batch, afterwards
+     * the batch can be scheduled again.
+     *
+     * @return The drained checks
+     */
+    public synchronized Pending drain() {
+        final Pending pending = new Pending(this.skyUpdates, this.blockUpdates, this.neighbors, this.scheduledTime);
+        this.skyUpdates = new LongArrayList();
+        this.blockUpdates = new LongArrayList();
+        this.neighbors = null;
+        this.scheduled = false;
+        return pending;
+    }
+
+    @Override
+    public int compareTo(final LightUpdateBatch other) {
+        return Long.compare(this.priority, other.priority);
+    }
+
+    public static final class Pending {
+
+        public final LongArrayList skyUpdates;
+        public final LongArrayList blockUpdates;
+        public final List<Chunk> neighbors;
+        public final long scheduledTime;
+
+        Pending(final LongArrayList skyUpdates, final LongArrayList blockUpdates, final List<Chunk> neighbors, final long scheduledTime) {
+            this.skyUpdates = skyUpdates;
+            this.blockUpdates = blockUpdates;
+            this.neighbors = neighbors;
+            this.scheduledTime = scheduledTime;
+        }
+    }
+}
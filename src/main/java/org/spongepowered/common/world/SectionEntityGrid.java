@@ -0,0 +1,181 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A uniform grid over the entities of a single 16x16x16 chunk section, used
+ * to find the entities that may intersect a bounding box without scanning
+ * the whole section.
+ *
+ * <p>Entities are binned by the center of their bounding box. Positions
+ * outside of the section, which happen between an entity moving and the
+ * world moving it to its new section, are clamped to the border cells, so a
+ * query finds every entity of the section its box intersects as long as it
+ * is grown by the largest entity extents seen in the section.</p>
+ */
+public final class SectionEntityGrid {
+
+    private static final int CELL_SHIFT = 2;
+    private static final int CELLS_PER_AXIS = 16 >> CELL_SHIFT;
+
+    private final int originX;
+    private final int originY;
+    private final int originZ;
+    @SuppressWarnings("unchecked")
+    private final List<Entity>[] cells = new List[CELLS_PER_AXIS * CELLS_PER_AXIS * CELLS_PER_AXIS];
+    private final Reference2IntOpenHashMap<Entity> entityCells = new Reference2IntOpenHashMap<>();
+    private double maxHalfWidth;
+    private double maxHalfHeight;
+
+    public SectionEntityGrid(final int chunkX, final int sectionY, final int chunkZ) {
+        this.originX = chunkX << 4;
+        this.originY = sectionY << 4;
+        this.originZ = chunkZ << 4;
+        this.entityCells.defaultReturnValue(-1);
+    }
+
+    public int size() {
+        return this.entityCells.size();
+    }
+
+    public void add(final Entity entity) {
+        if (this.entityCells.containsKey(entity)) {
+            this.update(entity);
+            return;
+        }
+        final int cell = this.getCell(entity.getEntityBoundingBox());
+        this.entityCells.put(entity, cell);
+        this.getOrCreateCell(cell).add(entity);
+    }
+
+    public void remove(final Entity entity) {
+        final int cell = this.entityCells.removeInt(entity);
+        if (cell != -1) {
+            this.cells[cell].remove(entity);
+        }
+        if (this.entityCells.isEmpty()) {
+            this.maxHalfWidth = 0;
+            this.maxHalfHeight = 0;
+        }
+    }
+
+    /**
+     * Moves the entity to the cell of its current bounding box, if it is
+     * part of this grid.
+     *
+     * @param entity The entity that moved or changed size
+     */
+    public void update(final Entity entity) {
+        final int oldCell = this.entityCells.getInt(entity);
+        if (oldCell == -1) {
+            return;
+        }
+        final int newCell = this.getCell(entity.getEntityBoundingBox());
+        if (newCell != oldCell) {
+            this.cells[oldCell].remove(entity);
+            this.getOrCreateCell(newCell).add(entity);
+            this.entityCells.put(entity, newCell);
+        }
+    }
+
+    /**
+     * Collects the entities whose bounding box may intersect the given box,
+     * optionally only those of the given type. The caller still has to test
+     * the boxes for intersection.
+     *
+     * @param aabb The box to query
+     * @param entityClass The required entity type, or null for any entity
+     * @return The candidate entities
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getCandidates(final AxisAlignedBB aabb, final Class<? extends T> entityClass) {
+        final int minX = this.clampCell(aabb.minX - this.maxHalfWidth, this.originX);
+        final int minY = this.clampCell(aabb.minY - this.maxHalfHeight, this.originY);
+        final int minZ = this.clampCell(aabb.minZ - this.maxHalfWidth, this.originZ);
+        final int maxX = this.clampCell(aabb.maxX + this.maxHalfWidth, this.originX);
+        final int maxY = this.clampCell(aabb.maxY + this.maxHalfHeight, this.originY);
+        final int maxZ = this.clampCell(aabb.maxZ + this.maxHalfWidth, this.originZ);
+
+        final List<T> candidates = new ArrayList<>();
+        for (int y = minY; y <= maxY; y++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    final List<Entity> cell = this.cells[index(x, y, z)];
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < cell.size(); i++) {
+                        final Entity entity = cell.get(i);
+                        if (entityClass == null || entityClass.isInstance(entity)) {
+                            candidates.add((T) entity);
+                        }
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private List<Entity> getOrCreateCell(final int cell) {
+        List<Entity> entities = this.cells[cell];
+        if (entities == null) {
+            entities = new ArrayList<>();
+            this.cells[cell] = entities;
+        }
+        return entities;
+    }
+
+    private int getCell(final AxisAlignedBB aabb) {
+        final double halfWidth = Math.max(aabb.maxX - aabb.minX, aabb.maxZ - aabb.minZ) / 2.0D;
+        final double halfHeight = (aabb.maxY - aabb.minY) / 2.0D;
+        if (halfWidth > this.maxHalfWidth) {
+            this.maxHalfWidth = halfWidth;
+        }
+        if (halfHeight > this.maxHalfHeight) {
+            this.maxHalfHeight = halfHeight;
+        }
+        return index(this.clampCell((aabb.minX + aabb.maxX) / 2.0D, this.originX),
+            this.clampCell((aabb.minY + aabb.maxY) / 2.0D, this.originY),
+            this.clampCell((aabb.minZ + aabb.maxZ) / 2.0D, this.originZ));
+    }
+
+    private int clampCell(final double coordinate, final int origin) {
+        // Widened to avoid overflowing on huge query boxes
+        final long cell = ((long) MathHelper.floor(coordinate) - origin) >> CELL_SHIFT;
+        return (int) Math.max(0, Math.min(CELLS_PER_AXIS - 1, cell));
+    }
+
+    private static int index(final int x, final int y, final int z) {
+        return (y * CELLS_PER_AXIS + z) * CELLS_PER_AXIS + x;
+    }
+}
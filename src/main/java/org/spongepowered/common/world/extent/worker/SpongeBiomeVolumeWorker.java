@@ -36,6 +36,7 @@
 import org.spongepowered.api.world.extent.worker.procedure.BiomeVolumeMerger;
 import org.spongepowered.api.world.extent.worker.procedure.BiomeVolumeReducer;
 import org.spongepowered.api.world.extent.worker.procedure.BiomeVolumeVisitor;
+import org.spongepowered.common.util.gen.AbstractBiomeBuffer;
 
 import java.util.function.BiFunction;
 
@@ -68,6 +69,21 @@ public void map(BiomeVolumeMapper mapper, MutableBiomeVolume destination) {
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int yMax = unmodifiableArea.getBiomeMax().getY();
         final int zMax = unmodifiableArea.getBiomeMax().getZ();
+        if (destination != this.volume && isDetached(this.volume) && VolumeSections.isParallel(this.volume.getBiomeSize())) {
+            VolumeSections.computeThenApply(VolumeSections.split(unmodifiableArea.getBiomeMin(), unmodifiableArea.getBiomeMax()), section -> {
+                final BiomeType[] biomes = new BiomeType[section.getVolume()];
+                int i = 0;
+                for (int z = section.zMin; z <= section.zMax; z++) {
+                    for (int y = section.yMin; y <= section.yMax; y++) {
+                        for (int x = section.xMin; x <= section.xMax; x++) {
+                            biomes[i++] = mapper.map(unmodifiableArea, x, y, z);
+                        }
+                    }
+                }
+                return biomes;
+            }, (section, biomes) -> setSection(destination, section, xOffset, yOffset, zOffset, biomes));
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -96,6 +112,23 @@ public void merge(BiomeVolume second, BiomeVolumeMerger merger, MutableBiomeVolu
         final int yMax = firstUnmodifiableArea.getBiomeMax().getY();
         final int zMax = firstUnmodifiableArea.getBiomeMax().getZ();
         final UnmodifiableBiomeVolume secondUnmodifiableArea = second.getUnmodifiableBiomeView();
+        if (destination != this.volume && destination != second && isDetached(this.volume) && isDetached(second)
+            && VolumeSections.isParallel(this.volume.getBiomeSize())) {
+            VolumeSections.computeThenApply(VolumeSections.split(firstUnmodifiableArea.getBiomeMin(), firstUnmodifiableArea.getBiomeMax()), section -> {
+                final BiomeType[] biomes = new BiomeType[section.getVolume()];
+                int i = 0;
+                for (int z = section.zMin; z <= section.zMax; z++) {
+                    for (int y = section.yMin; y <= section.yMax; y++) {
+                        for (int x = section.xMin; x <= section.xMax; x++) {
+                            biomes[i++] = merger.merge(firstUnmodifiableArea, x, y, z, secondUnmodifiableArea, x + xOffsetSecond,
+                                y + yOffsetSecond, z + zOffsetSecond);
+                        }
+                    }
+                }
+                return biomes;
+            }, (section, biomes) -> setSection(destination, section, xOffsetDestination, yOffsetDestination, zOffsetDestination, biomes));
+            return;
+        }
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
                 for (int x = xMin; x <= xMax; x++) {
@@ -133,6 +166,19 @@ public <T> T reduce(BiomeVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int yMax = unmodifiableArea.getBiomeMax().getY();
         final int zMax = unmodifiableArea.getBiomeMax().getZ();
+        if (isDetached(this.volume) && VolumeSections.isParallel(this.volume.getBiomeSize())) {
+            return VolumeSections.reduce(VolumeSections.split(unmodifiableArea.getBiomeMin(), unmodifiableArea.getBiomeMax()), section -> {
+                T reduction = identity;
+                for (int z = section.zMin; z <= section.zMax; z++) {
+                    for (int y = section.yMin; y <= section.yMax; y++) {
+                        for (int x = section.xMin; x <= section.xMax; x++) {
+                            reduction = reducer.reduce(unmodifiableArea, x, y, z, reduction);
+                        }
+                    }
+                }
+                return reduction;
+            }, merge, identity);
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -144,6 +190,26 @@ public <T> T reduce(BiomeVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    private static void setSection(MutableBiomeVolume destination, VolumeSections.Section section, int xOffset, int yOffset, int zOffset,
+        BiomeType[] biomes) {
+        int i = 0;
+        for (int z = section.zMin; z <= section.zMax; z++) {
+            for (int y = section.yMin; y <= section.yMax; y++) {
+                for (int x = section.xMin; x <= section.xMax; x++) {
+                    destination.setBiome(x + xOffset, y + yOffset, z + zOffset, biomes[i++]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets whether a volume is a buffer that is not backed by a world, and
+     * can therefore be read from several threads at once.
+     */
+    private static boolean isDetached(BiomeVolume volume) {
+        return volume instanceof AbstractBiomeBuffer;
+    }
+
     private Vector3i align(BiomeVolume other) {
         final Vector3i thisSize = this.volume.getBiomeSize();
         final Vector3i otherSize = other.getBiomeSize();
@@ -40,6 +40,8 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
 
 import java.util.function.BiFunction;
 
@@ -73,16 +75,25 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        // Sections are only written once complete, so they can't be used to map a volume in place
+        final boolean parallel = destination != this.volume && isDetached(this.volume) && VolumeSections.isParallel(this.volume.getBlockSize());
         // a single go, requiring only one event
         try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)) {
             phaseState.buildAndSwitch();
-            for (int z = zMin; z <= zMax; z++) {
-                for (int y = yMin; y <= yMax; y++) {
-                    for (int x = xMin; x <= xMax; x++) {
-                        final BlockState block = mapper.map(unmodifiableVolume, x, y, z);
+            if (parallel) {
+                VolumeSections.computeThenApply(VolumeSections.split(unmodifiableVolume.getBlockMin(), unmodifiableVolume.getBlockMax()),
+                    section -> mapSection(section, mapper, unmodifiableVolume, new BlockState[section.getVolume()]),
+                    (section, blocks) -> setSection(destination, section, xOffset, yOffset, zOffset, blocks));
+            } else {
+                // Serially, the mapper is called in the same order as it always has been
+                for (int z = zMin; z <= zMax; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = xMin; x <= xMax; x++) {
+                            final BlockState block = mapper.map(unmodifiableVolume, x, y, z);
 
-                        destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
+                            destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
+                        }
                     }
                 }
             }
@@ -107,15 +118,24 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         final int yMax = firstUnmodifiableVolume.getBlockMax().getY();
         final int zMax = firstUnmodifiableVolume.getBlockMax().getZ();
         final UnmodifiableBlockVolume secondUnmodifiableVolume = second.getUnmodifiableBlockView();
+        final boolean parallel = destination != this.volume && destination != second && isDetached(this.volume) && isDetached(second) && VolumeSections.isParallel(this.volume.getBlockSize());
         try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
             .source(this)) {
             context.buildAndSwitch();
-            for (int z = zMin; z <= zMax; z++) {
-                for (int y = yMin; y <= yMax; y++) {
-                    for (int x = xMin; x <= xMax; x++) {
-                        final BlockState block = merger.merge(firstUnmodifiableVolume, x, y, z,
-                            secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
-                        destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
+            if (parallel) {
+                VolumeSections.computeThenApply(VolumeSections.split(firstUnmodifiableVolume.getBlockMin(), firstUnmodifiableVolume.getBlockMax()),
+                    section -> mergeSection(section, merger, firstUnmodifiableVolume, secondUnmodifiableVolume, offsetSecond,
+                        new BlockState[section.getVolume()]),
+                    (section, blocks) -> setSection(destination, section, xOffsetDestination, yOffsetDestination, zOffsetDestination, blocks));
+            } else {
+                // Serially, the merger is called in the same order as it always has been
+                for (int z = zMin; z <= zMax; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = xMin; x <= xMax; x++) {
+                            final BlockState block = merger.merge(firstUnmodifiableVolume, x, y, z,
+                                secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
+                            destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
+                        }
                     }
                 }
             }
@@ -153,6 +173,19 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        if (isDetached(this.volume) && VolumeSections.isParallel(this.volume.getBlockSize())) {
+            return VolumeSections.reduce(VolumeSections.split(unmodifiableVolume.getBlockMin(), unmodifiableVolume.getBlockMax()), section -> {
+                T reduction = identity;
+                for (int z = section.zMin; z <= section.zMax; z++) {
+                    for (int y = section.yMin; y <= section.yMax; y++) {
+                        for (int x = section.xMin; x <= section.xMax; x++) {
+                            reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
+                        }
+                    }
+                }
+                return reduction;
+            }, merge, identity);
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -164,6 +197,63 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    /**
+     * Maps the blocks of a section, in the order they are stored in an
+     * {@link ArrayMutableBlockBuffer}.
+     */
+    private static BlockState[] mapSection(VolumeSections.Section section, BlockVolumeMapper mapper, UnmodifiableBlockVolume volume,
+        BlockState[] blocks) {
+        int i = 0;
+        for (int x = section.xMin; x <= section.xMax; x++) {
+            for (int z = section.zMin; z <= section.zMax; z++) {
+                for (int y = section.yMin; y <= section.yMax; y++) {
+                    blocks[i++] = mapper.map(volume, x, y, z);
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private static BlockState[] mergeSection(VolumeSections.Section section, BlockVolumeMerger merger, UnmodifiableBlockVolume first,
+        UnmodifiableBlockVolume second, Vector3i offsetSecond, BlockState[] blocks) {
+        final int xOffset = offsetSecond.getX();
+        final int yOffset = offsetSecond.getY();
+        final int zOffset = offsetSecond.getZ();
+        int i = 0;
+        for (int x = section.xMin; x <= section.xMax; x++) {
+            for (int z = section.zMin; z <= section.zMax; z++) {
+                for (int y = section.yMin; y <= section.yMax; y++) {
+                    blocks[i++] = merger.merge(first, x, y, z, second, x + xOffset, y + yOffset, z + zOffset);
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private static void setSection(MutableBlockVolume destination, VolumeSections.Section section, int xOffset, int yOffset, int zOffset,
+        BlockState[] blocks) {
+        if (destination instanceof ArrayMutableBlockBuffer) {
+            ((ArrayMutableBlockBuffer) destination).setBlocks(section.getMin().add(xOffset, yOffset, zOffset), section.getSize(), blocks);
+            return;
+        }
+        int i = 0;
+        for (int x = section.xMin; x <= section.xMax; x++) {
+            for (int z = section.zMin; z <= section.zMax; z++) {
+                for (int y = section.yMin; y <= section.yMax; y++) {
+                    destination.setBlock(x + xOffset, y + yOffset, z + zOffset, blocks[i++]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets whether a volume is a buffer that is not backed by a world, and
+     * can therefore be read from several threads at once.
+     */
+    private static boolean isDetached(BlockVolume volume) {
+        return volume instanceof AbstractBlockBuffer;
+    }
+
     private Vector3i align(BlockVolume other) {
         final Vector3i thisSize = this.volume.getBlockSize();
         final Vector3i otherSize = other.getBlockSize();
@@ -0,0 +1,201 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.VolumeWorkerCategory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Splits the area covered by a volume worker into sections of at most
+ * 16x16x16 and processes them on the common fork/join pool.
+ */
+final class VolumeSections {
+
+    static final int SECTION_SIZE = 16;
+
+    /**
+     * Gets whether the parallel mode is enabled and a volume of the given
+     * size is large enough to be processed in parallel. Callers are still
+     * responsible for only using it on volumes that are not backed by a
+     * world.
+     *
+     * @param size The size of the volume
+     * @return Whether to process the volume in parallel
+     */
+    static boolean isParallel(Vector3i size) {
+        final VolumeWorkerCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getVolumeWorkerCategory();
+        return category.isParallel() && (long) size.getX() * size.getY() * size.getZ() >= category.getMinimumVolume();
+    }
+
+    /**
+     * Splits the area between two positions into sections aligned to the
+     * minimum position.
+     *
+     * @param min The lowest position, inclusive
+     * @param max The highest position, inclusive
+     * @return The sections
+     */
+    static List<Section> split(Vector3i min, Vector3i max) {
+        final List<Section> sections = new ArrayList<>();
+        for (int z = min.getZ(); z <= max.getZ(); z += SECTION_SIZE) {
+            for (int y = min.getY(); y <= max.getY(); y += SECTION_SIZE) {
+                for (int x = min.getX(); x <= max.getX(); x += SECTION_SIZE) {
+                    sections.add(new Section(x, y, z, Math.min(x + SECTION_SIZE - 1, max.getX()), Math.min(y + SECTION_SIZE - 1, max.getY()),
+                        Math.min(z + SECTION_SIZE - 1, max.getZ())));
+                }
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * Reduces every section in parallel and combines the results in section
+     * order.
+     *
+     * @param sections The sections
+     * @param reducer Reduces a single section
+     * @param merge Combines the results of two groups of sections
+     * @param identity The result if there are no sections
+     * @param <T> The type of the result
+     * @return The combined result
+     */
+    static <T> T reduce(List<Section> sections, Function<Section, T> reducer, BiFunction<T, T, T> merge, T identity) {
+        if (sections.isEmpty()) {
+            return identity;
+        }
+        return ForkJoinPool.commonPool().invoke(new ReduceTask<>(sections, 0, sections.size(), reducer, merge, identity));
+    }
+
+    /**
+     * Computes the result of every section in parallel, then hands them to
+     * the consumer on the calling thread in section order, as soon as each
+     * one is available. Only a limited number of sections are computed
+     * ahead of the one being consumed, so the results held at once stay
+     * bounded whatever the size of the volume.
+     *
+     * @param sections The sections
+     * @param compute Computes the result of a single section
+     * @param consumer Consumes the results
+     * @param <T> The type of the result
+     */
+    static <T> void computeThenApply(List<Section> sections, Function<Section, T> compute, BiConsumer<Section, T> consumer) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final int window = Math.max(pool.getParallelism() * 2, 2);
+        final Deque<ForkJoinTask<T>> tasks = new ArrayDeque<>(window);
+        int submitted = 0;
+        try {
+            for (int i = 0; i < sections.size(); i++) {
+                while (submitted < sections.size() && submitted - i < window) {
+                    final Section section = sections.get(submitted++);
+                    tasks.add(pool.submit(() -> compute.apply(section)));
+                }
+                consumer.accept(sections.get(i), tasks.poll().join());
+            }
+        } finally {
+            for (ForkJoinTask<T> task : tasks) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    private VolumeSections() {
+    }
+
+    static final class Section {
+
+        final int xMin;
+        final int yMin;
+        final int zMin;
+        final int xMax;
+        final int yMax;
+        final int zMax;
+
+        Section(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {
+            this.xMin = xMin;
+            this.yMin = yMin;
+            this.zMin = zMin;
+            this.xMax = xMax;
+            this.yMax = yMax;
+            this.zMax = zMax;
+        }
+
+        Vector3i getMin() {
+            return new Vector3i(this.xMin, this.yMin, this.zMin);
+        }
+
+        Vector3i getSize() {
+            return new Vector3i(this.xMax - this.xMin + 1, this.yMax - this.yMin + 1, this.zMax - this.zMin + 1);
+        }
+
+        int getVolume() {
+            return (this.xMax - this.xMin + 1) * (this.yMax - this.yMin + 1) * (this.zMax - this.zMin + 1);
+        }
+    }
+
+    private static final class ReduceTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Section> sections;
+        private final int from;
+        private final int to;
+        private final Function<Section, T> reducer;
+        private final BiFunction<T, T, T> merge;
+        private final T identity;
+
+        ReduceTask(List<Section> sections, int from, int to, Function<Section, T> reducer, BiFunction<T, T, T> merge, T identity) {
+            this.sections = sections;
+            this.from = from;
+            this.to = to;
+            this.reducer = reducer;
+            this.merge = merge;
+            this.identity = identity;
+        }
+
+        @Override
+        protected T compute() {
+            if (this.to - this.from <= 1) {
+                return this.to == this.from ? this.identity : this.reducer.apply(this.sections.get(this.from));
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            final ReduceTask<T> left = new ReduceTask<>(this.sections, this.from, middle, this.reducer, this.merge, this.identity);
+            left.fork();
+            final T right = new ReduceTask<>(this.sections, middle, this.to, this.reducer, this.merge, this.identity).compute();
+            return this.merge.apply(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.world.chunk.ChunkPrimer;
+import org.spongepowered.api.world.biome.BiomeType;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
+import org.spongepowered.api.world.gen.GenerationPopulator;
+import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
+import org.spongepowered.common.util.gen.ObjectArrayMutableBiomeBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.annotation.Nullable;
+
+/**
+ * The buffers of a chunk whose terrain is being generated, along with how far
+ * the generation has progressed. Nothing in here refers to the world, so the
+ * terrain may be generated on any thread, as long as only one thread works on
+ * it at a time.
+ */
+final class ChunkTerrain {
+
+    static final int BIOMES = 0;
+    static final int BASE = 1;
+    static final int GROUND_COVER = 2;
+    static final int GENERATION_POPULATORS = 3;
+    static final int BIOME_GENERATION_POPULATORS = 4;
+    static final int DONE = 5;
+
+    private static final Vector3i CHUNK_AREA = new Vector3i(16, 1, 16);
+
+    final int chunkX;
+    final int chunkZ;
+    final Random rand;
+    final ChunkPrimer primer = new ChunkPrimer();
+    final ChunkPrimerBuffer blockBuffer;
+    final ObjectArrayMutableBiomeBuffer biomes;
+    final List<BiomeType> uniqueBiomes = new ArrayList<>();
+    @Nullable ImmutableBiomeVolume biomeBuffer;
+    @Nullable List<GenerationPopulator> biomePopulators;
+    double[] stoneNoise = new double[256];
+
+    int stage = BIOMES;
+    int populatorIndex;
+
+    ChunkTerrain(int chunkX, int chunkZ) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.rand = new Random(chunkX * 341873128712L + chunkZ * 132897987541L);
+        this.blockBuffer = new ChunkPrimerBuffer(this.primer, chunkX, chunkZ);
+        this.biomes = new ObjectArrayMutableBiomeBuffer(new Vector3i(chunkX * 16, 0, chunkZ * 16), CHUNK_AREA);
+    }
+}
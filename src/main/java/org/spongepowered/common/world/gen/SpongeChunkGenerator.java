@@ -25,11 +25,13 @@
 package org.spongepowered.common.world.gen;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import co.aikar.timings.Timing;
 import co.aikar.timings.Timings;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import net.minecraft.block.BlockFalling;
@@ -43,6 +45,7 @@
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.Biome.SpawnListEntry;
+import net.minecraft.world.biome.BiomeProvider;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.gen.ChunkGeneratorOverworld;
@@ -66,7 +69,6 @@
 import org.spongepowered.api.world.biome.GroundCoverLayer;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
-import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.gen.BiomeGenerator;
 import org.spongepowered.api.world.gen.GenerationPopulator;
 import org.spongepowered.api.world.gen.Populator;
@@ -78,6 +80,7 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.gen.ChunkGeneratorOverworldBridge;
 import org.spongepowered.common.bridge.world.gen.FlaggedPopulatorBridge;
+import org.spongepowered.common.config.category.AsyncTerrainGenerationCategory;
 import org.spongepowered.common.event.tracking.IPhaseState;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
@@ -86,7 +89,6 @@
 import org.spongepowered.common.event.tracking.phase.generation.PopulatorPhaseContext;
 import org.spongepowered.common.mixin.core.world.WorldProviderAccessor;
 import org.spongepowered.common.relocate.co.aikar.timings.SpongeTimingsFactory;
-import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
 import org.spongepowered.common.util.gen.ObjectArrayMutableBiomeBuffer;
 import org.spongepowered.common.world.biome.SpongeBiomeGenerationSettings;
 import org.spongepowered.common.world.extent.SoftBufferExtentViewDownsize;
@@ -97,6 +99,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -124,6 +128,10 @@ public class SpongeChunkGenerator implements WorldGenerator, IChunkGenerator {
     protected Map<String, Timing> populatorTimings = Maps.newHashMap();
     protected Timing chunkGeneratorTiming;
 
+    private final Object terrainLock = new Object();
+    private final Set<String> threadSafePopulators;
+    @Nullable private TerrainPrefetcher terrainPrefetcher;
+
     public SpongeChunkGenerator(World world, GenerationPopulator base, BiomeGenerator biomegen) {
         this.world = checkNotNull(world, "world");
         this.baseGenerator = checkNotNull(base, "baseGenerator");
@@ -134,7 +142,8 @@ public SpongeChunkGenerator(World world, GenerationPopulator base, BiomeGenerato
 
         this.genpop = Lists.newArrayList();
         this.pop = Lists.newArrayList();
-        this.biomeSettings = Maps.newHashMap();
+        // Read when generating terrain off the main thread
+        this.biomeSettings = new ConcurrentHashMap<>();
         this.rand = new Random(world.getSeed());
         this.noise4 = new NoiseGeneratorPerlin(this.rand, 4);
         this.stoneNoise = new double[256];
@@ -155,6 +164,13 @@ public SpongeChunkGenerator(World world, GenerationPopulator base, BiomeGenerato
                     SpongeTimingsFactory.ofSafe(chunkGeneratorName, ((WorldServerBridge) world).bridge$getTimingsHandler().chunkPopulate);
         }
 
+        final AsyncTerrainGenerationCategory terrainCategory =
+            SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncTerrainGenerationCategory();
+        this.threadSafePopulators = ImmutableSet.copyOf(terrainCategory.getThreadSafePopulators());
+        this.terrainPrefetcher = terrainCategory.isEnabled() && world instanceof WorldServer
+                                 ? new TerrainPrefetcher(this, (WorldServer) world, terrainCategory.getLookAheadTicks(),
+                                     terrainCategory.getMaxPendingChunks()) : null;
+
     }
 
     @Override
@@ -165,6 +181,7 @@ public GenerationPopulator getBaseGenerationPopulator() {
     @Override
     public void setBaseGenerationPopulator(GenerationPopulator baseGenerationPopulator) {
         this.baseGenerator = baseGenerationPopulator;
+        clearPrefetchedTerrain();
         if (this.baseGenerator instanceof ChunkGeneratorOverworldBridge) {
             ((ChunkGeneratorOverworldBridge) this.baseGenerator).bridge$setBiomeGenerator(this.biomeGenerator);
         }
@@ -177,6 +194,7 @@ public List<GenerationPopulator> getGenerationPopulators() {
 
     public void setGenerationPopulators(List<GenerationPopulator> generationPopulators) {
         this.genpop = Lists.newArrayList(generationPopulators);
+        clearPrefetchedTerrain();
     }
 
     @Override
@@ -193,7 +211,8 @@ public Map<BiomeType, BiomeGenerationSettings> getBiomeOverrides() {
     }
 
     public void setBiomeOverrides(Map<BiomeType, BiomeGenerationSettings> biomeOverrides) {
-        this.biomeSettings = Maps.newHashMap(biomeOverrides);
+        this.biomeSettings = new ConcurrentHashMap<>(biomeOverrides);
+        clearPrefetchedTerrain();
     }
 
     @Override
@@ -204,6 +223,7 @@ public BiomeGenerator getBiomeGenerator() {
     @Override
     public void setBiomeGenerator(BiomeGenerator biomeGenerator) {
         this.biomeGenerator = biomeGenerator;
+        clearPrefetchedTerrain();
         ((WorldProviderAccessor) this.world.provider).accessor$setBiomeProvider(CustomBiomeProvider.of(biomeGenerator));
         if (this.baseGenerator instanceof ChunkGeneratorOverworldBridge) {
             ((ChunkGeneratorOverworldBridge) this.baseGenerator).bridge$setBiomeGenerator(biomeGenerator);
@@ -239,56 +259,194 @@ public List<Populator> getPopulators(Class<? extends Populator> type) {
 
     @Override
     public Chunk generateChunk(int chunkX, int chunkZ) {
-        this.rand.setSeed(chunkX * 341873128712L + chunkZ * 132897987541L);
-        this.cachedBiomes.reuse(new Vector3i(chunkX * 16, 0, chunkZ * 16));
-        this.biomeGenerator.generateBiomes(this.cachedBiomes);
-        ImmutableBiomeVolume biomeBuffer = this.cachedBiomes.getImmutableBiomeCopy();
-
-        // Generate base terrain
-        ChunkPrimer chunkprimer = new ChunkPrimer();
-        MutableBlockVolume blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
-        this.baseGenerator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
-
-        if (!(this.baseGenerator instanceof SpongeGenerationPopulator)) {
-            this.replaceBiomeBlocks(this.world, this.rand, chunkX, chunkZ, chunkprimer, biomeBuffer);
+        ChunkTerrain terrain = this.terrainPrefetcher == null ? null : this.terrainPrefetcher.take(chunkX, chunkZ);
+        if (terrain == null) {
+            terrain = new ChunkTerrain(chunkX, chunkZ);
         }
+        generateTerrain(terrain, false);
 
-        // Apply the generator populators to complete the blockBuffer
-        for (GenerationPopulator populator : this.genpop) {
-            populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
+        // Assemble chunk
+        Chunk chunk;
+        if (this.baseGenerator instanceof SpongeGenerationPopulator && ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk() != null) {
+            chunk = ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk();
+            ((ChunkBridge) chunk).bridge$fill(terrain.primer);
+        } else {
+            chunk = new Chunk(this.world, terrain.primer, chunkX, chunkZ);
+            terrain.biomes.fill(chunk.getBiomeArray());
         }
+        chunk.generateSkylightMap();
+        return chunk;
+    }
 
+    /**
+     * Generates the biomes of a chunk whose terrain is being generated.
+     *
+     * <p>This always runs on the main thread, as the biome generator is also
+     * used by the world and by {@link #populate} without any locking.</p>
+     *
+     * @param terrain The terrain to generate the biomes of
+     */
+    void generateBiomes(ChunkTerrain terrain) {
+        this.biomeGenerator.generateBiomes(terrain.biomes);
+        terrain.biomeBuffer = terrain.biomes.getImmutableBiomeCopy();
         // Get unique biomes to determine what generator populators to run
-        List<BiomeType> uniqueBiomes = Lists.newArrayList();
         BiomeType biome;
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                biome = this.cachedBiomes.getBiome(chunkX * 16 + x, 0, chunkZ * 16 + z);
-                if (!uniqueBiomes.contains(biome)) {
-                    uniqueBiomes.add(biome);
+                biome = terrain.biomes.getBiome(terrain.chunkX * 16 + x, 0, terrain.chunkZ * 16 + z);
+                if (!terrain.uniqueBiomes.contains(biome)) {
+                    terrain.uniqueBiomes.add(biome);
                 }
             }
         }
+        terrain.stage = ChunkTerrain.BASE;
+    }
 
-        // run our generator populators
-        for (BiomeType type : uniqueBiomes) {
-            BiomeGenerationSettings settings = this.getBiomeSettings(type);
-            for (GenerationPopulator populator : settings.getGenerationPopulators()) {
-                populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
+    /**
+     * Runs the stages of generating the terrain of a chunk that have not run
+     * yet. These only write to the buffers of the terrain.
+     *
+     * <p>When run off the main thread, the biomes must already have been
+     * generated, and generation stops before any stage that may touch the
+     * world or the state of this generator shared with the main thread,
+     * leaving it to be finished once the chunk is needed.</p>
+     *
+     * @param terrain The terrain to generate
+     * @param async Whether this is run off the main thread
+     */
+    void generateTerrain(ChunkTerrain terrain, boolean async) {
+        if (terrain.stage == ChunkTerrain.BIOMES) {
+            checkState(!async, "Biomes can only be generated on the main thread");
+            generateBiomes(terrain);
+        }
+        if (terrain.stage == ChunkTerrain.BASE) {
+            // Generate base terrain
+            runGenerationPopulator(this.baseGenerator, terrain);
+            terrain.stage = ChunkTerrain.GROUND_COVER;
+        }
+        if (terrain.stage == ChunkTerrain.GROUND_COVER) {
+            if (!(this.baseGenerator instanceof SpongeGenerationPopulator)) {
+                if (async && !hasBiomeSettings(terrain.uniqueBiomes)) {
+                    return;
+                }
+                // Ground cover layers are provided by plugins as well
+                synchronized (this.terrainLock) {
+                    final double[] stoneNoise = this.noise4.getRegion(terrain.stoneNoise, terrain.chunkX * 16, terrain.chunkZ * 16, 16, 16,
+                        0.0625D, 0.0625D, 1.0D);
+                    this.replaceBiomeBlocks(this.world, terrain.rand, terrain.chunkX, terrain.chunkZ, terrain.primer, terrain.biomeBuffer, stoneNoise);
+                }
+            }
+            terrain.stage = ChunkTerrain.GENERATION_POPULATORS;
+        }
+        if (terrain.stage == ChunkTerrain.GENERATION_POPULATORS) {
+            // Apply the generator populators to complete the blockBuffer
+            if (!runGenerationPopulators(terrain, this.genpop, async)) {
+                return;
             }
+            terrain.stage = ChunkTerrain.BIOME_GENERATION_POPULATORS;
+            terrain.populatorIndex = 0;
         }
+        if (terrain.stage == ChunkTerrain.BIOME_GENERATION_POPULATORS) {
+            if (terrain.biomePopulators == null) {
+                if (async && !hasBiomeSettings(terrain.uniqueBiomes)) {
+                    return;
+                }
+                final List<GenerationPopulator> populators = new ArrayList<>();
+                for (BiomeType type : terrain.uniqueBiomes) {
+                    populators.addAll(this.getBiomeSettings(type).getGenerationPopulators());
+                }
+                terrain.biomePopulators = populators;
+            }
+            // run our generator populators
+            if (!runGenerationPopulators(terrain, terrain.biomePopulators, async)) {
+                return;
+            }
+            terrain.stage = ChunkTerrain.DONE;
+        }
+    }
 
-        // Assemble chunk
-        Chunk chunk;
-        if (this.baseGenerator instanceof SpongeGenerationPopulator && ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk() != null) {
-            chunk = ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk();
-            ((ChunkBridge) chunk).bridge$fill(chunkprimer);
-        } else {
-            chunk = new Chunk(this.world, chunkprimer, chunkX, chunkZ);
-            this.cachedBiomes.fill(chunk.getBiomeArray());
+    private boolean runGenerationPopulators(ChunkTerrain terrain, List<GenerationPopulator> populators, boolean async) {
+        for (; terrain.populatorIndex < populators.size(); terrain.populatorIndex++) {
+            final GenerationPopulator populator = populators.get(terrain.populatorIndex);
+            // Structures keep track of where they were generated, which the main thread reads at any time
+            if (async && populator instanceof MapGenStructure) {
+                return false;
+            }
+            runGenerationPopulator(populator, terrain);
+        }
+        return true;
+    }
+
+    /**
+     * Runs a generation populator, or the base generator, on the buffers of a
+     * chunk. Populators are free to keep state between chunks, so unless they
+     * are declared thread safe in the config only one of them runs at a time.
+     */
+    private void runGenerationPopulator(GenerationPopulator populator, ChunkTerrain terrain) {
+        final org.spongepowered.api.world.World world = (org.spongepowered.api.world.World) this.world;
+        if (this.threadSafePopulators.contains(populator.getClass().getName())) {
+            populator.populate(world, terrain.blockBuffer, terrain.biomeBuffer);
+            return;
+        }
+        synchronized (this.terrainLock) {
+            populator.populate(world, terrain.blockBuffer, terrain.biomeBuffer);
+        }
+    }
+
+    /**
+     * Gets whether the settings of all the given biomes already exist, as
+     * they can only be created on the main thread.
+     */
+    private boolean hasBiomeSettings(List<BiomeType> biomes) {
+        for (BiomeType biome : biomes) {
+            if (!this.biomeSettings.containsKey(biome)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets whether the terrain of chunks can be generated off the main
+     * thread. Vanilla and mod generators share state with the world, such as
+     * the biome provider and its caches, and are never run concurrently.
+     */
+    public boolean canGenerateTerrainAsync() {
+        return !(this.baseGenerator instanceof IChunkGenerator) && !(this.baseGenerator instanceof SpongeGenerationPopulator)
+               && !(this.biomeGenerator instanceof BiomeProvider);
+    }
+
+    /**
+     * Starts generating the terrain of chunks ahead of players, if enabled,
+     * and drops terrain that was generated ahead of time but not used.
+     */
+    public void tickTerrainPrefetch() {
+        if (this.terrainPrefetcher != null && canGenerateTerrainAsync()) {
+            this.terrainPrefetcher.tick();
+        }
+    }
+
+    /**
+     * Starts generating the terrain of a chunk off the main thread, so it is
+     * ready by the time the chunk is needed.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return False if no more chunks can be generated ahead of time for now,
+     *     or this generator doesn't support it or it is disabled
+     */
+    public boolean prefetchTerrain(int chunkX, int chunkZ) {
+        // Only created when async terrain generation is enabled
+        if (this.terrainPrefetcher == null || !canGenerateTerrainAsync()) {
+            return false;
+        }
+        return this.terrainPrefetcher.prefetch(chunkX, chunkZ);
+    }
+
+    private void clearPrefetchedTerrain() {
+        if (this.terrainPrefetcher != null) {
+            this.terrainPrefetcher.clear();
         }
-        chunk.generateSkylightMap();
-        return chunk;
     }
 
     @Override
@@ -544,11 +702,15 @@ public void recreateStructures(Chunk chunkIn, int x, int z) {
     public void replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeVolume biomes) {
         double d0 = 0.03125D;
         this.stoneNoise = this.noise4.getRegion(this.stoneNoise, x * 16, z * 16, 16, 16, d0 * 2.0D, d0 * 2.0D, 1.0D);
+        this.replaceBiomeBlocks(world, rand, x, z, chunk, biomes, this.stoneNoise);
+    }
+
+    private void replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeVolume biomes, double[] stoneNoise) {
         Vector3i min = biomes.getBiomeMin();
         for (int x0 = 0; x0 < 16; ++x0) {
             for (int z0 = 0; z0 < 16; ++z0) {
                 BiomeType biomegenbase = biomes.getBiome(min.getX() + x0, 0, min.getZ() + z0);
-                this.generateBiomeTerrain(world, rand, chunk, x * 16 + x0, z * 16 + z0, this.stoneNoise[x0 + z0 * 16],
+                this.generateBiomeTerrain(world, rand, chunk, x * 16 + x0, z * 16 + z0, stoneNoise[x0 + z0 * 16],
                         this.getBiomeSettings(biomegenbase).getGroundCoverLayers());
             }
         }
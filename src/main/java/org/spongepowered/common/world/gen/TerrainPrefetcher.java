@@ -0,0 +1,216 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+/**
+ * Generates the terrain of chunks players are moving towards on a shared
+ * thread pool, so that {@link SpongeChunkGenerator#generateChunk} only has to
+ * finish and assemble them once they are needed.
+ *
+ * <p>Apart from the generation itself, everything here happens on the main
+ * thread. This includes generating the biomes of the chunks, as the biome
+ * generator is shared with the world.</p>
+ */
+final class TerrainPrefetcher {
+
+    private static final int PREDICTION_INTERVAL = 10;
+    private static final int EXPIRY_TICKS = 600;
+    // Players moving slower than this, in blocks per tick, load chunks fast enough on their own
+    private static final double MIN_SPEED_SQUARED = 0.25 * 0.25;
+
+    @Nullable private static ExecutorService executor;
+
+    private final SpongeChunkGenerator generator;
+    private final WorldServer world;
+    private final Long2ObjectMap<Pending> pending = new Long2ObjectOpenHashMap<>();
+    private final int lookAheadTicks;
+    private final int maxPending;
+    private int ticks;
+
+    /**
+     * Creates a new prefetcher.
+     *
+     * @param generator The generator to generate terrain with
+     * @param world The world of the generator
+     * @param lookAheadTicks How many ticks ahead of moving players to
+     *     generate terrain for, or 0 to only generate requested chunks
+     * @param maxPending The maximum number of chunks generated ahead of
+     *     time and not used yet
+     */
+    TerrainPrefetcher(SpongeChunkGenerator generator, WorldServer world, int lookAheadTicks, int maxPending) {
+        this.generator = generator;
+        this.world = world;
+        this.lookAheadTicks = lookAheadTicks;
+        this.maxPending = maxPending;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final int threads = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncTerrainGenerationCategory().getNumThreads();
+            executor = Executors.newFixedThreadPool(Math.max(threads, 1), new ThreadFactoryBuilder()
+                .setNameFormat("Sponge - Async Terrain Thread #%d")
+                .setDaemon(true)
+                .build());
+        }
+        return executor;
+    }
+
+    /**
+     * Starts generating the terrain of a chunk, unless it already exists or
+     * is being generated.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return False if too many chunks are already pending
+     */
+    boolean prefetch(int chunkX, int chunkZ) {
+        if (this.pending.size() >= this.maxPending) {
+            return false;
+        }
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (this.pending.containsKey(key) || this.world.getChunkProvider().isChunkGeneratedAt(chunkX, chunkZ)) {
+            return true;
+        }
+        final ChunkTerrain terrain = new ChunkTerrain(chunkX, chunkZ);
+        this.generator.generateBiomes(terrain);
+        final Future<ChunkTerrain> future = getExecutor().submit(() -> {
+            this.generator.generateTerrain(terrain, true);
+            return terrain;
+        });
+        this.pending.put(key, new Pending(future, this.ticks));
+        return true;
+    }
+
+    /**
+     * Takes the terrain generated ahead of time for a chunk, waiting for it if
+     * it is still being generated.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The terrain, or null if it has to be generated from scratch
+     */
+    @Nullable
+    ChunkTerrain take(int chunkX, int chunkZ) {
+        final Pending pending = this.pending.remove(ChunkPos.asLong(chunkX, chunkZ));
+        if (pending == null || pending.future.cancel(false)) {
+            // If it hasn't started yet it's quicker to generate it right away
+            return null;
+        }
+        try {
+            return pending.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            SpongeImpl.getLogger().error("Failed to generate the terrain of chunk ({}, {}) in world {} ahead of time, generating it again.",
+                chunkX, chunkZ, this.world.getWorldInfo().getWorldName(), e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Drops terrain that has not been used for a while, and starts
+     * generating the chunks that will come into view of moving players.
+     */
+    void tick() {
+        if (++this.ticks % PREDICTION_INTERVAL != 0) {
+            return;
+        }
+        final ObjectIterator<Pending> iterator = this.pending.values().iterator();
+        while (iterator.hasNext()) {
+            final Pending pending = iterator.next();
+            if (this.ticks - pending.submitted > EXPIRY_TICKS) {
+                pending.future.cancel(false);
+                iterator.remove();
+            }
+        }
+        if (this.lookAheadTicks <= 0) {
+            return;
+        }
+        final int viewDistance = ((org.spongepowered.api.world.World) this.world).getViewDistance();
+        for (EntityPlayer player : this.world.playerEntities) {
+            final double motionX = player.posX - player.lastTickPosX;
+            final double motionZ = player.posZ - player.lastTickPosZ;
+            if (motionX * motionX + motionZ * motionZ < MIN_SPEED_SQUARED) {
+                continue;
+            }
+            final int currentX = MathHelper.floor(player.posX) >> 4;
+            final int currentZ = MathHelper.floor(player.posZ) >> 4;
+            final int targetX = MathHelper.floor(player.posX + motionX * this.lookAheadTicks) >> 4;
+            final int targetZ = MathHelper.floor(player.posZ + motionZ * this.lookAheadTicks) >> 4;
+            // Only the chunks that aren't in view yet, closest to the player first
+            for (int radius = 0; radius <= viewDistance; radius++) {
+                for (int x = targetX - radius; x <= targetX + radius; x++) {
+                    for (int z = targetZ - radius; z <= targetZ + radius; z++) {
+                        if (Math.max(Math.abs(x - targetX), Math.abs(z - targetZ)) != radius
+                            || Math.max(Math.abs(x - currentX), Math.abs(z - currentZ)) <= viewDistance) {
+                            continue;
+                        }
+                        prefetch(x, z);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops all terrain generated ahead of time, for example because the
+     * generator was changed.
+     */
+    void clear() {
+        for (Pending pending : this.pending.values()) {
+            pending.future.cancel(false);
+        }
+        this.pending.clear();
+    }
+
+    private static final class Pending {
+
+        final Future<ChunkTerrain> future;
+        final int submitted;
+
+        Pending(Future<ChunkTerrain> future, int submitted) {
+            this.future = future;
+            this.submitted = submitted;
+        }
+    }
+}
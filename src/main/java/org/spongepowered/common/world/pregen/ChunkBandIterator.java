@@ -0,0 +1,126 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.pregen;
+
+import com.flowpowered.math.vector.Vector3i;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Walks the chunks of a rectangular area in bands of columns, row by row
+ * within each band. The last column of a band is also the first column of
+ * the next one, so that every chunk but those on the far edges is loaded
+ * together with its neighbors at some point, which is what populating it
+ * requires.
+ */
+final class ChunkBandIterator {
+
+    private final int xMin;
+    private final int xMax;
+    private final int zMin;
+    private final int zMax;
+    private final int bandWidth;
+    private int bandStart;
+    private int x;
+    private int z;
+    private boolean done;
+
+    /**
+     * Creates a new iterator.
+     *
+     * @param min The lowest chunk position, inclusive
+     * @param max The highest chunk position, inclusive
+     * @param bandWidth The number of columns of a band, excluding the one
+     *     it shares with the next band
+     */
+    ChunkBandIterator(Vector3i min, Vector3i max, int bandWidth) {
+        this.xMin = min.getX();
+        this.xMax = max.getX();
+        this.zMin = min.getZ();
+        this.zMax = max.getZ();
+        this.bandWidth = Math.max(bandWidth, 1);
+        this.bandStart = min.getX();
+        this.x = min.getX();
+        this.z = min.getZ();
+    }
+
+    private ChunkBandIterator(ChunkBandIterator other) {
+        this.xMin = other.xMin;
+        this.xMax = other.xMax;
+        this.zMin = other.zMin;
+        this.zMax = other.zMax;
+        this.bandWidth = other.bandWidth;
+        this.bandStart = other.bandStart;
+        this.x = other.x;
+        this.z = other.z;
+        this.done = other.done;
+    }
+
+    ChunkBandIterator copy() {
+        return new ChunkBandIterator(this);
+    }
+
+    /**
+     * Gets the number of positions this iterator walks in total, from the
+     * start. The columns shared by two bands are walked, and counted, once
+     * for each of them.
+     *
+     * @return The total number of positions
+     */
+    int size() {
+        final int columns = this.xMax - this.xMin + 1;
+        final int bands = Math.max((columns - 1 + this.bandWidth - 1) / this.bandWidth, 1);
+        return (columns + bands - 1) * (this.zMax - this.zMin + 1);
+    }
+
+    boolean hasNext() {
+        return !this.done;
+    }
+
+    Vector3i peek() {
+        if (this.done) {
+            throw new NoSuchElementException();
+        }
+        return new Vector3i(this.x, 0, this.z);
+    }
+
+    Vector3i next() {
+        final Vector3i next = peek();
+        final int bandEnd = Math.min(this.bandStart + this.bandWidth, this.xMax);
+        if (this.x < bandEnd) {
+            this.x++;
+        } else if (this.z < this.zMax) {
+            this.x = this.bandStart;
+            this.z++;
+        } else if (bandEnd < this.xMax) {
+            this.bandStart = bandEnd;
+            this.x = this.bandStart;
+            this.z = this.zMin;
+        } else {
+            this.done = true;
+        }
+        return next;
+    }
+}
@@ -30,6 +30,8 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -44,7 +46,11 @@
 import org.spongepowered.api.world.WorldBorder;
 import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.config.category.ChunkPreGenerationCategory;
+import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.time.Duration;
@@ -97,6 +103,16 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private int chunksSkipped = 0;
     private int chunksGenerated = 0;
 
+    // Only used in throughput mode
+    @Nullable private final ChunkBandIterator bands;
+    @Nullable private ChunkBandIterator prefetchCursor;
+    @Nullable private SpongeChunkGenerator generator;
+    private long bandPosition;
+    private long prefetchPosition;
+    @Nullable private Vector3i lastPosition;
+    private List<Chunk> previousRow = new ArrayList<>();
+    private List<Chunk> currentRow = new ArrayList<>();
+
     // Used for wall clock times.
     private long generationStartTime = 0;
     private long generationEndTime = 0;
@@ -140,7 +156,25 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.currentIndex = 0;
         this.nextJump = 0;
 
-        this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
+        final ChunkPreGenerationCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations()
+            .getChunkPreGenerationCategory();
+        if (category.isThroughputMode() && world instanceof WorldServer) {
+            // One extra row and column, so that the chunks on the edges can be populated
+            final Vector3i min = this.currentPosition.sub(this.chunkRadius, 0, this.chunkRadius);
+            final Vector3i max = this.currentPosition.add(this.chunkRadius + 1, 0, this.chunkRadius + 1);
+            // Two rows of a band are loaded at most
+            this.bands = new ChunkBandIterator(min, max, category.getMaxLoadedChunks() / 2 - 1);
+            // Chunks in the columns shared by two bands are visited, and counted, twice
+            this.totalChunksToGenerate = this.bands.size();
+            final SpongeChunkGenerator generator = ((WorldServerBridge) world).bridge$getSpongeGenerator();
+            if (generator.canGenerateTerrainAsync()) {
+                this.generator = generator;
+                this.prefetchCursor = this.bands.copy();
+            }
+        } else {
+            this.bands = null;
+            this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
+        }
 
         this.spongeTask = this.scheduler
                 .createTaskBuilder()
@@ -180,6 +214,42 @@ public int getTargetTotalChunks() {
         return this.totalChunksToGenerate;
     }
 
+    /**
+     * Gets the average number of chunks generated or skipped per second
+     * since this task started.
+     *
+     * @return The number of chunks per second
+     */
+    public double getChunksPerSecond() {
+        final long millis = getTotalTime().toMillis();
+        return millis <= 0 ? 0 : (this.chunksGenerated + this.chunksSkipped) * 1000.0 / millis;
+    }
+
+    /**
+     * Gets the estimated time until this task completes, based on the
+     * average number of chunks per second so far.
+     *
+     * @return The estimated remaining time, if any chunks were processed yet
+     */
+    public Optional<Duration> getEstimatedTimeRemaining() {
+        final double chunksPerSecond = getChunksPerSecond();
+        if (chunksPerSecond <= 0) {
+            return Optional.empty();
+        }
+        final int remaining = Math.max(this.totalChunksToGenerate - this.chunksGenerated - this.chunksSkipped, 0);
+        return Optional.of(Duration.ofMillis((long) (remaining * 1000 / chunksPerSecond)));
+    }
+
+    /**
+     * Gets the number of chunks this task currently keeps loaded. Only
+     * tracked in throughput mode.
+     *
+     * @return The number of loaded chunks
+     */
+    public int getLoadedChunks() {
+        return this.previousRow.size() + this.currentRow.size();
+    }
+
     @Override
     public Duration getTotalTime() {
         return Duration.of((isCancelled() ? this.generationEndTime : System.currentTimeMillis()) - this.generationStartTime, ChronoUnit.MILLIS);
@@ -240,28 +310,44 @@ public void accept(Task task) {
         // Count how many chunks are generated during the tick
         int count = 0;
         int skipped = 0;
-        do {
-            final Vector3i position = nextChunkPosition();
-            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
-            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
-            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
-
-            // We can only skip generation if all chunks are loaded.
-            if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
-
-                // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
-
-                count += this.currentGenCount;
+        if (this.bands != null) {
+            prefetchTerrain();
+            do {
+                if (loadNextBandChunk()) {
+                    skipped++;
+                } else {
+                    count++;
+                }
+            } while (this.bands.hasNext() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+            if (this.bands.hasNext()) {
+                prefetchTerrain();
             } else {
-
-                // Skipped them, log this.
-                skipped += this.currentGenCount;
+                unloadRows();
             }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+        } else {
+            do {
+                final Vector3i position = nextChunkPosition();
+                final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
+                final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
+                final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+
+                // We can only skip generation if all chunks are loaded.
+                if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
+
+                    // At least one chunk isn't generated, so to populate, we need to load them all.
+                    this.world.loadChunk(position, true);
+                    this.world.loadChunk(pos1, true);
+                    this.world.loadChunk(pos2, true);
+                    this.world.loadChunk(pos3, true);
+
+                    count += this.currentGenCount;
+                } else {
+
+                    // Skipped them, log this.
+                    skipped += this.currentGenCount;
+                }
+            } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+        }
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
@@ -296,6 +382,81 @@ public void accept(Task task) {
         }
     }
 
+    /**
+     * Loads the next chunk of the current band, generating it if needed, and
+     * unloads the chunks whose neighbors have all been loaded since.
+     *
+     * @return Whether the chunk already existed
+     */
+    private boolean loadNextBandChunk() {
+        final Vector3i position = this.bands.next();
+        this.bandPosition++;
+        if (this.lastPosition != null && position.getZ() != this.lastPosition.getZ()) {
+            if (position.getZ() < this.lastPosition.getZ()) {
+                // A new band, the previous one is done
+                unloadRows();
+            } else {
+                // A new row, the one before the previous one has been populated
+                unloadChunks(this.previousRow);
+                final List<Chunk> row = this.previousRow;
+                this.previousRow = this.currentRow;
+                this.currentRow = row;
+            }
+        }
+        this.lastPosition = position;
+
+        final boolean loaded = this.world.getChunk(position).isPresent();
+        final boolean exists = loaded || this.doesChunkExistCheck.test(position);
+        final Optional<org.spongepowered.api.world.Chunk> chunk = this.world.loadChunk(position, true);
+        if (!loaded && chunk.isPresent()) {
+            this.currentRow.add((Chunk) chunk.get());
+        }
+        return exists;
+    }
+
+    /**
+     * Starts generating the terrain of the chunks after the current one, as
+     * far ahead as the generator allows.
+     */
+    private void prefetchTerrain() {
+        if (this.generator == null) {
+            return;
+        }
+        while (this.prefetchPosition < this.bandPosition && this.prefetchCursor.hasNext()) {
+            this.prefetchCursor.next();
+            this.prefetchPosition++;
+        }
+        while (this.prefetchCursor.hasNext()) {
+            final Vector3i position = this.prefetchCursor.peek();
+            if (!this.generator.prefetchTerrain(position.getX(), position.getZ())) {
+                break;
+            }
+            this.prefetchCursor.next();
+            this.prefetchPosition++;
+        }
+    }
+
+    private void unloadRows() {
+        unloadChunks(this.previousRow);
+        unloadChunks(this.currentRow);
+    }
+
+    /**
+     * Saves and unloads chunks loaded by this task straight away, unless
+     * something else still needs them.
+     */
+    private void unloadChunks(List<Chunk> chunks) {
+        final WorldServer world = (WorldServer) this.world;
+        final ChunkProviderServerBridge chunkProvider = (ChunkProviderServerBridge) world.getChunkProvider();
+        for (Chunk chunk : chunks) {
+            if (chunk.isLoaded() && !world.getPlayerChunkMap().contains(chunk.x, chunk.z) && !world.isSpawnChunk(chunk.x, chunk.z)
+                && !((ChunkBridge) chunk).bridge$isPersistedChunk()) {
+                chunkProvider.bridge$unloadChunkAndSave(chunk);
+            }
+        }
+        chunks.clear();
+    }
+
     private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
         return this.doesChunkExistCheck.test(chunk1) && this.doesChunkExistCheck.test(chunk2) &&
                 this.doesChunkExistCheck.test(chunk3) && this.doesChunkExistCheck.test(chunk4);
@@ -316,9 +477,15 @@ private void cancelTask(Task task) {
 
         this.isCancelled = true;
         unregisterListener();
+        if (this.bands != null) {
+            unloadRows();
+        }
     }
 
     private boolean hasNextChunkPosition() {
+        if (this.bands != null) {
+            return this.bands.hasNext();
+        }
         return this.currentLayer <= this.chunkRadius;
     }
 
@@ -401,12 +568,26 @@ public ChunkPreGenerate.Builder logger(@Nullable Logger logger) {
                 this.addListener(event -> {
                     if (event instanceof ChunkPreGenerationEvent.Post) {
                         ChunkPreGenerationEvent.Post post = (ChunkPreGenerationEvent.Post) event;
-                        logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
-                            DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
-                            GenericMath.floor(
-                                100 * (post.getChunkPreGenerate().getTotalGeneratedChunks() + post.getChunkPreGenerate().getTotalSkippedChunks())
-                                    / post.getChunkPreGenerate().getTargetTotalChunks())
-                        );
+                        final int percent = GenericMath.floor(
+                            100 * (post.getChunkPreGenerate().getTotalGeneratedChunks() + post.getChunkPreGenerate().getTotalSkippedChunks())
+                                / post.getChunkPreGenerate().getTargetTotalChunks());
+                        if (post.getChunkPreGenerate() instanceof SpongeChunkPreGenerateTask) {
+                            final SpongeChunkPreGenerateTask task = (SpongeChunkPreGenerateTask) post.getChunkPreGenerate();
+                            final Runtime runtime = Runtime.getRuntime();
+                            logger.info("Generated {} chunks in {}, {}% complete, {} chunks/s, {} remaining, {} chunks loaded, {}/{} MB memory used",
+                                post.getChunksGeneratedThisStep(),
+                                DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
+                                percent,
+                                String.format("%.1f", task.getChunksPerSecond()),
+                                task.getEstimatedTimeRemaining().map(d -> DurationFormatUtils.formatDurationWords(d.toMillis(), true, true))
+                                    .orElse("unknown"),
+                                task.getLoadedChunks(),
+                                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024),
+                                runtime.maxMemory() / (1024 * 1024));
+                        } else {
+                            logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
+                                DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false), percent);
+                        }
                     } else if (event instanceof ChunkPreGenerationEvent.Complete) {
                         logger.info("Done! Generated a total of {} chunks in {}", event.getChunkPreGenerate().getTargetTotalChunks(),
                             DurationFormatUtils.formatDuration(event.getChunkPreGenerate().getTotalTime().toMillis(), TIME_FORMAT, false));
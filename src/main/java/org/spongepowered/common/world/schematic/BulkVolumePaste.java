@@ -0,0 +1,409 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import com.flowpowered.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.world.BlockChangeFlag;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.Extent;
+import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
+import org.spongepowered.common.config.category.SchematicPasteCategory;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+import org.spongepowered.common.world.WorldManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Pastes a block volume into a world by writing its blocks directly into the
+ * {@link ExtendedBlockStorage} sections of every affected chunk, instead of
+ * placing them one at a time through {@link Extent#setBlock}.
+ *
+ * <p>Chunks are pasted one column at a time. Right before a chunk is
+ * written, a {@link ChangeBlockEvent.Place} covering its changed blocks is
+ * fired, and cancelling it skips that chunk. Each chunk is relit and resent
+ * to watching players once all of its sections have been written, after
+ * which neighbor notifications and block physics are performed for the
+ * changed blocks as requested by the {@link BlockChangeFlag}.</p>
+ *
+ * <p>If the configured tick budget is greater than zero, the chunks are
+ * pasted over as many ticks as needed to stay within it, and the completion
+ * callback runs once the last chunk has been written.</p>
+ */
+public final class BulkVolumePaste implements Consumer<Task> {
+
+    private static final IBlockState AIR = Blocks.AIR.getDefaultState();
+
+    /**
+     * Gets whether the given volume is eligible to be bulk pasted into the
+     * given extent, according to the global configuration.
+     *
+     * @param volume The volume to paste
+     * @param extent The target extent
+     * @return True if the volume should be bulk pasted
+     */
+    public static boolean canPaste(final BlockVolume volume, final Extent extent) {
+        if (!(extent instanceof WorldServer)) {
+            return false;
+        }
+        final SchematicPasteCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getSchematicPasteCategory();
+        if (!category.isEnabled()) {
+            return false;
+        }
+        final Vector3i size = volume.getBlockSize();
+        return (long) size.getX() * size.getY() * size.getZ() >= category.getMinimumVolume();
+    }
+
+    private final Object source;
+    private final BlockVolume volume;
+    @Nullable private final ArrayMutableBlockBuffer buffer;
+    private final WorldServer world;
+    private final BlockChangeFlag changeFlag;
+    private final boolean notifyChanges;
+    private final Runnable onComplete;
+
+    private final int originX;
+    private final int originY;
+    private final int originZ;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunksX;
+    private final int chunkCount;
+    private int nextChunk;
+    private int tickBudget;
+
+    /** Block states resolved from the buffer's palette, indexed by palette id. */
+    private IBlockState[] paletteStates = new IBlockState[16];
+    /** Replacements requested by event listeners, keyed by {@link BlockPos#toLong()}. */
+    private final Long2ObjectOpenHashMap<IBlockState> overrides = new Long2ObjectOpenHashMap<>();
+    /** Positions in the current chunk whose block light needs to be rechecked. */
+    private final LongArrayList lightChecks = new LongArrayList();
+    /** Positions in the current chunk that changed, kept only if neighbors or physics are to be notified. */
+    private final LongArrayList changedPositions = new LongArrayList();
+    /** The states replaced at each of the {@link #changedPositions}. */
+    private final List<IBlockState> replacedStates = new ArrayList<>();
+    private final BlockPos.MutableBlockPos scratchPos = new BlockPos.MutableBlockPos();
+
+    /**
+     * Creates a new paste.
+     *
+     * @param source The object pasting the volume, used as the event cause
+     * @param volume The volume to paste
+     * @param extent The world to paste into, see {@link #canPaste}
+     * @param origin The world position of the volume's origin
+     * @param changeFlag The notifications to perform for changed blocks
+     * @param onComplete Called once all blocks have been pasted
+     */
+    public BulkVolumePaste(final Object source, final BlockVolume volume, final Extent extent, final Vector3i origin,
+        final BlockChangeFlag changeFlag, final Runnable onComplete) {
+        this.source = source;
+        this.volume = volume;
+        this.buffer = volume instanceof ArrayMutableBlockBuffer ? (ArrayMutableBlockBuffer) volume : null;
+        this.world = (WorldServer) extent;
+        this.changeFlag = changeFlag;
+        this.notifyChanges = changeFlag.updateNeighbors() || changeFlag.performBlockPhysics() || changeFlag.notifyObservers();
+        this.onComplete = onComplete;
+        this.originX = origin.getX();
+        this.originY = origin.getY();
+        this.originZ = origin.getZ();
+        final Vector3i min = volume.getBlockMin();
+        final Vector3i max = volume.getBlockMax();
+        this.minX = min.getX() + this.originX;
+        this.minY = Math.max(min.getY() + this.originY, 0);
+        this.minZ = min.getZ() + this.originZ;
+        this.maxX = max.getX() + this.originX;
+        this.maxY = Math.min(max.getY() + this.originY, this.world.getHeight() - 1);
+        this.maxZ = max.getZ() + this.originZ;
+        this.minChunkX = this.minX >> 4;
+        this.minChunkZ = this.minZ >> 4;
+        this.chunksX = (this.maxX >> 4) - this.minChunkX + 1;
+        this.chunkCount = this.minY > this.maxY ? 0 : this.chunksX * ((this.maxZ >> 4) - this.minChunkZ + 1);
+    }
+
+    /**
+     * Pastes the volume either immediately or spread over several ticks.
+     */
+    public void start() {
+        this.tickBudget = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getSchematicPasteCategory().getTickBudget();
+        if (this.tickBudget <= 0 || this.chunkCount == 0) {
+            while (this.nextChunk < this.chunkCount) {
+                this.pasteChunk(this.nextChunk++);
+            }
+            this.onComplete.run();
+            return;
+        }
+        Sponge.getScheduler().createTaskBuilder()
+            .name("Sponge Schematic Paste")
+            .intervalTicks(1)
+            .execute(this)
+            .submit(SpongeImpl.getPlugin());
+    }
+
+    @Override
+    public void accept(final Task task) {
+        if (!WorldManager.getWorlds().contains(this.world)) {
+            // The world was unloaded part way through, there is nothing left to paste into.
+            task.cancel();
+            return;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.tickBudget);
+        do {
+            this.pasteChunk(this.nextChunk++);
+        } while (this.nextChunk < this.chunkCount && System.nanoTime() < deadline);
+        if (this.nextChunk >= this.chunkCount) {
+            task.cancel();
+            this.onComplete.run();
+        }
+    }
+
+    /**
+     * Fires the change event for the blocks of a chunk that are about to be
+     * replaced, recording any replacement requested by listeners. This is
+     * done right before the chunk is written so the original snapshots match
+     * the world even when the paste is spread over several ticks.
+     *
+     * @return False if the event was cancelled
+     */
+    private boolean fireEvent(final Chunk chunk, final int x0, final int x1, final int z0, final int z1) {
+        this.overrides.clear();
+        final WorldProperties properties = ((org.spongepowered.api.world.World) this.world).getProperties();
+        final List<Transaction<BlockSnapshot>> transactions = new ArrayList<>();
+        for (int y = this.minY; y <= this.maxY; y++) {
+            for (int z = z0; z <= z1; z++) {
+                for (int x = x0; x <= x1; x++) {
+                    final IBlockState oldState = chunk.getBlockState(x, y, z);
+                    final IBlockState newState = this.getVolumeState(x, y, z);
+                    if (oldState == newState) {
+                        continue;
+                    }
+                    final Vector3i position = new Vector3i(x, y, z);
+                    transactions.add(new Transaction<>(
+                        SpongeBlockSnapshotBuilder.pooled()
+                            .blockState((BlockState) oldState)
+                            .world(properties)
+                            .position(position)
+                            .build(),
+                        SpongeBlockSnapshotBuilder.pooled()
+                            .blockState((BlockState) newState)
+                            .world(properties)
+                            .position(position)
+                            .build()));
+                }
+            }
+        }
+        if (transactions.isEmpty()) {
+            return true;
+        }
+        try (final CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+            frame.pushCause(this.source);
+            final ChangeBlockEvent.Place event = SpongeEventFactory.createChangeBlockEventPlace(frame.getCurrentCause(), transactions);
+            if (SpongeImpl.postEvent(event)) {
+                return false;
+            }
+            for (final Transaction<BlockSnapshot> transaction : event.getTransactions()) {
+                final BlockSnapshot replacement = transaction.isValid() ? transaction.getFinal() : transaction.getOriginal();
+                if (replacement != transaction.getDefault()) {
+                    final Vector3i position = transaction.getOriginal().getPosition();
+                    final long key = this.scratchPos.setPos(position.getX(), position.getY(), position.getZ()).toLong();
+                    this.overrides.put(key, (IBlockState) replacement.getState());
+                }
+            }
+        }
+        return true;
+    }
+
+    private void pasteChunk(final int index) {
+        final int chunkX = this.minChunkX + index % this.chunksX;
+        final int chunkZ = this.minChunkZ + index / this.chunksX;
+        final Chunk chunk = this.world.getChunk(chunkX, chunkZ);
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        final boolean hasSkyLight = this.world.provider.hasSkyLight();
+        final int x0 = Math.max(this.minX, chunkX << 4);
+        final int x1 = Math.min(this.maxX, (chunkX << 4) + 15);
+        final int z0 = Math.max(this.minZ, chunkZ << 4);
+        final int z1 = Math.min(this.maxZ, (chunkZ << 4) + 15);
+        // Only build snapshots when something listens, the event is the most expensive part of the paste
+        if (ShouldFire.CHANGE_BLOCK_EVENT_PLACE && !this.fireEvent(chunk, x0, x1, z0, z1)) {
+            return;
+        }
+        int changedSections = 0;
+
+        for (int sectionY = this.minY >> 4; sectionY <= this.maxY >> 4; sectionY++) {
+            ExtendedBlockStorage section = sections[sectionY];
+            final int y0 = Math.max(this.minY, sectionY << 4);
+            final int y1 = Math.min(this.maxY, (sectionY << 4) + 15);
+            for (int y = y0; y <= y1; y++) {
+                for (int z = z0; z <= z1; z++) {
+                    for (int x = x0; x <= x1; x++) {
+                        final IBlockState newState = this.getPastedState(x, y, z);
+                        final IBlockState oldState = section == Chunk.NULL_BLOCK_STORAGE ? AIR : section.get(x & 15, y & 15, z & 15);
+                        if (oldState == newState) {
+                            continue;
+                        }
+                        if (section == Chunk.NULL_BLOCK_STORAGE) {
+                            section = new ExtendedBlockStorage(sectionY << 4, hasSkyLight);
+                            sections[sectionY] = section;
+                        }
+                        section.set(x & 15, y & 15, z & 15, newState);
+                        this.scratchPos.setPos(x, y, z);
+                        if (this.notifyChanges) {
+                            this.changedPositions.add(this.scratchPos.toLong());
+                            this.replacedStates.add(oldState);
+                        }
+                        if (oldState.getBlock() != newState.getBlock() && SpongeImplHooks.hasBlockTileEntity(oldState.getBlock(), oldState)) {
+                            this.world.removeTileEntity(this.scratchPos.toImmutable());
+                        }
+                        if (SpongeImplHooks.getChunkPosLight(oldState, this.world, this.scratchPos) > 0
+                            || SpongeImplHooks.getChunkPosLight(newState, this.world, this.scratchPos) > 0) {
+                            this.lightChecks.add(this.scratchPos.toLong());
+                        }
+                        changedSections |= 1 << sectionY;
+                    }
+                }
+            }
+        }
+        if (changedSections == 0) {
+            return;
+        }
+
+        // Relight once for the whole chunk: rebuild the height and sky light maps, let the chunk
+        // recheck its sky light against its neighbors on its next tick, and propagate block light
+        // from any light sources that were placed or removed.
+        chunk.generateSkylightMap();
+        chunk.setLightPopulated(false);
+        for (int i = 0; i < this.lightChecks.size(); i++) {
+            this.world.checkLightFor(EnumSkyBlock.BLOCK, BlockPos.fromLong(this.lightChecks.getLong(i)));
+        }
+        this.lightChecks.clear();
+        chunk.markDirty();
+
+        final PlayerChunkMapEntry entry = this.world.getPlayerChunkMap().getEntry(chunkX, chunkZ);
+        if (entry != null && entry.isSentToPlayers()) {
+            if (changedSections == 0xFFFF) {
+                // A packet with every section set is treated as a full chunk by the
+                // client, which unloads its entities, so it is sent in two halves.
+                entry.sendPacket(new SPacketChunkData(chunk, 0xFFFE));
+                entry.sendPacket(new SPacketChunkData(chunk, 1));
+            } else {
+                entry.sendPacket(new SPacketChunkData(chunk, changedSections));
+            }
+        }
+        this.notifyChanges();
+    }
+
+    /**
+     * Performs the notifications requested by the change flag for every block
+     * changed in the current chunk, in the same way as
+     * {@code PhaseTracker#setBlockState} does for a single block. This runs
+     * once the whole chunk has been written, so blocks reacting to their
+     * neighbors see the pasted blocks rather than a partially written chunk.
+     */
+    private void notifyChanges() {
+        for (int i = 0; i < this.changedPositions.size(); i++) {
+            final BlockPos pos = BlockPos.fromLong(this.changedPositions.getLong(i));
+            final IBlockState oldState = this.replacedStates.get(i);
+            final IBlockState newState = this.world.getBlockState(pos);
+            final Block newBlock = newState.getBlock();
+            if (this.changeFlag.performBlockPhysics() && oldState.getBlock() != newBlock) {
+                newBlock.onBlockAdded(this.world, pos, newState);
+            }
+            if (this.changeFlag.updateNeighbors()) {
+                this.world.notifyNeighborsRespectDebug(pos, oldState.getBlock(), true);
+                if (newState.hasComparatorInputOverride()) {
+                    this.world.updateComparatorOutputLevel(pos, newBlock);
+                }
+            } else if (this.changeFlag.notifyObservers()) {
+                this.world.updateObservingBlocksAt(pos, newBlock);
+            }
+        }
+        this.changedPositions.clear();
+        this.replacedStates.clear();
+    }
+
+    private IBlockState getPastedState(final int x, final int y, final int z) {
+        if (!this.overrides.isEmpty()) {
+            final IBlockState override = this.overrides.get(this.scratchPos.setPos(x, y, z).toLong());
+            if (override != null) {
+                return override;
+            }
+        }
+        return this.getVolumeState(x, y, z);
+    }
+
+    private IBlockState getVolumeState(final int x, final int y, final int z) {
+        final int volumeX = x - this.originX;
+        final int volumeY = y - this.originY;
+        final int volumeZ = z - this.originZ;
+        if (this.buffer == null) {
+            return (IBlockState) this.volume.getBlock(volumeX, volumeY, volumeZ);
+        }
+        // Resolve each palette id only once rather than going through the palette for every block
+        final int id = this.buffer.getBlockId(volumeX, volumeY, volumeZ);
+        if (id >= this.paletteStates.length) {
+            this.paletteStates = Arrays.copyOf(this.paletteStates, Math.max(id + 1, this.paletteStates.length * 2));
+        }
+        IBlockState state = this.paletteStates[id];
+        if (state == null) {
+            state = (IBlockState) this.buffer.getPalette().get(id).orElse((BlockState) AIR);
+            this.paletteStates[id] = state;
+        }
+        return state;
+    }
+}
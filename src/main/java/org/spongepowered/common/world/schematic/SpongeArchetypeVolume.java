@@ -127,9 +127,18 @@ public MutableBlockVolumeWorker<? extends ArchetypeVolume> getBlockWorker() {
 
     @Override
     public void apply(Location<World> location, BlockChangeFlag changeFlag) {
+        if (BulkVolumePaste.canPaste(this.backing, location.getExtent())) {
+            new BulkVolumePaste(this, this.backing, location.getExtent(), location.getBlockPosition(), changeFlag,
+                () -> this.applyArchetypes(location)).start();
+            return;
+        }
         this.backing.getBlockWorker().iterate((v, x, y, z) -> {
             location.getExtent().setBlock(x + location.getBlockX(), y + location.getBlockY(), z + location.getBlockZ(), v.getBlock(x, y, z), changeFlag);
         });
+        this.applyArchetypes(location);
+    }
+
+    private void applyArchetypes(Location<World> location) {
         for (Vector3i pos : this.tiles.keySet()) {
             TileEntityArchetype archetype = this.tiles.get(pos);
             archetype.apply(location.add(pos));
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Serializes and compresses chunk data into the format stored in region
+ * files, in parallel on the chunk save threads.
+ */
+public final class ChunkCompressor {
+
+    @Nullable private static ExecutorService executor;
+    private static boolean initialized;
+
+    private ChunkCompressor() {
+    }
+
+    @Nullable
+    private static synchronized ExecutorService getExecutor() {
+        if (!initialized) {
+            initialized = true;
+            final int threads = SpongeImpl.getGlobalConfigAdapter().getConfig().getGeneral().getChunkSaveThreads();
+            if (threads > 0) {
+                executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge - Chunk Save Thread #%d")
+                    .setDaemon(true)
+                    .build());
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Serializes and compresses the chunk data, the same way
+     * {@link net.minecraft.world.chunk.storage.RegionFileCache#getChunkOutputStream}
+     * does before the data is written to the region file.
+     *
+     * @param compound The chunk data
+     * @return The future of the compressed data
+     */
+    public static CompletableFuture<byte[]> compress(final NBTTagCompound compound) {
+        final ExecutorService executor = getExecutor();
+        if (executor == null) {
+            final CompletableFuture<byte[]> future = new CompletableFuture<>();
+            try {
+                future.complete(compressNow(compound));
+            } catch (IOException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return compressNow(compound);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    private static byte[] compressNow(final NBTTagCompound compound) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(8096);
+        try (final DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(out)))) {
+            CompressedStreamTools.write(compound, stream);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.nbt.NBTTagList;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * The table of player unique ids of a world, referenced by index from the
+ * block owner and notifier tracking.
+ *
+ * <p>The table is stored next to the level data in an append only file of
+ * fixed size records, the index of a unique id being the position of its
+ * record. It is only read when first used, and saving only appends the
+ * unique ids added since the last save.</p>
+ *
+ * <p>Worlds saved before the table had its own file keep it in the level
+ * data, it is migrated on the first save.</p>
+ *
+ * <p>A file that can't be read is moved aside rather than written over, and
+ * the table is started again from the legacy table if the level data still
+ * holds it.</p>
+ */
+public final class PlayerIdTable {
+
+    private static final int MAGIC = 0x53504944; // SPID
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int RECORD_SIZE = Long.BYTES * 2;
+
+    private final List<UUID> uniqueIds = new ArrayList<>();
+    private final Object2IntOpenHashMap<UUID> indexes = new Object2IntOpenHashMap<>();
+    @Nullable private Path file;
+    @Nullable private NBTTagList legacyTable;
+    private boolean loaded;
+    private boolean legacyPending;
+    // The number of unique ids in the file, followed by the length of its valid contents
+    private int savedCount;
+    private long savedLength;
+
+    public PlayerIdTable() {
+        this.indexes.defaultReturnValue(-1);
+    }
+
+    /**
+     * Sets the file of this table, before it is first used.
+     *
+     * @param file The table file
+     */
+    public synchronized void setFile(final Path file) {
+        if (!this.loaded) {
+            this.file = file;
+        }
+    }
+
+    /**
+     * Sets the table read from the level data of a world saved before the
+     * table had its own file. It is only used if the file doesn't exist.
+     *
+     * @param legacyTable The list of compounds holding the unique ids
+     */
+    public synchronized void setLegacyTable(final NBTTagList legacyTable) {
+        if (!this.loaded) {
+            this.legacyTable = legacyTable;
+        }
+    }
+
+    /**
+     * Gets whether the level data no longer needs to hold the legacy table.
+     *
+     * @return True if the table is fully stored in its own file
+     */
+    public synchronized boolean isMigrated() {
+        return this.legacyTable == null && !this.legacyPending;
+    }
+
+    public synchronized int getIndex(final UUID uniqueId) {
+        this.ensureLoaded();
+        int index = this.indexes.getInt(uniqueId);
+        if (index == -1) {
+            index = this.uniqueIds.size();
+            this.uniqueIds.add(uniqueId);
+            this.indexes.put(uniqueId, index);
+        }
+        return index;
+    }
+
+    @Nullable
+    public synchronized UUID getUniqueId(final int index) {
+        this.ensureLoaded();
+        return index >= 0 && index < this.uniqueIds.size() ? this.uniqueIds.get(index) : null;
+    }
+
+    /**
+     * Appends the unique ids added since the last save to the file.
+     *
+     * @param file The table file, used if none was set while loading
+     */
+    public synchronized void save(final Path file) {
+        if (!this.loaded) {
+            // Nothing can have been added, but a legacy table still has to be moved to its file
+            if (this.legacyTable == null) {
+                return;
+            }
+            this.setFile(file);
+            this.ensureLoaded();
+        }
+        if (this.savedCount == this.uniqueIds.size()) {
+            return;
+        }
+        if (this.file == null) {
+            // The table was used before its file was known, so it never read an
+            // existing file. Its indexes don't match that file, don't replace it.
+            if (Files.exists(file)) {
+                SpongeImpl.getLogger().error("The player id table was used before its file {} was loaded, not overwriting it!", file);
+                return;
+            }
+            this.file = file;
+        }
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            final int count = this.uniqueIds.size() - this.savedCount;
+            final ByteBuffer buffer;
+            if (this.savedLength == 0) {
+                buffer = ByteBuffer.allocate(HEADER_SIZE + count * RECORD_SIZE);
+                buffer.putInt(MAGIC);
+                buffer.putInt(VERSION);
+            } else {
+                buffer = ByteBuffer.allocate(count * RECORD_SIZE);
+            }
+            for (int i = this.savedCount; i < this.uniqueIds.size(); i++) {
+                final UUID uniqueId = this.uniqueIds.get(i);
+                buffer.putLong(uniqueId.getMostSignificantBits());
+                buffer.putLong(uniqueId.getLeastSignificantBits());
+            }
+            buffer.flip();
+            // Drop a partial record left by an interrupted save
+            channel.truncate(this.savedLength);
+            channel.position(this.savedLength);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            this.savedLength = channel.position();
+            this.savedCount = this.uniqueIds.size();
+            this.legacyPending = false;
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to save the player id table {}!", this.file, e);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (this.loaded) {
+            return;
+        }
+        this.loaded = true;
+        if (this.file != null && Files.exists(this.file)) {
+            try {
+                this.read(this.file);
+                this.legacyTable = null;
+                return;
+            } catch (IOException e) {
+                this.uniqueIds.clear();
+                this.indexes.clear();
+                this.savedCount = 0;
+                this.savedLength = 0;
+                // Move the file away, its indexes may still be referenced and must not be handed out again
+                final Path backup = this.file.resolveSibling(this.file.getFileName() + "." + System.currentTimeMillis() + ".corrupted");
+                SpongeImpl.getLogger().error("Failed to read the player id table {}, it is moved to {} and a new table is started!",
+                    this.file, backup, e);
+                try {
+                    Files.move(this.file, backup);
+                } catch (IOException ex) {
+                    // Still keep it from being appended to, the table is only written again once it was moved
+                    SpongeImpl.getLogger().error("Failed to move the player id table {}, it will not be saved!", this.file, ex);
+                    this.file = null;
+                }
+            }
+        }
+        if (this.legacyTable != null) {
+            for (int i = 0; i < this.legacyTable.tagCount(); i++) {
+                final UUID uniqueId = this.legacyTable.getCompoundTagAt(i).getUniqueId(Constants.UUID);
+                if (this.indexes.getInt(uniqueId) == -1) {
+                    this.indexes.put(uniqueId, this.uniqueIds.size());
+                    this.uniqueIds.add(uniqueId);
+                }
+            }
+            this.legacyTable = null;
+            this.legacyPending = !this.uniqueIds.isEmpty();
+        }
+    }
+
+    private void read(final Path file) throws IOException {
+        final long size = Files.size(file);
+        if (size == 0) {
+            // Created but never written, the file is written again from the start
+            return;
+        }
+        if (size < HEADER_SIZE) {
+            throw new IOException("Cut off player id table header");
+        }
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown player id table format");
+            }
+            this.savedLength = HEADER_SIZE;
+            while (true) {
+                final UUID uniqueId;
+                try {
+                    uniqueId = new UUID(in.readLong(), in.readLong());
+                } catch (EOFException e) {
+                    break;
+                }
+                this.indexes.put(uniqueId, this.uniqueIds.size());
+                this.uniqueIds.add(uniqueId);
+                this.savedLength += RECORD_SIZE;
+            }
+            this.savedCount = this.uniqueIds.size();
+        }
+    }
+}
@@ -29,6 +29,8 @@
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
@@ -90,4 +92,36 @@ public void testPoppingFrameRemovesFrameContexts() throws Exception {
         Assert.assertFalse(causeStackManager.getContext(EventContextKeys.OWNER).isPresent());
     }
 
+    @Test
+    public void testPoppingFrameRestoresCurrentCause() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+
+        User user = Mockito.mock(User.class);
+
+        SpongeCauseStackManager.StackFrame frame1 = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(1);
+        final Cause cause = causeStackManager.getCurrentCause();
+        final EventContext context = causeStackManager.getCurrentContext();
+
+        // Change both the causes and the context in a new frame
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(2);
+        causeStackManager.addContext(EventContextKeys.OWNER, user);
+        Assert.assertEquals(2, causeStackManager.getCurrentCause().root());
+        Assert.assertEquals(user, causeStackManager.getCurrentCause().getContext().get(EventContextKeys.OWNER).get());
+
+        // Popping the frame brings back the exact same cause
+        causeStackManager.popCauseFrame(frame);
+        Assert.assertSame(context, causeStackManager.getCurrentContext());
+        Assert.assertSame(cause, causeStackManager.getCurrentCause());
+
+        // As does popping a cause that was pushed on top
+        causeStackManager.pushCause(3);
+        Assert.assertEquals(3, causeStackManager.getCurrentCause().root());
+        Assert.assertEquals(3, causeStackManager.popCause());
+        Assert.assertSame(cause, causeStackManager.getCurrentCause());
+
+        causeStackManager.popCauseFrame(frame1);
+    }
+
 }
@@ -0,0 +1,162 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.spongepowered.api.item.inventory.property.SlotIndex;
+import org.spongepowered.api.item.inventory.query.QueryOperationTypes;
+import org.spongepowered.api.item.inventory.type.GridInventory;
+import org.spongepowered.api.item.inventory.type.InventoryRow;
+import org.spongepowered.common.item.inventory.lens.Fabric;
+import org.spongepowered.common.item.inventory.lens.Lens;
+import org.spongepowered.common.item.inventory.lens.MutableLensSet;
+import org.spongepowered.common.item.inventory.lens.impl.collections.MutableLensSetImpl;
+import org.spongepowered.common.item.inventory.lens.impl.collections.SlotCollection;
+import org.spongepowered.common.item.inventory.lens.impl.comp.MainPlayerInventoryLensImpl;
+import org.spongepowered.common.item.inventory.query.operation.InventoryPropertyQueryOperation;
+import org.spongepowered.common.item.inventory.query.operation.TypeQueryOperation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class QueryPlanTest {
+
+    private static Lens createLens() {
+        return new MainPlayerInventoryLensImpl(0, new SlotCollection.Builder().add(36).build(), false);
+    }
+
+    @Test
+    public void testPlansAreCachedPerLens() {
+        final Lens lens = createLens();
+        final List<SpongeQueryOperation<?>> structural = Collections.singletonList(new TypeQueryOperation(InventoryRow.class));
+        final QueryPlan plan = QueryPlan.get(lens, structural, QueryPlan.Candidates.NONE);
+        assertSame(plan, QueryPlan.get(lens, Collections.singletonList(new TypeQueryOperation(InventoryRow.class)), QueryPlan.Candidates.NONE));
+        assertNotSame(plan, QueryPlan.get(lens, structural, QueryPlan.Candidates.SLOTS));
+        assertNotSame(plan, QueryPlan.get(createLens(), structural, QueryPlan.Candidates.NONE));
+    }
+
+    @Test
+    public void testTypeQueryMatchesSearch() {
+        assertMatchesSearch(new TypeQueryOperation(InventoryRow.class));
+        assertMatchesSearch(new TypeQueryOperation(GridInventory.class));
+    }
+
+    @Test
+    public void testPropertyQueryMatchesSearch() {
+        assertMatchesSearch(new InventoryPropertyQueryOperation(new SlotIndex(3)));
+        assertMatchesSearch(new InventoryPropertyQueryOperation(new SlotIndex(3)), new TypeQueryOperation(InventoryRow.class));
+    }
+
+    @Test
+    public void testMixedQueryMatchesSearch() {
+        assertMatchesSearch(new TypeQueryOperation(InventoryRow.class), new SlotCountOperation(4));
+        assertMatchesSearch(new InventoryPropertyQueryOperation(new SlotIndex(0)), new SlotCountOperation(1));
+        assertMatchesSearch(new SlotCountOperation(36));
+    }
+
+    private static void assertMatchesSearch(final SpongeQueryOperation<?>... operations) {
+        final List<SpongeQueryOperation<?>> structural = new ArrayList<>();
+        final List<SpongeQueryOperation<?>> dynamic = new ArrayList<>();
+        for (final SpongeQueryOperation<?> operation : operations) {
+            (operation.isStructural() ? structural : dynamic).add(operation);
+        }
+        final QueryPlan.Candidates candidates = dynamic.isEmpty() ? QueryPlan.Candidates.NONE : QueryPlan.Candidates.ALL;
+        final Lens lens = createLens();
+        final List<Lens> expected = new ArrayList<>(search(lens, Arrays.asList(operations)));
+        // Run twice, so the cached plan is checked as well
+        for (int i = 0; i < 2; i++) {
+            final List<Lens> actual = new ArrayList<>(Query.match(lens, null, structural, dynamic, candidates));
+            assertFalse(actual.isEmpty());
+            assertEquals(expected, actual);
+        }
+    }
+
+    /**
+     * The depth first search queries were run with before they were
+     * compiled into plans.
+     */
+    private static MutableLensSet search(final Lens root, final List<SpongeQueryOperation<?>> operations) {
+        if (matches(operations, root, null)) {
+            final MutableLensSet matches = new MutableLensSetImpl(true);
+            matches.add(root);
+            return matches;
+        }
+        return Query.reduce(root, depthFirstSearch(root, operations));
+    }
+
+    private static MutableLensSet depthFirstSearch(final Lens lens, final List<SpongeQueryOperation<?>> operations) {
+        final MutableLensSet matches = new MutableLensSetImpl(true);
+        for (final Lens child : lens.getChildren()) {
+            if (child == null) {
+                continue;
+            }
+            if (!child.getChildren().isEmpty()) {
+                matches.addAll(depthFirstSearch(child, operations));
+            }
+            if (matches(operations, child, lens)) {
+                matches.add(child);
+            }
+        }
+        return matches;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static boolean matches(final List<SpongeQueryOperation<?>> operations, final Lens lens, final Lens parent) {
+        for (final SpongeQueryOperation operation : operations) {
+            if (operation.matches(lens, parent, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A non structural operation, standing in for those testing the contents
+     * of an inventory.
+     */
+    private static final class SlotCountOperation extends SpongeQueryOperation<Class<?>> {
+
+        private final int slotCount;
+
+        SlotCountOperation(final int slotCount) {
+            super(QueryOperationTypes.TYPE);
+            this.slotCount = slotCount;
+        }
+
+        @Override
+        public boolean matches(final Lens lens, final Lens parent, final Fabric inventory) {
+            return lens.slotCount() == this.slotCount;
+        }
+
+    }
+
+}
@@ -34,14 +34,17 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.data.persistence.SchematicTranslator;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
 
 @Mixin(value = SchematicTranslator.class, remap = false)
 public class SchematicTranslatorMixin_Test {
 
     @Shadow private static DataFixer VANILLA_FIXER;
 
-    @Inject(method = "translate(Lorg/spongepowered/api/data/DataView;)Lorg/spongepowered/api/world/schematic/Schematic;", at = @At("HEAD"))
-    private void setDummyDataFixer(final DataView unprocessed, final CallbackInfoReturnable<Schematic> cir) {
+    @Inject(method = "translate(Lorg/spongepowered/api/data/DataView;Lorg/spongepowered/common/util/gen/ArrayMutableBlockBuffer$IdCollector;)"
+                     + "Lorg/spongepowered/api/world/schematic/Schematic;", at = @At("HEAD"))
+    private void setDummyDataFixer(final DataView unprocessed, final ArrayMutableBlockBuffer.IdCollector blockIds,
+        final CallbackInfoReturnable<Schematic> cir) {
         VANILLA_FIXER = DataFixesManager.createFixer();
     }
 }
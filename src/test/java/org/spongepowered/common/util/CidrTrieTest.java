@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CidrTrieTest {
+
+    @Test
+    public void testNestedRanges() throws UnknownHostException {
+        CidrTrie<String> trie = new CidrTrie<>();
+        trie.put(IpSet.fromCidr("10.0.0.0/8"), "a");
+        trie.put(IpSet.fromCidr("10.42.0.0/16"), "b");
+        trie.put(IpSet.fromCidr("10.42.16.0/20"), "c");
+        trie.put(IpSet.fromCidr("10.43.0.0/16"), "d");
+
+        List<String> matches = new ArrayList<>();
+        trie.forEachMatch(InetAddress.getByName("10.42.17.1"), matches::add);
+        assertEquals(ImmutableList.of("a", "b", "c"), matches);
+        assertEquals("b", trie.getLongestMatch(InetAddress.getByName("10.42.32.1")));
+        assertEquals("d", trie.getLongestMatch(InetAddress.getByName("10.43.0.1")));
+        assertFalse(trie.contains(InetAddress.getByName("11.0.0.1")));
+    }
+
+    @Test
+    public void testFamiliesAreSeparate() throws UnknownHostException {
+        CidrTrie<String> trie = new CidrTrie<>();
+        trie.put(IpSet.fromCidr("::/0"), "v6");
+        assertTrue(trie.contains(InetAddress.getByName("::dead:beef")));
+        assertNull(trie.getLongestMatch(InetAddress.getByName("10.0.0.1")));
+    }
+
+    @Test
+    public void testFullLengthRanges() throws UnknownHostException {
+        CidrTrie<String> trie = new CidrTrie<>();
+        trie.put(IpSet.fromCidr("10.0.0.1/32"), "a");
+        trie.put(IpSet.fromCidr("10.0.0.2/32"), "b");
+        assertEquals("a", trie.getLongestMatch(InetAddress.getByName("10.0.0.1")));
+        assertEquals("b", trie.getLongestMatch(InetAddress.getByName("10.0.0.2")));
+        assertFalse(trie.contains(InetAddress.getByName("10.0.0.3")));
+    }
+
+    @Test
+    public void testIndexRequiresAllSetsOfGroup() throws UnknownHostException {
+        IpSetIndex index = new IpSetIndex(ImmutableMap.of(
+                "private", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8")),
+                "both", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8"), IpSet.fromCidr("10.42.0.0/16")),
+                "any", ImmutableList.of()));
+        assertEquals(ImmutableSet.of("private", "both", "any"), index.getNamesContaining(InetAddress.getByName("10.42.0.1")));
+        assertEquals(ImmutableSet.of("private", "any"), index.getNamesContaining(InetAddress.getByName("10.1.0.1")));
+        assertEquals(ImmutableSet.of("any"), index.getNamesContaining(InetAddress.getByName("192.168.0.1")));
+    }
+
+}
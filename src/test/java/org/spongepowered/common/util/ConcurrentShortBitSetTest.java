@@ -0,0 +1,57 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ConcurrentShortBitSetTest {
+
+    @Test
+    public void testAddRemove() {
+        final ConcurrentShortBitSet set = new ConcurrentShortBitSet();
+        assertFalse(set.contains((short) 42));
+        assertTrue(set.add((short) 42));
+        assertFalse(set.add((short) 42));
+        assertTrue(set.contains((short) 42));
+        assertFalse(set.contains((short) 43));
+        assertTrue(set.remove((short) 42));
+        assertFalse(set.remove((short) 42));
+        assertFalse(set.contains((short) 42));
+    }
+
+    @Test
+    public void testNegativeValues() {
+        final ConcurrentShortBitSet set = new ConcurrentShortBitSet();
+        assertTrue(set.add(Short.MIN_VALUE));
+        assertTrue(set.add((short) -1));
+        assertTrue(set.contains(Short.MIN_VALUE));
+        assertTrue(set.contains((short) -1));
+        assertFalse(set.contains(Short.MAX_VALUE));
+        assertFalse(set.contains((short) 0));
+    }
+}
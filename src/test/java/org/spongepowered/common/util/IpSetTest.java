@@ -55,6 +55,13 @@ public void testNonByteAlignedSets() throws UnknownHostException {
         assertFalse(spec.apply(InetAddress.getByName("2064:45:410::cafe")));
     }
 
+    @Test
+    public void testPartialByteSets() throws UnknownHostException {
+        IpSet spec = IpSet.fromCidr("10.42.16.0/20");
+        assertTrue(spec.apply(InetAddress.getByName("10.42.31.7")));
+        assertFalse(spec.apply(InetAddress.getByName("10.42.32.7")));
+    }
+
     @Test
     public void testFullLengthSets() throws UnknownHostException {
         IpSet specv4 = IpSet.fromCidr("10.0.0.1/32");
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+import org.spongepowered.common.util.Constants;
+
+public class BlockOwnershipTableTest {
+
+    @Test
+    public void testSetOwnerAndNotifier() {
+        final BlockOwnershipTable table = new BlockOwnershipTable();
+        final BlockPos pos = new BlockPos(3, 70, 12);
+        assertEquals(BlockOwnershipTable.NO_INDEX, table.getOwner(pos));
+        table.setNotifier(pos, 4);
+        table.setOwner(pos, 2);
+        assertEquals(2, table.getOwner(pos));
+        assertEquals(4, table.getNotifier(pos));
+        assertEquals(BlockOwnershipTable.NO_INDEX, table.getOwner(pos.up()));
+        table.remove(pos);
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final BlockOwnershipTable table = new BlockOwnershipTable();
+        table.put(new BlockPos(0, 0, 0), 1, 2);
+        table.put(new BlockPos(15, 255, 15), 3, BlockOwnershipTable.NO_INDEX);
+        table.put(new BlockPos(7, 300, 8), 5, 6);
+        table.put(new BlockPos(1, -20, 2), 7, 8);
+
+        final NBTTagCompound compound = new NBTTagCompound();
+        table.writeTo(compound);
+        final BlockOwnershipTable read = BlockOwnershipTable.readFrom(compound);
+        assertEquals(4, read.size());
+        assertEquals(1, read.getOwner(new BlockPos(0, 0, 0)));
+        assertEquals(2, read.getNotifier(new BlockPos(0, 0, 0)));
+        assertEquals(3, read.getOwner(new BlockPos(15, 255, 15)));
+        assertEquals(BlockOwnershipTable.NO_INDEX, read.getNotifier(new BlockPos(15, 255, 15)));
+        assertEquals(6, read.getNotifier(new BlockPos(7, 300, 8)));
+        assertEquals(7, read.getOwner(new BlockPos(1, -20, 2)));
+    }
+
+    @Test
+    public void testReadLegacyTable() {
+        final NBTTagList positions = new NBTTagList();
+        final NBTTagCompound shortPos = new NBTTagCompound();
+        shortPos.setInteger("owner", 1);
+        shortPos.setInteger("notifier", 2);
+        shortPos.setShort("pos", Constants.Sponge.blockPosToShort(new BlockPos(4, 64, 9)));
+        positions.appendTag(shortPos);
+        final NBTTagCompound intPos = new NBTTagCompound();
+        intPos.setInteger("owner", 3);
+        intPos.setInteger("notifier", -1);
+        intPos.setInteger("ipos", Constants.Sponge.blockPosToInt(new BlockPos(2, 400, 5)));
+        positions.appendTag(intPos);
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, positions);
+
+        final BlockOwnershipTable table = BlockOwnershipTable.readFrom(compound);
+        assertEquals(2, table.size());
+        assertEquals(1, table.getOwner(new BlockPos(4, 64, 9)));
+        assertEquals(2, table.getNotifier(new BlockPos(4, 64, 9)));
+        assertEquals(3, table.getOwner(new BlockPos(2, 400, 5)));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.spongepowered.common.util.Constants;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class PlayerIdTableTest {
+
+    private static final UUID FIRST = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID SECOND = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+    private static final UUID THIRD = UUID.fromString("61699b2e-d327-4a01-9f1e-0ea8c3f06bc6");
+
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static PlayerIdTable load(final Path file) {
+        final PlayerIdTable table = new PlayerIdTable();
+        table.setFile(file);
+        return table;
+    }
+
+    private static NBTTagList legacyTable(final UUID... uniqueIds) {
+        final NBTTagList list = new NBTTagList();
+        for (final UUID uniqueId : uniqueIds) {
+            final NBTTagCompound compound = new NBTTagCompound();
+            compound.setUniqueId(Constants.UUID, uniqueId);
+            list.appendTag(compound);
+        }
+        return list;
+    }
+
+    private List<Path> backups() throws IOException {
+        try (final Stream<Path> files = Files.list(this.folder.getRoot().toPath())) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".corrupted")).collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final Path file = this.folder.getRoot().toPath().resolve(Constants.Sponge.World.PLAYER_ID_TABLE);
+        final PlayerIdTable table = load(file);
+        assertEquals(0, table.getIndex(FIRST));
+        assertEquals(1, table.getIndex(SECOND));
+        assertEquals(0, table.getIndex(FIRST));
+        table.save(file);
+        // Only the new unique id is appended
+        assertEquals(2, table.getIndex(THIRD));
+        table.save(file);
+        assertEquals(8 + 3 * 16, Files.size(file));
+
+        final PlayerIdTable read = load(file);
+        assertEquals(FIRST, read.getUniqueId(0));
+        assertEquals(SECOND, read.getUniqueId(1));
+        assertEquals(THIRD, read.getUniqueId(2));
+        assertNull(read.getUniqueId(3));
+        assertEquals(1, read.getIndex(SECOND));
+        assertTrue(read.isMigrated());
+    }
+
+    @Test
+    public void testMigrateLegacyTable() throws IOException {
+        final Path file = this.folder.getRoot().toPath().resolve(Constants.Sponge.World.PLAYER_ID_TABLE);
+        final PlayerIdTable table = load(file);
+        table.setLegacyTable(legacyTable(FIRST, SECOND));
+        assertFalse(table.isMigrated());
+        // Saving without using the table still moves the legacy table to its file
+        table.save(file);
+        assertTrue(table.isMigrated());
+        assertTrue(Files.exists(file));
+
+        final PlayerIdTable read = load(file);
+        read.setLegacyTable(legacyTable(THIRD));
+        // The file takes precedence over the level data
+        assertEquals(FIRST, read.getUniqueId(0));
+        assertEquals(SECOND, read.getUniqueId(1));
+        assertNull(read.getUniqueId(2));
+        assertTrue(read.isMigrated());
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        final Path file = this.folder.newFile(Constants.Sponge.World.PLAYER_ID_TABLE).toPath();
+        final PlayerIdTable table = load(file);
+        assertEquals(0, table.getIndex(FIRST));
+        table.save(file);
+        assertTrue(this.backups().isEmpty());
+        assertEquals(FIRST, load(file).getUniqueId(0));
+    }
+
+    @Test
+    public void testCorruptHeader() throws IOException {
+        final Path file = this.folder.getRoot().toPath().resolve(Constants.Sponge.World.PLAYER_ID_TABLE);
+        final byte[] corrupt = new byte[8 + 16];
+        corrupt[0] = 0x7f;
+        Files.write(file, corrupt);
+
+        final PlayerIdTable table = load(file);
+        assertNull(table.getUniqueId(0));
+        final List<Path> backups = this.backups();
+        assertEquals(1, backups.size());
+        assertArrayEquals(corrupt, Files.readAllBytes(backups.get(0)));
+        assertFalse(Files.exists(file));
+
+        assertEquals(0, table.getIndex(SECOND));
+        table.save(file);
+        assertEquals(SECOND, load(file).getUniqueId(0));
+    }
+
+    @Test
+    public void testCutOffHeader() throws IOException {
+        final Path file = this.folder.getRoot().toPath().resolve(Constants.Sponge.World.PLAYER_ID_TABLE);
+        Files.write(file, new byte[] {0x53, 0x50, 0x49});
+
+        final PlayerIdTable table = load(file);
+        assertEquals(0, table.getIndex(FIRST));
+        assertEquals(1, this.backups().size());
+    }
+
+    @Test
+    public void testCorruptFileFallsBackToLegacyTable() throws IOException {
+        final Path file = this.folder.getRoot().toPath().resolve(Constants.Sponge.World.PLAYER_ID_TABLE);
+        Files.write(file, new byte[8]);
+
+        final PlayerIdTable table = load(file);
+        table.setLegacyTable(legacyTable(FIRST, SECOND));
+        assertEquals(1, table.getIndex(SECOND));
+        assertEquals(2, table.getIndex(THIRD));
+        assertFalse(table.isMigrated());
+        table.save(file);
+        assertTrue(table.isMigrated());
+
+        final PlayerIdTable read = load(file);
+        assertEquals(FIRST, read.getUniqueId(0));
+        assertEquals(THIRD, read.getUniqueId(2));
+    }
+
+}